@@ -0,0 +1,298 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import static com.android.volley.Response.*;
+import com.android.volley.VolleyError;
+import com.erudika.para.client.utils.BatchChunker;
+import com.erudika.para.client.utils.ClientUtils;
+import com.erudika.para.core.ParaObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes large numbers of objects through the {@code _batch} API. Objects are buffered and sent
+ * in batches, which are limited both by object count and by encoded size in bytes. Sizes are measured
+ * in the wire format of the client (JSON or CBOR), before compression.
+ * Up to {@code maxInFlight} batches are sent concurrently, after that {@link #add(ParaObject)}
+ * blocks until a batch completes, which keeps memory bounded during large imports.
+ * <b>Note:</b> this class blocks the calling thread, so don't use it on the main thread.
+ * <pre>
+ * try (BulkWriter writer = new BulkWriter(pc, false)) {
+ *     for (ParaObject obj : objects) {
+ *         writer.add(obj);
+ *     }
+ * }
+ * </pre>
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class BulkWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkWriter.class);
+
+    /**
+     * Receives progress updates after each batch.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after a batch has completed.
+         * @param written total number of objects written so far
+         * @param failed total number of objects which failed to be written
+         * @param objectsPerSecond average throughput since the first batch was sent
+         */
+        void onProgress(long written, long failed, double objectsPerSecond);
+
+        /**
+         * Called when a batch fails.
+         * @param batch the objects in the failed batch
+         * @param error the error
+         */
+        default void onError(List<ParaObject> batch, VolleyError error) {
+        }
+    }
+
+    private final BatchChunker.ChunkCall<ParaObject, ParaObject> sender;
+    private final ParaClient client;
+    private int maxBatchSize = 100;
+    private long maxBatchBytes = 1024 * 1024;
+    private int maxInFlight = 4;
+    private ProgressListener progressListener;
+
+    private Semaphore permits;
+    private List<ParaObject> batch = new ArrayList<>();
+    private long batchBytes;
+    private volatile long startTime;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * @param client a Para client
+     * @param update if true, objects are updated with {@code PATCH /_batch},
+     * otherwise they are created with {@code POST /_batch}
+     */
+    public BulkWriter(final ParaClient client, final boolean update) {
+        this((objects, success, error) -> {
+            if (update) {
+                client.updateAll(objects, success, error);
+            } else {
+                client.createAll(objects, success, error);
+            }
+        }, client);
+        if (client == null) {
+            throw new IllegalArgumentException("ParaClient is required.");
+        }
+    }
+
+    /**
+     * Objects are measured as JSON.
+     * @param sender sends a single batch of objects
+     */
+    public BulkWriter(BatchChunker.ChunkCall<ParaObject, ParaObject> sender) {
+        this(sender, null);
+    }
+
+    private BulkWriter(BatchChunker.ChunkCall<ParaObject, ParaObject> sender, ParaClient client) {
+        if (sender == null) {
+            throw new IllegalArgumentException("Batch sender is required.");
+        }
+        this.sender = sender;
+        this.client = client;
+    }
+
+    /**
+     * Sets the max. number of objects in one batch. Default is 100.
+     * @param maxBatchSize number of objects
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Sets the max. encoded size of one batch. A single object larger than
+     * this is sent in a batch of its own. Objects are measured by encoding them into a counting
+     * stream, which costs about as much CPU as sending them, so with no limit they are not measured
+     * at all. Default is 1MB.
+     * @param maxBatchBytes size in bytes, 0 or less for no limit
+     */
+    public void setMaxBatchBytes(long maxBatchBytes) {
+        this.maxBatchBytes = (maxBatchBytes <= 0) ? Long.MAX_VALUE : maxBatchBytes;
+    }
+
+    /**
+     * Sets the max. number of batches in flight. Default is 4.
+     * @param maxInFlight number of concurrent requests
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        if (permits != null) {
+            throw new IllegalStateException("Writing has already started.");
+        }
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * @param progressListener receives progress updates
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Adds an object to the current batch. The batch is sent when it's full. Blocks if
+     * the max. number of batches are already in flight.
+     * @param obj an object
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void add(ParaObject obj) throws InterruptedException {
+        if (obj == null) {
+            return;
+        }
+        long size = (maxBatchBytes == Long.MAX_VALUE) ? 0 :
+                ClientUtils.serializedSize(obj, client != null && client.isBinaryWireFormat());
+        if (!batch.isEmpty() && (batch.size() >= maxBatchSize || batchBytes + size > maxBatchBytes)) {
+            send();
+        }
+        batch.add(obj);
+        batchBytes += size;
+    }
+
+    /**
+     * Adds all objects.
+     * @see #add(ParaObject)
+     * @param objects a list of objects
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void addAll(List<? extends ParaObject> objects) throws InterruptedException {
+        if (objects != null) {
+            for (ParaObject obj : objects) {
+                add(obj);
+            }
+        }
+    }
+
+    /**
+     * Sends the current batch and waits until all batches in flight have completed.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void flush() throws InterruptedException {
+        if (!batch.isEmpty()) {
+            send();
+        }
+        if (permits != null) {
+            permits.acquire(maxInFlight);
+            permits.release(maxInFlight);
+        }
+    }
+
+    /**
+     * Flushes all pending objects.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of objects written
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * @return the number of objects which failed to be written
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * @return the number of batches sent
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * @return the total encoded size of all objects sent, in bytes, or 0 if there's no size limit
+     */
+    public long getBytesSent() {
+        return bytes.get();
+    }
+
+    /**
+     * @return average number of objects written per second
+     */
+    public double getThroughput() {
+        long elapsed = (startTime > 0) ? System.nanoTime() - startTime : 0;
+        return (elapsed > 0) ? written.get() * 1e9 / elapsed : 0.0;
+    }
+
+    private void send() throws InterruptedException {
+        if (permits == null) {
+            permits = new Semaphore(maxInFlight);
+            startTime = System.nanoTime();
+        }
+        permits.acquire();
+        final List<ParaObject> objects = batch;
+        batches.incrementAndGet();
+        bytes.addAndGet(batchBytes);
+        batch = new ArrayList<>();
+        batchBytes = 0;
+        Listener<List<ParaObject>> success = new Listener<List<ParaObject>>() {
+            public void onResponse(List<ParaObject> res) {
+                // Para skips invalid objects, which are left out of the response
+                int count = (res == null) ? 0 : res.size();
+                written.addAndGet(count);
+                failed.addAndGet(Math.max(0, objects.size() - count));
+                done();
+            }
+        };
+        ErrorListener error = new ErrorListener() {
+            public void onErrorResponse(VolleyError err) {
+                failed.addAndGet(objects.size());
+                logger.error("Batch of {} objects failed - {}", objects.size(), err.getMessage());
+                if (progressListener != null) {
+                    progressListener.onError(objects, err);
+                }
+                done();
+            }
+        };
+        try {
+            sender.execute(objects, success, error);
+        } catch (RuntimeException e) {
+            error.onErrorResponse(new VolleyError(e));
+        }
+    }
+
+    private void done() {
+        permits.release();
+        if (progressListener != null) {
+            progressListener.onProgress(written.get(), failed.get(), getThroughput());
+        }
+    }
+}
@@ -0,0 +1,881 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import static com.android.volley.Response.*;
+import com.erudika.para.client.utils.Pager;
+import com.erudika.para.core.Constraint;
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An asynchronous facade for {@link ParaClient}, where every operation returns a
+ * {@link CompletableFuture} instead of taking a {@link Listener} and an {@link ErrorListener}.
+ * Futures complete on the thread which delivers the response (the main thread by default)
+ * and fail with the {@code VolleyError} of the request. Chained calls don't block any threads.
+ * <pre>
+ * ParaAsyncClient pc = new ParaAsyncClient(client);
+ * pc.read("id1").thenCompose(obj -&gt; pc.getLinkedObjects(obj, "cat", null));
+ * </pre>
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@SuppressWarnings("unchecked")
+public class ParaAsyncClient {
+
+    private final ParaClient client;
+
+    /**
+     * @param client the underlying client
+     */
+    public ParaAsyncClient(ParaClient client) {
+        if (client == null) {
+            throw new IllegalArgumentException("ParaClient is required.");
+        }
+        this.client = client;
+    }
+
+    /**
+     * @return the underlying client
+     */
+    public ParaClient getClient() {
+        return client;
+    }
+
+    /**
+     * An asynchronous operation of {@link ParaClient}.
+     * @param <T> the type of result
+     */
+    private interface Call<T> {
+        void invoke(Listener<T> success, ErrorListener error);
+    }
+
+    private static <T> CompletableFuture<T> call(Call<T> call) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            call.invoke(future::complete, future::completeExceptionally);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the version of Para server.
+     * @return a future which completes with the version of Para server
+     */
+    public CompletableFuture<String> getServerVersion() {
+        return call((ok, err) -> client.getServerVersion(ok, err));
+    }
+
+    /**
+     * Persists an object to the data store. If the object's type and id are given,
+     * then the request will be a {@code PUT} request and any existing object will be
+     * overwritten.
+     * @param <P> the type of object
+     * @param obj the domain object
+     * @return a future which completes with the same object with assigned id or null if not
+     * created.
+     */
+    public <P extends ParaObject> CompletableFuture<P> create(P obj) {
+        return call((ok, err) -> client.create(obj, ok, err));
+    }
+
+    /**
+     * Retrieves an object from the data store.
+     * @param <P> the type of object
+     * @param type the type of the object
+     * @param id the id of the object
+     * @return a future which completes with the retrieved object or null if not found
+     */
+    public <P extends ParaObject> CompletableFuture<P> read(Class<P> type, String id) {
+        return call((ok, err) -> client.read(type, id, ok, err));
+    }
+
+    /**
+     * Retrieves an object from the data store.
+     * @param <P> the type of object
+     * @param id the id of the object
+     * @return a future which completes with the retrieved object or null if not found
+     */
+    public <P extends ParaObject> CompletableFuture<P> read(String id) {
+        return call((ok, err) -> client.read(id, ok, err));
+    }
+
+    /**
+     * Updates an object permanently. Supports partial updates.
+     * @param <P> the type of object
+     * @param obj the object to update
+     * @return a future which completes with the updated object
+     */
+    public <P extends ParaObject> CompletableFuture<P> update(P obj) {
+        return call((ok, err) -> client.update(obj, ok, err));
+    }
+
+    /**
+     * Deletes an object permanently.
+     * @param <P> the type of object
+     * @param obj the object
+     * @return a future which completes with the result
+     */
+    public <P extends ParaObject> CompletableFuture<P> delete(P obj) {
+        return call((ok, err) -> client.delete(obj, ok, err));
+    }
+
+    /**
+     * Saves multiple objects to the data store.
+     * @param objects the list of objects to save
+     * @return a future which completes with a list of objects
+     */
+    public CompletableFuture<List<ParaObject>> createAll(List<ParaObject> objects) {
+        return call((ok, err) -> client.createAll(objects, ok, err));
+    }
+
+    /**
+     * Retrieves multiple objects from the data store.
+     * @param keys a list of object ids
+     * @return a future which completes with a list of objects
+     */
+    public CompletableFuture<List<ParaObject>> readAll(List<String> keys) {
+        return call((ok, err) -> client.readAll(keys, ok, err));
+    }
+
+    /**
+     * Updates multiple objects.
+     * @param objects the objects to update
+     * @return a future which completes with a list of objects
+     */
+    public CompletableFuture<List<ParaObject>> updateAll(List<ParaObject> objects) {
+        return call((ok, err) -> client.updateAll(objects, ok, err));
+    }
+
+    /**
+     * Deletes multiple objects.
+     * @param keys the ids of the objects to delete
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<List<ParaObject>> deleteAll(List<String> keys) {
+        return call((ok, err) -> client.deleteAll(keys, ok, err));
+    }
+
+    /**
+     * Returns a list all objects found for the given type.
+     * The result is paginated so only one page of items is returned, at a time.
+     * @param type the type of objects to search for
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects
+     */
+    public CompletableFuture<List<ParaObject>> list(String type, Pager pager) {
+        return call((ok, err) -> client.list(type, pager, ok, err));
+    }
+
+    /**
+     * Simple id search.
+     * @param id the id
+     * @return a future which completes with the object if found or null
+     */
+    public CompletableFuture<ParaObject> findById(String id) {
+        return call((ok, err) -> client.findById(id, ok, err));
+    }
+
+    /**
+     * Simple multi id search.
+     * @param ids a list of ids to search for
+     * @return a future which completes with a list of object found
+     */
+    public CompletableFuture<List<ParaObject>> findByIds(List<String> ids) {
+        return call((ok, err) -> client.findByIds(ids, ok, err));
+    }
+
+    /**
+     * Search for Address objects in a radius of X km from a given point.
+     * @param type the type of object to search for. See {@link ParaObject#getType()}
+     * @param query the query string
+     * @param radius the radius of the search circle
+     * @param lat latitude
+     * @param lng longitude
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findNearby(
+            String type, String query, int radius, double lat, double lng, Pager pager) {
+        return call((ok, err) -> client.findNearby(type, query, radius, lat, lng, pager, ok, err));
+    }
+
+    /**
+     * Searches for objects that have a property which value starts with a given prefix.
+     * @param type the type of object to search for. See {@link ParaObject#getType()}
+     * @param field the property name of an object
+     * @param prefix the prefix
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findPrefix(
+            String type, String field, String prefix, Pager pager) {
+        return call((ok, err) -> client.findPrefix(type, field, prefix, pager, ok, err));
+    }
+
+    /**
+     * Simple query string search. This is the basic search method.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param query the query string
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findQuery(String type, String query, Pager pager) {
+        return call((ok, err) -> client.findQuery(type, query, pager, ok, err));
+    }
+
+    /**
+     * Searches within a nested field. The objects of the given type must contain a nested field
+     * "nstd".
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param field field the name of the field to target (within a nested field "nstd")
+     * @param query the query string
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findNestedQuery(
+            String type, String field, String query, Pager pager) {
+        return call((ok, err) -> client.findNestedQuery(type, field, query, pager, ok, err));
+    }
+
+    /**
+     * Searches for objects that have similar property values to a given text.
+     * A "find like this" query.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param filterKey exclude an object with this key from the results (optional)
+     * @param fields a list of property names
+     * @param liketext text to compare to
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findSimilar(
+            String type, String filterKey, String[] fields, String liketext, Pager pager) {
+        return call((ok, err) ->
+                client.findSimilar(type, filterKey, fields, liketext, pager, ok, err));
+    }
+
+    /**
+     * Searches for objects tagged with one or more tags.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param tags the list of tags
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findTagged(String type, String[] tags, Pager pager) {
+        return call((ok, err) -> client.findTagged(type, tags, pager, ok, err));
+    }
+
+    /**
+     * Searches for Tag objects.
+     * This method might be deprecated in the future.
+     * @param keyword the tag keyword to search for
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findTags(String keyword, Pager pager) {
+        return call((ok, err) -> client.findTags(keyword, pager, ok, err));
+    }
+
+    /**
+     * Searches for objects having a property value that is in list of possible values.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param field the property name of an object
+     * @param terms a list of terms (property values)
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findTermInList(
+            String type, String field, List<String> terms, Pager pager) {
+        return call((ok, err) -> client.findTermInList(type, field, terms, pager, ok, err));
+    }
+
+    /**
+     * Searches for objects that have properties matching some given values. A terms query.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param terms a map of fields (property names) to terms (property values)
+     * @param matchAll match all terms. If true - AND search, if false - OR search
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findTerms(
+            String type, Map<String, ?> terms, boolean matchAll, Pager pager) {
+        return call((ok, err) -> client.findTerms(type, terms, matchAll, pager, ok, err));
+    }
+
+    /**
+     * Searches for objects that have a property with a value matching a wildcard query.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param field the property name of an object
+     * @param wildcard wildcard query string. For example "cat*".
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of objects found
+     */
+    public CompletableFuture<List<ParaObject>> findWildcard(
+            String type, String field, String wildcard, Pager pager) {
+        return call((ok, err) -> client.findWildcard(type, field, wildcard, pager, ok, err));
+    }
+
+    /**
+     * Counts indexed objects.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @return a future which completes with the number of results found
+     */
+    public CompletableFuture<Long> getCount(String type) {
+        return call((ok, err) -> client.getCount(type, ok, err));
+    }
+
+    /**
+     * Counts indexed objects matching a set of terms/values.
+     * @param type the type of object to search for. See {@link Sysprop#getType()}
+     * @param terms a list of terms (property values)
+     * @return a future which completes with the number of results found
+     */
+    public CompletableFuture<Long> getCount(String type, Map<String, ?> terms) {
+        return call((ok, err) -> client.getCount(type, terms, ok, err));
+    }
+
+    /**
+     * Count the total number of links between this object and another type of object.
+     * @param type2 the other type of object
+     * @param obj the object to execute this method on
+     * @return a future which completes with the number of links for the given object
+     */
+    public CompletableFuture<Long> countLinks(ParaObject obj, String type2) {
+        return call((ok, err) -> client.countLinks(obj, type2, ok, err));
+    }
+
+    /**
+     * Returns all objects linked to the given one.
+     * Only applicable to many-to-many relationships.
+     * @param type2 type of linked objects to search for
+     * @param obj the object to execute this method on
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of linked objects
+     */
+    public CompletableFuture<List<ParaObject>> getLinkedObjects(
+            ParaObject obj, String type2, Pager pager) {
+        return call((ok, err) -> client.getLinkedObjects(obj, type2, pager, ok, err));
+    }
+
+    /**
+     * Searches through all linked objects in many-to-many relationships.
+     * @param obj the object to execute this method on
+     * @param type2 type of linked objects to search for
+     * @param field field the name of the field to target (within a nested field "nstd")
+     * @param query the query string
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of linked objects
+     */
+    public CompletableFuture<List<ParaObject>> findLinkedObjects(
+            ParaObject obj, String type2, String field, String query, Pager pager) {
+        return call((ok, err) ->
+                client.findLinkedObjects(obj, type2, field, query, pager, ok, err));
+    }
+
+    /**
+     * Checks if this object is linked to another.
+     * @param type2 the other type
+     * @param id2 the other id
+     * @param obj the object to execute this method on
+     * @return a future which completes with true if the two are linked
+     */
+    public CompletableFuture<Boolean> isLinked(ParaObject obj, String type2, String id2) {
+        return call((ok, err) -> client.isLinked(obj, type2, id2, ok, err));
+    }
+
+    /**
+     * Checks if a given object is linked to this one.
+     * @param toObj the other object
+     * @param obj the object to execute this method on
+     * @return a future which completes with true if linked
+     */
+    public CompletableFuture<Boolean> isLinked(ParaObject obj, Sysprop toObj) {
+        return call((ok, err) -> client.isLinked(obj, toObj, ok, err));
+    }
+
+    /**
+     * Links an object to this one in a many-to-many relationship.
+     * Only a link is created. Objects are left untouched.
+     * The type of the second object is automatically determined on read.
+     * @param id2 link to the object with this id
+     * @param obj the object to execute this method on
+     * @return a future which completes with the id of the Linker object that is created
+     */
+    public CompletableFuture<String> link(ParaObject obj, String id2) {
+        return call((ok, err) -> client.link(obj, id2, ok, err));
+    }
+
+    /**
+     * Unlinks an object from this one.
+     * Only a link is deleted. Objects are left untouched.
+     * @param type2 the other type
+     * @param obj the object to execute this method on
+     * @param id2 the other id
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<Map> unlink(ParaObject obj, String type2, String id2) {
+        return call((ok, err) -> client.unlink(obj, type2, id2, ok, err));
+    }
+
+    /**
+     * Unlinks all objects that are linked to this one.
+     * @param obj the object to execute this method on
+     * Only Linker objects are deleted.
+     * {@link ParaObject}s are left untouched.
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<Map> unlinkAll(ParaObject obj) {
+        return call((ok, err) -> client.unlinkAll(obj, ok, err));
+    }
+
+    /**
+     * Count the total number of child objects for this object.
+     * @param type2 the type of the other object
+     * @param obj the object to execute this method on
+     * @return a future which completes with the number of links
+     */
+    public CompletableFuture<Long> countChildren(ParaObject obj, String type2) {
+        return call((ok, err) -> client.countChildren(obj, type2, ok, err));
+    }
+
+    /**
+     * Returns all child objects linked to this object.
+     * @param type2 the type of children to look for
+     * @param obj the object to execute this method on
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of {@link ParaObject} in a one-to-many
+     * relationship with this object
+     */
+    public CompletableFuture<List<ParaObject>> getChildren(
+            ParaObject obj, String type2, Pager pager) {
+        return call((ok, err) -> client.getChildren(obj, type2, pager, ok, err));
+    }
+
+    /**
+     * Returns all child objects linked to this object.
+     * @param type2 the type of children to look for
+     * @param field the field name to use as filter
+     * @param term the field value to use as filter
+     * @param obj the object to execute this method on
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of {@link ParaObject} in a one-to-many
+     * relationship with this object
+     */
+    public CompletableFuture<List<ParaObject>> getChildren(
+            ParaObject obj, String type2, String field, String term, Pager pager) {
+        return call((ok, err) -> client.getChildren(obj, type2, field, term, pager, ok, err));
+    }
+
+    /**
+     * Search through all child objects. Only searches child objects directly
+     * connected to this parent via the {@code parentid} field.
+     * @param type2 the type of children to look for
+     * @param query a query string
+     * @param obj the object to execute this method on
+     * @param pager a {@link Pager}
+     * @return a future which completes with a list of {@link ParaObject} in a one-to-many
+     * relationship with this object
+     */
+    public CompletableFuture<List<ParaObject>> findChildren(
+            ParaObject obj, String type2, String query, Pager pager) {
+        return call((ok, err) -> client.findChildren(obj, type2, query, pager, ok, err));
+    }
+
+    /**
+     * Deletes all child objects permanently.
+     * @param obj the object to execute this method on
+     * @param type2 the children's type.
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<Map> deleteChildren(ParaObject obj, String type2) {
+        return call((ok, err) -> client.deleteChildren(obj, type2, ok, err));
+    }
+
+    /**
+     * Generates a new unique id.
+     * @return a future which completes with a new id
+     */
+    public CompletableFuture<String> newId() {
+        return call((ok, err) -> client.newId(ok, err));
+    }
+
+    /**
+     * Returns the current timestamp.
+     * @return a future which completes with a long number
+     */
+    public CompletableFuture<Long> getTimestamp() {
+        return call((ok, err) -> client.getTimestamp(ok, err));
+    }
+
+    /**
+     * Formats a date in a specific format.
+     * @param format the date format
+     * @param loc the locale instance
+     * @return a future which completes with a formatted date
+     */
+    public CompletableFuture<String> formatDate(String format, Locale loc) {
+        return call((ok, err) -> client.formatDate(format, loc, ok, err));
+    }
+
+    /**
+     * Converts spaces to dashes.
+     * @param str a string with spaces
+     * @param replaceWith a string to replace spaces with
+     * @return a future which completes with a string with dashes
+     */
+    public CompletableFuture<String> noSpaces(String str, String replaceWith) {
+        return call((ok, err) -> client.noSpaces(str, replaceWith, ok, err));
+    }
+
+    /**
+     * Strips all symbols, punctuation, whitespace and control chars from a string.
+     * @param str a dirty string
+     * @return a future which completes with a clean string
+     */
+    public CompletableFuture<String> stripAndTrim(String str) {
+        return call((ok, err) -> client.stripAndTrim(str, ok, err));
+    }
+
+    /**
+     * Converts Markdown to HTML
+     * @param markdownString Markdown
+     * @return a future which completes with HTML
+     */
+    public CompletableFuture<String> markdownToHtml(String markdownString) {
+        return call((ok, err) -> client.markdownToHtml(markdownString, ok, err));
+    }
+
+    /**
+     * Returns the number of minutes, hours, months elapsed for a time delta (milliseconds).
+     * @param delta the time delta between two events, in milliseconds
+     * @return a future which completes with a string like "5m", "1h"
+     */
+    public CompletableFuture<String> approximately(long delta) {
+        return call((ok, err) -> client.approximately(delta, ok, err));
+    }
+
+    /**
+     * Generates a new set of access/secret keys.
+     * Old keys are discarded and invalid after this.
+     * @return a future which completes with a map of new credentials
+     */
+    public CompletableFuture<Map<String, String>> newKeys() {
+        return call((ok, err) -> client.newKeys(ok, err));
+    }
+
+    /**
+     * Returns all registered types for this App.
+     * @return a future which completes with a map of plural-singular form of all the registered
+     * types.
+     */
+    public CompletableFuture<Map<String, String>> types() {
+        return call((ok, err) -> client.types(ok, err));
+    }
+
+    /**
+     * Returns the number of objects for each existing type in this App.
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<Map<String, String>> typesCount() {
+        return call((ok, err) -> client.typesCount(ok, err));
+    }
+
+    /**
+     * Returns a User or an
+     * App that is currently authenticated.
+     * @param <P> the type of object
+     * @return a future which completes with a User or an App
+     */
+    public <P extends ParaObject> CompletableFuture<P> me() {
+        return call((ok, err) -> client.me(ok, err));
+    }
+
+    /**
+     * Verifies a given JWT and returns the authenticated subject.
+     * This request will not remember the JWT in memory.
+     * @param <P> the type of object
+     * @param accessToken a valid JWT access token
+     * @return a future which completes with a User or an App
+     */
+    public <P extends ParaObject> CompletableFuture<P> me(String accessToken) {
+        return call((ok, err) -> client.me(accessToken, ok, err));
+    }
+
+    /**
+     * Upvote an object and register the vote in DB.
+     * @param obj the object to receive +1 votes
+     * @param voterid the userid of the voter
+     * @return a future which completes with true if vote was successful
+     */
+    public CompletableFuture<Boolean> voteUp(ParaObject obj, String voterid) {
+        return call((ok, err) -> client.voteUp(obj, voterid, ok, err));
+    }
+
+    /**
+     * Downvote an object and register the vote in DB.
+     * @param obj the object to receive +1 votes
+     * @param voterid the userid of the voter
+     * @return a future which completes with true if vote was successful
+     */
+    public CompletableFuture<Boolean> voteDown(ParaObject obj, String voterid) {
+        return call((ok, err) -> client.voteDown(obj, voterid, ok, err));
+    }
+
+    /**
+     * Rebuilds the entire search index.
+     * @return a future which completes with a response object with properties "tookMillis" and
+     * "reindexed"
+     */
+    public CompletableFuture<Map<String, String>> rebuildIndex() {
+        return call((ok, err) -> client.rebuildIndex(ok, err));
+    }
+
+    /**
+     * Rebuilds the entire search index.
+     * @param destinationIndex an existing index as destination
+     * @return a future which completes with a response object with properties "tookMillis" and
+     * "reindexed"
+     */
+    public CompletableFuture<Map<String, String>> rebuildIndex(String destinationIndex) {
+        return call((ok, err) -> client.rebuildIndex(destinationIndex, ok, err));
+    }
+
+    /**
+     * Returns the validation constraints map.
+     * @return a future which completes with a map containing all validation constraints.
+     */
+    public CompletableFuture<Map<String, Map<String, Map<String,
+            Map<String, ?>>>>> validationConstraints() {
+        return call((ok, err) -> client.validationConstraints(ok, err));
+    }
+
+    /**
+     * Returns the validation constraints map.
+     * @param type a type
+     * @return a future which completes with a map containing all validation constraints for this
+     * type.
+     */
+    public CompletableFuture<Map<String, Map<String, Map<String,
+            Map<String, ?>>>>> validationConstraints(String type) {
+        return call((ok, err) -> client.validationConstraints(type, ok, err));
+    }
+
+    /**
+     * Add a new constraint for a given field.
+     * @param type a type
+     * @param field a field name
+     * @param c the constraint
+     * @return a future which completes with a map containing all validation constraints for this
+     * type.
+     */
+    public CompletableFuture<Map<String, Map<String, Map<String,
+            Map<String, ?>>>>> addValidationConstraint(String type, String field, Constraint c) {
+        return call((ok, err) -> client.addValidationConstraint(type, field, c, ok, err));
+    }
+
+    /**
+     * Removes a validation constraint for a given field.
+     * @param type a type
+     * @param field a field name
+     * @param constraintName the name of the constraint to remove
+     * @return a future which completes with a map containing all validation constraints for this
+     * type.
+     */
+    public CompletableFuture<Map<String, Map<String, Map<String,
+            Map<String, ?>>>>> removeValidationConstraint(
+            String type, String field, String constraintName) {
+        return call((ok, err) ->
+                client.removeValidationConstraint(type, field, constraintName, ok, err));
+    }
+
+    /**
+     * Returns the permissions for all subjects and resources for current app.
+     * @return a future which completes with a map of subject ids to resource names to a list of
+     * allowed methods
+     */
+    public CompletableFuture<Map<String, Map<String, List<String>>>> resourcePermissions() {
+        return call((ok, err) -> client.resourcePermissions(ok, err));
+    }
+
+    /**
+     * Returns only the permissions for a given subject (user) of the current app.
+     * @param subjectid the subject id (user id)
+     * @return a future which completes with a map of subject ids to resource names to a list of
+     * allowed methods
+     */
+    public CompletableFuture<Map<String, Map<String, List<String>>>> resourcePermissions(
+            String subjectid) {
+        return call((ok, err) -> client.resourcePermissions(subjectid, ok, err));
+    }
+
+    /**
+     * Grants a permission to a subject that allows them to
+     * call the specified HTTP methods on a given resource.
+     * @param subjectid subject id (user id)
+     * @param resourcePath resource path or object type
+     * @param permission an array of allowed HTTP methods
+     * @return a future which completes with a map of the permissions for this subject id
+     */
+    public CompletableFuture<Map<String, Map<String, List<String>>>> grantResourcePermission(
+            String subjectid, String resourcePath, String[] permission) {
+        return call((ok, err) ->
+                client.grantResourcePermission(subjectid, resourcePath, permission, ok, err));
+    }
+
+    /**
+     * Grants a permission to a subject that allows them to
+     * call the specified HTTP methods on a given resource.
+     * @param subjectid subject id (user id)
+     * @param resourcePath resource path or object type
+     * @param permission an array of allowed HTTP methods
+     * @param allowGuestAccess if true - all unauthenticated requests will go through, 'false' by
+     * default.
+     * @return a future which completes with a map of the permissions for this subject id
+     */
+    public CompletableFuture<Map<String, Map<String, List<String>>>> grantResourcePermission(
+            String subjectid, String resourcePath, String[] permission, boolean allowGuestAccess) {
+        return call((ok, err) ->
+                client.grantResourcePermission(subjectid, resourcePath, permission,
+                allowGuestAccess, ok, err));
+    }
+
+    /**
+     * Revokes a permission for a subject, meaning they
+     * no longer will be able to access the given resource.
+     * @param subjectid subject id (user id)
+     * @param resourcePath resource path or object type
+     * @return a future which completes with a map of the permissions for this subject id
+     */
+    public CompletableFuture<Map<String, Map<String, List<String>>>> revokeResourcePermission(
+            String subjectid, String resourcePath) {
+        return call((ok, err) -> client.revokeResourcePermission(subjectid, resourcePath, ok, err));
+    }
+
+    /**
+     * Revokes all permission for a subject.
+     * @param subjectid subject id (user id)
+     * @return a future which completes with a map of the permissions for this subject id
+     */
+    public CompletableFuture<Map<String, Map<String, List<String>>>> revokeAllResourcePermissions(
+            String subjectid) {
+        return call((ok, err) -> client.revokeAllResourcePermissions(subjectid, ok, err));
+    }
+
+    /**
+     * Checks if a subject is allowed to call method X on resource Y.
+     * @param subjectid subject id
+     * @param resourcePath resource path or object type
+     * @param httpMethod HTTP method name
+     * @return a future which completes with true if allowed
+     */
+    public CompletableFuture<Boolean> isAllowedTo(
+            String subjectid, String resourcePath, String httpMethod) {
+        return call((ok, err) -> client.isAllowedTo(subjectid, resourcePath, httpMethod, ok, err));
+    }
+
+    /**
+     * Returns the map containing app-specific settings.
+     * @return a future which completes with a map
+     */
+    public CompletableFuture<Map<String, Object>> appSettings() {
+        return call((ok, err) -> client.appSettings(ok, err));
+    }
+
+    /**
+     * Returns the value of a specific app setting (property).
+     * @param key a key
+     * @return a future which completes with a map containing one element {"value": "the_value"} or
+     * an empty map.
+     */
+    public CompletableFuture<Map<String, Object>> appSettings(String key) {
+        return call((ok, err) -> client.appSettings(key, ok, err));
+    }
+
+    /**
+     * Adds or overwrites an app-specific setting.
+     * @param key a key
+     * @param value a value
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<Map<String, Object>> addAppSetting(String key, Object value) {
+        return call((ok, err) -> client.addAppSetting(key, value, ok, err));
+    }
+
+    /**
+     * Overwrites all app-specific settings.
+     * @param settings a key-value map of properties
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<Map<String, Object>> setAppSettings(Map<String, Object> settings) {
+        return call((ok, err) -> client.setAppSettings(settings, ok, err));
+    }
+
+    /**
+     * Removes an app-specific setting.
+     * @param key a key
+     * @return a future which completes with the result
+     */
+    public CompletableFuture<Map<String, Object>> removeAppSetting(String key) {
+        return call((ok, err) -> client.removeAppSetting(key, ok, err));
+    }
+
+    /**
+     * Takes an identity provider access token and fetches the user data from that provider.
+     * A new User object is created if that user doesn't exist.
+     * Access tokens are returned upon successful authentication using one of the SDKs from
+     * Facebook, Google, Twitter, etc.
+     * <b>Note:</b> Twitter uses OAuth 1 and gives you a token and a token secret.
+     * <b>You must concatenate them like this: <code>{oauth_token}:{oauth_token_secret}</code> and
+     * use that as the provider access token.</b>
+     * @param provider identity provider, e.g. 'facebook', 'google'...
+     * @param providerToken access token from a provider like Facebook, Google, Twitter
+     * @param rememberJWT stores the JWT token in the ParaClient instance
+     * @return a future which completes with a User object or null if something failed
+     */
+    public CompletableFuture<Sysprop> signIn(
+            String provider, String providerToken, boolean rememberJWT) {
+        return call((ok, err) -> client.signIn(provider, providerToken, rememberJWT, ok, err));
+    }
+
+    /**
+     * @see #signIn(String, String, boolean)
+     * @param provider identity provider, e.g. 'facebook', 'google'...
+     * @param providerToken access token from a provider like Facebook, Google, Twitter
+     * @return a future which completes with a User object or null if something failed
+     */
+    public CompletableFuture<Sysprop> signIn(String provider, String providerToken) {
+        return call((ok, err) -> client.signIn(provider, providerToken, ok, err));
+    }
+
+    /**
+     * Revokes all user tokens for a given user id.
+     * This would be equivalent to "logout everywhere".
+     * <b>Note:</b> Generating a new API secret on the server will also invalidate all client
+     * tokens.
+     * Requires a valid existing token.
+     * @return a future which completes with true if successful
+     */
+    public CompletableFuture<Boolean> revokeAllTokens() {
+        return call((ok, err) -> client.revokeAllTokens(ok, err));
+    }
+}
@@ -18,7 +18,9 @@
 package com.erudika.para.client;
 
 import android.content.Context;
+import android.os.Looper;
 import static com.android.volley.Request.Method.*;
+import com.android.volley.ExecutorDelivery;
 import com.android.volley.RequestQueue;
 import static com.android.volley.Response.*;
 import com.android.volley.VolleyError;
@@ -26,10 +28,27 @@ import com.android.volley.toolbox.BasicNetwork;
 import com.android.volley.toolbox.NoCache;
 import com.android.volley.toolbox.RequestFuture;
 import com.android.volley.toolbox.Volley;
+import com.erudika.para.client.utils.ClientMetrics;
+import com.erudika.para.client.utils.BatchChunker;
+import com.erudika.para.client.utils.ItemsResponse;
+import com.erudika.para.client.utils.ObjectCache;
 import com.erudika.para.client.utils.OkHttp3Stack;
+import com.erudika.para.client.utils.OkHttpClientProvider;
+import com.erudika.para.client.utils.OkHttpTransport;
+import com.erudika.para.client.utils.PagedIterator;
 import com.erudika.para.client.utils.Pager;
+import com.erudika.para.client.utils.ParaRequest;
+import com.erudika.para.client.utils.ParaTransport;
+import com.erudika.para.client.utils.RequestCoalescer;
+import com.erudika.para.client.utils.ResponseStore;
+import com.erudika.para.client.utils.SharedPreferencesTokenStore;
 import com.erudika.para.client.utils.Signer;
+import com.erudika.para.client.utils.Span;
+import com.erudika.para.client.utils.TokenManager;
+import com.erudika.para.client.utils.TokenStore;
+import com.erudika.para.client.utils.Tracer;
 import com.erudika.para.client.utils.ClientUtils;
+import com.erudika.para.client.utils.VolleyTransport;
 import com.erudika.para.core.Constraint;
 import com.erudika.para.core.ParaObject;
 import com.erudika.para.core.Sysprop;
@@ -42,7 +61,15 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.Logger;
@@ -63,55 +90,115 @@ public final class ParaClient {
     private static final String DEFAULT_PATH = "/v1/";
     private static final String JWT_PATH = "/jwt_auth";
     private static final String SEPARATOR = ":";
+    private static final Map<String, RequestQueue> SHARED_QUEUES = new ConcurrentHashMap<>();
     private String endpoint;
     private String path;
     private String accessKey;
     private String secretKey;
-    private String tokenKey;
-    private Long tokenKeyExpires;
-    private Long tokenKeyNextRefresh;
+    private final TokenManager tokenManager = new TokenManager(this::requestTokenRefresh);
+    private volatile TokenStore tokenStore;
+    private volatile CompletableFuture<Void> tokenLoad = CompletableFuture.completedFuture(null);
     private final Signer signer = new Signer();
     private Context ctx;
     private String trustedHostname;
     private int requestTimeout;
+    private int prefetchPages = 1;
+    private int batchChunkSize = 100;
+    private int batchParallelism = 4;
+    private volatile ObjectCache objectCache;
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private volatile ClientMetrics metrics;
+    private volatile Tracer tracer;
+    // the page being fetched by iterate() or stream() on this thread, so that a failed page
+    // request isn't mistaken for the end of the results
+    private final ThreadLocal<PageFetch> pageFetch = new ThreadLocal<>();
 
     private RequestQueue requestQueue;
+    private ParaTransport transport;
 
     public ParaClient(String accessKey, String secretKey, Context ctx) {
         this.ctx = ctx;
         this.accessKey = accessKey;
         this.secretKey = secretKey;
-        this.requestQueue = getRequestQueue();
-        this.tokenKey = ClientUtils.loadPref("tokenKey", ctx);
-        String tke = ClientUtils.loadPref("tokenKeyExpires", ctx);
-        String tknr = ClientUtils.loadPref("tokenKeyNextRefresh", ctx);
-        this.tokenKeyExpires = (tke != null) ? Long.parseLong(tke) : null;
-        this.tokenKeyNextRefresh = (tknr != null) ? Long.parseLong(tknr) : null;
+        setTokenStore(new SharedPreferencesTokenStore(ctx));
         this.requestTimeout = NumberUtils.toInt(System.getProperty("para.client.timeout", "30"));
         if (StringUtils.isBlank(secretKey)) {
             logger.warn("Secret key not provided. Make sure you call 'signIn()' first.");
         }
     }
 
+    /**
+     * Returns the Volley request queue. Queues are shared between all clients with the same
+     * cache/TLS profile, so creating many clients doesn't create many network thread pools.
+     * @return the request queue
+     */
     public RequestQueue getRequestQueue() {
         if (requestQueue == null) {
-            // getApplicationContext() is key, it keeps you from leaking the
-            // Activity or BroadcastReceiver if someone passes one in.
-            if (ctx == null) {
-                requestQueue = new RequestQueue(new NoCache(), new BasicNetwork(new OkHttp3Stack()));
-            } else {
-                if (StringUtils.isBlank(trustedHostname)) {
-                    requestQueue = Volley.newRequestQueue(ctx.getApplicationContext(), new OkHttp3Stack());
-                } else {
-                    HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> 
-                        HttpsURLConnection.getDefaultHostnameVerifier().verify(trustedHostname, session));
-                    requestQueue = Volley.newRequestQueue(ctx.getApplicationContext(), new OkHttp3Stack(true));
-                }
+            final boolean trustAll = !StringUtils.isBlank(trustedHostname);
+            if (trustAll) {
+                HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> 
+                    HttpsURLConnection.getDefaultHostnameVerifier().verify(trustedHostname, session));
             }
+            String profile = (ctx == null ? "nocache" : "cache") + SEPARATOR + trustAll;
+            requestQueue = SHARED_QUEUES.computeIfAbsent(profile, k -> newRequestQueue(trustAll));
         }
         return requestQueue;
     }
 
+    private RequestQueue newRequestQueue(boolean trustAll) {
+        if (ctx == null) {
+            BasicNetwork network = new BasicNetwork(new OkHttp3Stack(trustAll));
+            // without a main looper (plain JVM), responses are delivered on the network threads
+            RequestQueue queue = (Looper.getMainLooper() == null) ?
+                    new RequestQueue(new NoCache(), network, 4, new ExecutorDelivery(Runnable::run)) :
+                    new RequestQueue(new NoCache(), network);
+            queue.start();
+            return queue;
+        }
+        // getApplicationContext() is key, it keeps you from leaking the
+        // Activity or BroadcastReceiver if someone passes one in.
+        return Volley.newRequestQueue(ctx.getApplicationContext(), new OkHttp3Stack(trustAll));
+    }
+
+    /**
+     * Returns the transport used for executing requests. By default, requests are
+     * executed through the Volley {@link RequestQueue} returned by {@link #getRequestQueue()}.
+     * @return the transport
+     */
+    public ParaTransport getTransport() {
+        if (transport == null) {
+            transport = new VolleyTransport(getRequestQueue());
+        }
+        return transport;
+    }
+
+    /**
+     * Sets the transport used for executing requests. Use {@link OkHttpTransport} to bypass
+     * Volley and execute requests asynchronously on the OkHttp dispatcher, which allows
+     * many more concurrent requests without blocking a thread for each of them.
+     * @param transport a transport
+     */
+    public void setTransport(ParaTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Returns statistics for the OkHttp connection pool used by this client, e.g. the number of
+     * idle and active connections and the connection reuse ratio. This is the pool of the
+     * {@link OkHttpTransport}, if one is set, otherwise the shared pool used by Volley.
+     * @return connection pool stats
+     */
+    public OkHttpClientProvider.PoolStats getConnectionPoolStats() {
+        ParaTransport t = transport;
+        if (t instanceof OkHttpTransport) {
+            OkHttpClientProvider.PoolStats stats = ((OkHttpTransport) t).getConnectionPoolStats();
+            if (stats != null) {
+                return stats;
+            }
+        }
+        return OkHttpClientProvider.getDefault().getStats();
+    }
+
     /**
      * Disables the verification of TLS certificates for a given
      * hostname. Allows self-signed certificates. Use with caution.
@@ -121,6 +208,135 @@ public final class ParaClient {
         this.trustedHostname = trustedHostname;
     }
 
+    /**
+     * Enables or disables the binary wire format (CBOR). When enabled, request bodies are
+     * encoded as {@code application/cbor} and the server is asked to respond in CBOR.
+     * JSON responses are still accepted, so this is safe to use with servers without CBOR support.
+     * @param enabled true to enable CBOR
+     */
+    public void setBinaryWireFormat(boolean enabled) {
+        signer.setBinaryWireFormat(enabled);
+    }
+
+    /**
+     * @return true if the binary wire format (CBOR) is enabled
+     */
+    public boolean isBinaryWireFormat() {
+        return signer.isBinaryWireFormat();
+    }
+
+    /**
+     * Enables gzip compression for request bodies larger than the given threshold,
+     * e.g. for large {@code _batch} writes. Disabled by default.
+     * @param thresholdBytes the minimum body size in bytes, a negative value disables compression
+     */
+    public void setRequestCompression(int thresholdBytes) {
+        signer.setCompressionThreshold(thresholdBytes);
+    }
+
+    /**
+     * @return the total size in bytes of all compressed request bodies, before compression
+     */
+    public long getUncompressedRequestBytes() {
+        return signer.getUncompressedBytes();
+    }
+
+    /**
+     * @return the total size in bytes of all compressed request bodies, after compression
+     */
+    public long getCompressedRequestBytes() {
+        return signer.getCompressedBytes();
+    }
+
+    /**
+     * Enables conditional GET requests. Responses with an {@code ETag} or {@code Last-Modified} date
+     * are kept in the given store and revalidated on the next request, so unchanged objects and
+     * lists are answered with {@code 304 Not Modified} and read from the store. Disabled by default.
+     * @param responseStore a response store, null disables conditional requests
+     */
+    public void setResponseStore(ResponseStore responseStore) {
+        signer.setResponseStore(responseStore);
+    }
+
+    /**
+     * @return the store used for conditional GET requests, or null if disabled
+     */
+    public ResponseStore getResponseStore() {
+        return signer.getResponseStore();
+    }
+
+    /**
+     * Returns the measured offset between the server clock and the local clock. Requests are signed
+     * with the local time plus this offset. It is updated from the {@code Date} header of responses
+     * and by {@link #getTimestampSync()}.
+     * @return the server time minus the local time, in milliseconds
+     */
+    public long getClockSkew() {
+        return signer.getClockSkew().getOffset();
+    }
+
+    /**
+     * @return the number of requests which were rejected because of clock skew and retried
+     */
+    public long getClockSkewRetryCount() {
+        return signer.getClockSkew().getRetryCount();
+    }
+
+    /**
+     * Enables or disables coalescing of identical GET requests for the given call types.
+     * Identical requests (same path and parameters) made while one is already in flight
+     * share its network call and receive the same response object, so callers should not modify it.
+     * Call types are e.g. "search/default" for {@code findQuery()}, "search/count" for
+     * {@code getCount()}, "_types" for {@code types()} and {@code typesCount()}, or
+     * {@link RequestCoalescer#ALL} for all GET requests. Disabled by default.
+     * @param enabled true to enable
+     * @param callTypes call types, see {@link RequestCoalescer#getCallType(String)}
+     */
+    public void setRequestCoalescing(boolean enabled, String... callTypes) {
+        coalescer.setEnabled(enabled, callTypes);
+    }
+
+    /**
+     * @return the number of GET requests which were not sent because an identical one was in flight
+     */
+    public long getCoalescedRequestCount() {
+        return coalescer.getSavedCount();
+    }
+
+    /**
+     * Sets the registry in which the latency, size and outcome of each request is recorded,
+     * grouped by logical operation, e.g. "read", "findQuery" or "_batch". Disabled by default.
+     * @param metrics a metrics registry, or null to disable metrics
+     */
+    public void setMetrics(ClientMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the metrics registry, or null if disabled
+     */
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Enables distributed tracing. Each request gets a client span and a W3C {@code traceparent}
+     * header, which is not signed. The chunks of a large {@code readAll()} or {@code deleteAll()} and
+     * the pages fetched by {@code iterate()} and {@code stream()} are children of one span for the
+     * whole operation. Disabled by default.
+     * @param tracer a tracer, or null to disable tracing
+     */
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * @return the tracer, or null if disabled
+     */
+    public Tracer getTracer() {
+        return tracer;
+    }
+
     /**
      * Returns the endpoint URL
      * @return the endpoint
@@ -197,7 +413,58 @@ public final class ParaClient {
      * @return the JWT access token, or null if not signed in
      */
     public String getAccessToken() {
-        return tokenKey;
+        awaitTokenLoad();
+        return tokenManager.getToken();
+    }
+
+    /**
+     * @return the store which persists the JWT access token
+     */
+    public TokenStore getTokenStore() {
+        return tokenStore;
+    }
+
+    /**
+     * Sets the store which persists the JWT access token. The stored token is
+     * loaded in the background and requests are sent once it's loaded, without blocking the
+     * calling thread. The {@code *Sync} methods and the token getters wait for it.
+     * Loads run one after another and the token of a store which was replaced in the
+     * meantime is ignored.
+     * @param tokenStore a token store
+     */
+    public synchronized void setTokenStore(final TokenStore tokenStore) {
+        if (tokenStore != null) {
+            this.tokenStore = tokenStore;
+            // the previous load has already logged its failure, if any
+            this.tokenLoad = tokenLoad.thenRunAsync(() -> {
+                if (this.tokenStore != tokenStore) {
+                    return;
+                }
+                tokenStore.load();
+                synchronized (this) {
+                    if (this.tokenStore == tokenStore) {
+                        tokenManager.setToken(tokenStore.getToken(), tokenStore.getExpires(),
+                                tokenStore.getNextRefresh());
+                    }
+                }
+            }).exceptionally(e -> {
+                logger.warn("Failed to load access token: {}", e.getMessage());
+                return null;
+            });
+        }
+    }
+
+    private void awaitTokenLoad() {
+        tokenLoad.join();
+    }
+
+    /**
+     * Returns the token manager which coalesces concurrent token refreshes and renews
+     * the token in the background before it expires.
+     * @return the token manager
+     */
+    public TokenManager getTokenManager() {
+        return tokenManager;
     }
 
     /**
@@ -205,53 +472,54 @@ public final class ParaClient {
      * @param token a valid token
      */
     public void setAccessToken(String token) {
+        awaitTokenLoad();
+        Long expires = tokenManager.getExpires();
+        Long nextRefresh = tokenManager.getNextRefresh();
         if (!StringUtils.isBlank(token)) {
             try {
                 String payload = ClientUtils.base64dec(StringUtils.substringBetween(token, ".", "."));
                 Map<String, Object> decoded = ClientUtils.getJsonMapper().readValue(payload, Map.class);
                 if (decoded != null && decoded.containsKey("exp")) {
-                    this.tokenKeyExpires = (Long) decoded.get("exp");
-                    this.tokenKeyNextRefresh = (Long) decoded.get("refresh");
+                    expires = (Long) decoded.get("exp");
+                    nextRefresh = (Long) decoded.get("refresh");
                 }
             } catch (Exception ex) {
-                this.tokenKeyExpires = null;
-                this.tokenKeyNextRefresh = null;
+                expires = null;
+                nextRefresh = null;
             }
         }
-        this.tokenKey = token;
+        tokenManager.setToken(token, expires, nextRefresh);
     }
 
     /**
      * Clears the JWT token from memory, if such exists.
      */
     private void clearAccessToken() {
-        tokenKey = null;
-        tokenKeyExpires = null;
-        tokenKeyNextRefresh = null;
-        ClientUtils.clearPref("tokenKey", ctx);
-        ClientUtils.clearPref("tokenKeyExpires", ctx);
-        ClientUtils.clearPref("tokenKeyNextRefresh", ctx);
+        awaitTokenLoad();
+        tokenManager.clear();
+        tokenStore.clear();
     }
 
     private void saveAccessToken(Map<?, ?> jwtData) {
         if (jwtData != null) {
-            tokenKey = (String) jwtData.get("access_token");
-            ClientUtils.savePref("tokenKey", tokenKey, ctx);
-
-            tokenKeyExpires = (Long) jwtData.get("expires");
-            ClientUtils.savePref("tokenKeyExpires", tokenKeyExpires != null ?
-                    tokenKeyExpires.toString() : null, ctx);
-
-            tokenKeyNextRefresh = (Long) jwtData.get("refresh");
-            ClientUtils.savePref("tokenKeyNextRefresh", tokenKeyNextRefresh != null ?
-                    tokenKeyNextRefresh.toString() : null, ctx);
+            String tokenKey = (String) jwtData.get("access_token");
+            Long tokenKeyExpires = (Long) jwtData.get("expires");
+            Long tokenKeyNextRefresh = (Long) jwtData.get("refresh");
+            awaitTokenLoad();
+            tokenManager.setToken(tokenKey, tokenKeyExpires, tokenKeyNextRefresh);
+            tokenStore.save(tokenKey, tokenKeyExpires, tokenKeyNextRefresh);
         }
     }
 
+    /**
+     * Doesn't wait for the stored token, requests are only sent after it's loaded.
+     */
     private String key(boolean refresh) {
+        String tokenKey = tokenManager.getToken();
         if (tokenKey != null) {
             if (refresh) {
-                refreshToken(null);
+                // no-op unless the token is refreshable and no refresh is in flight
+                tokenManager.refresh();
             }
             return "Bearer " + tokenKey;
         }
@@ -274,7 +542,10 @@ public final class ParaClient {
                     int status = err.networkResponse != null ? err.networkResponse.statusCode : 400;
                     String msg = err.getMessage();
                     String errorType = err.getClass().getSimpleName();
-                    Map<String, Object> error = data != null ? readEntity(Map.class, data) : null;
+                    boolean cbor = err.networkResponse != null && err.networkResponse.headers != null &&
+                            ClientUtils.isCborContentType(err.networkResponse.headers.get("Content-Type"));
+                    Map<String, Object> error = data != null ? (cbor ? readCborEntity(Map.class, data) :
+                            readEntity(Map.class, data)) : null;
                     if (error != null && error.containsKey("code")) {
                         msg = error.containsKey("message") ? (String) error.get("message") : msg;
                         logger.error("{}:" + msg + " - {}", errorType, error.get("code"));
@@ -309,6 +580,15 @@ public final class ParaClient {
         }
     }
 
+    private <T> T readCborEntity(Class<T> clazz, byte[] data) {
+        try {
+            return ClientUtils.getCborReader(clazz).readValue(data);
+        } catch (IOException e) {
+            logger.error(null, e);
+            return null;
+        }
+    }
+
     /**
      * @param resourcePath API subpath
      * @return the full resource path, e.g. "/v1/path"
@@ -332,9 +612,7 @@ public final class ParaClient {
         RequestFuture<T> future = RequestFuture.newFuture();
         ErrorListener error = onError();
         boolean refreshJWT = !(method == GET && JWT_PATH.equals(resourcePath));
-        getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(refreshJWT),
-                method, getEndpoint(), getFullPath(resourcePath), headers, params,
-                entity, returnType, future, future));
+        execute(method, resourcePath, headers, params, entity, returnType, refreshJWT, future, future);
         try {
             return future.get(requestTimeout, TimeUnit.SECONDS);
         } catch (Exception e) {
@@ -349,9 +627,92 @@ public final class ParaClient {
                                           Object entity, Class<T> returnType,
                                           Listener<?> success, ErrorListener... error) {
         boolean refreshJWT = !(method == GET && JWT_PATH.equals(resourcePath));
-        getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(refreshJWT),
+        execute(method, resourcePath, headers, params, entity, returnType, refreshJWT, success, onError(error));
+    }
+
+    private void execute(final int method, final String resourcePath, final Map<String, String> headers,
+                         final Map<String, List<String>> params, final Object entity, final Class<?> returnType,
+                         final boolean refreshJWT, Listener<?> success, ErrorListener error) {
+        if (method == GET && refreshJWT && headers == null &&
+                coalescer.isEnabled(RequestCoalescer.getCallType(resourcePath))) {
+            String key = RequestCoalescer.getKey(getFullPath(resourcePath), params, returnType);
+            coalescer.execute(key, success, error, new RequestCoalescer.Sender() {
+                public void send(Listener<Object> success, ErrorListener error) {
+                    sendRequest(method, resourcePath, headers, params, entity, returnType, refreshJWT,
+                            success, error);
+                }
+            });
+        } else {
+            sendRequest(method, resourcePath, headers, params, entity, returnType, refreshJWT, success, error);
+        }
+    }
+
+    private void sendRequest(final int method, final String resourcePath, final Map<String, String> headers,
+                             final Map<String, List<String>> params, final Object entity, final Class<?> returnType,
+                             final boolean refreshJWT, final Listener<?> success, final ErrorListener error) {
+        CompletableFuture<Void> load = tokenLoad;
+        if (!load.isDone()) {
+            // the caller is often the main thread, so it doesn't wait for the stored token to be read
+            load.thenRun(() -> {
+                try {
+                    sendRequest(method, resourcePath, headers, params, entity, returnType, refreshJWT,
+                            success, error);
+                } catch (RuntimeException e) {
+                    if (error != null) {
+                        error.onErrorResponse(new VolleyError(e));
+                    }
+                }
+            });
+            return;
+        }
+        String secret = key(refreshJWT);
+        final Tracer t = tracer;
+        final Span span = (t == null) ? null : t.startSpan(ClientMetrics.getOperation(method, resourcePath));
+        if (StringUtils.startsWithIgnoreCase(secret, "Bearer")) {
+            sendRequest(method, resourcePath, headers, params, entity, returnType, secret, span, success, error);
+            return;
+        }
+        final long signedOffset = signer.getClockSkew().getOffset();
+        // a request rejected because of a wrong device clock is signed again and retried once
+        sendRequest(method, resourcePath, headers, params, entity, returnType, secret, span, success,
+                new ErrorListener() {
+            public void onErrorResponse(VolleyError err) {
+                if (signer.getClockSkew().isSkewError(err, signedOffset)) {
+                    logger.warn("Request rejected due to clock skew, retrying with a server time offset of {}ms.",
+                            signer.getClockSkew().getOffset());
+                    ClientMetrics m = metrics;
+                    if (m != null) {
+                        m.requestRetried(ClientMetrics.getOperation(method, resourcePath));
+                    }
+                    // the retry belongs to the same trace as the rejected request
+                    Span retry = (span == null) ? null :
+                            t.startSpan(span.getName(), span.getTraceId(), span.getParentSpanId());
+                    if (headers != null) {
+                        // the rejected signature and its skewed date were written into the headers,
+                        // the signer would reuse that date instead of the corrected time
+                        headers.remove("X-Amz-Date");
+                        headers.remove("Authorization");
+                    }
+                    sendRequest(method, resourcePath, headers, params, entity, returnType, key(refreshJWT),
+                            retry, success, error);
+                } else if (error != null) {
+                    error.onErrorResponse(err);
+                }
+            }
+        });
+    }
+
+    private void sendRequest(int method, String resourcePath, Map<String, String> headers,
+                             Map<String, List<String>> params, Object entity, Class<?> returnType,
+                             String secret, Span span, Listener<?> success, ErrorListener error) {
+        ParaRequest<?> request = signer.invokeSignedRequest(accessKey, secret,
                 method, getEndpoint(), getFullPath(resourcePath), headers, params,
-                entity, returnType, success, onError(error)));
+                entity, returnType, span, success, error);
+        ClientMetrics m = metrics;
+        if (m != null) {
+            request.setMetrics(m, ClientMetrics.getOperation(method, resourcePath));
+        }
+        getTransport().execute(request);
     }
 
     /**
@@ -364,9 +725,8 @@ public final class ParaClient {
      */
     public void invokeGet(String resourcePath, Map<String, List<String>> params, Class<?> returnType,
                            Listener<?> success, ErrorListener... error) {
-        getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(!JWT_PATH.equals(resourcePath)), GET,
-                getEndpoint(), getFullPath(resourcePath), null, params, null, returnType,
-                success, onError(error)));
+        execute(GET, resourcePath, null, params, null, returnType, !JWT_PATH.equals(resourcePath),
+                success, onError(error));
     }
 
     /**
@@ -379,9 +739,7 @@ public final class ParaClient {
      */
     public void invokePost(String resourcePath, Object entity, Class<?> returnType,
                             Listener<?> success, ErrorListener... error) {
-        getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(false), POST,
-                getEndpoint(), getFullPath(resourcePath), null, null, entity, returnType,
-                success, onError(error)));
+        execute(POST, resourcePath, null, null, entity, returnType, false, success, onError(error));
     }
 
     /**
@@ -394,9 +752,7 @@ public final class ParaClient {
      */
     public void invokePut(String resourcePath, Object entity, Class<?> returnType,
                            Listener<?> success, ErrorListener... error) {
-        getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(false), PUT,
-                getEndpoint(), getFullPath(resourcePath), null, null, entity, returnType,
-                success, onError(error)));
+        execute(PUT, resourcePath, null, null, entity, returnType, false, success, onError(error));
     }
 
     /**
@@ -409,9 +765,7 @@ public final class ParaClient {
      */
     public void invokePatch(String resourcePath, Object entity, Class<?> returnType,
                              Listener<?> success, ErrorListener... error) {
-        getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(false), PATCH,
-                getEndpoint(), getFullPath(resourcePath), null, null, entity, returnType,
-                success, onError(error)));
+        execute(PATCH, resourcePath, null, null, entity, returnType, false, success, onError(error));
     }
 
     /**
@@ -424,9 +778,7 @@ public final class ParaClient {
      */
     public void invokeDelete(String resourcePath, Map<String, List<String>> params, Class<?> returnType,
                               Listener<?> success, ErrorListener... error) {
-        getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(false), DELETE,
-                getEndpoint(), getFullPath(resourcePath), null, params, null, returnType,
-                success, onError(error)));
+        execute(DELETE, resourcePath, null, params, null, returnType, false, success, onError(error));
     }
 
     /**
@@ -556,6 +908,9 @@ public final class ParaClient {
             }
             return (List<P>) getItemsFromList((List<Map<String, Object>>) result.get(at));
         }
+        if (result == null) {
+            pageFailed(pager);
+        }
         return Collections.emptyList();
     }
 
@@ -563,6 +918,294 @@ public final class ParaClient {
         return getItems("items", result, pager);
     }
 
+    /**
+     * Returns the list of ParaObjects from a search response envelope and updates the {@link Pager}
+     * with the total number of hits and the last key.
+     * @param <P> type
+     * @param result the response body for an API request
+     * @param pager a {@link Pager} object
+     * @return a list of ParaObjects
+     */
+    public <P extends ParaObject> List<P> getItems(ItemsResponse result, Pager... pager) {
+        if (result == null) {
+            pageFailed(pager);
+            return Collections.emptyList();
+        }
+        if (pager != null && pager.length > 0) {
+            result.updatePager(pager[0]);
+        }
+        return (List<P>) (List<? extends ParaObject>) result.getItems();
+    }
+
+    /**
+     * Marks the page fetched by iterate() or stream() as failed, if there's no response for its pager.
+     */
+    private void pageFailed(Pager... pager) {
+        PageFetch fetch = pageFetch.get();
+        if (fetch != null && pager != null && pager.length > 0 && pager[0] == fetch.pager) {
+            fetch.failed = true;
+        }
+    }
+
+    private static final class PageFetch {
+        private final Pager pager;
+        private boolean failed;
+
+        private PageFetch(Pager pager) {
+            this.pager = pager;
+        }
+    }
+
+    private <P extends ParaObject> List<P> getItemsFromArray(Sysprop[] result) {
+        if (result == null || result.length == 0) {
+            return Collections.emptyList();
+        }
+        List<P> objects = new ArrayList<>(result.length);
+        for (Sysprop p : result) {
+            if (p != null) {
+                objects.add((P) p);
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * Returns an {@link Iterable} over all results of a paged query, e.g.
+     * {@code pc.iterate(p -> pc.findQuerySync("cat", "*", p))}. Pages are fetched lazily
+     * using the last key of the previous page and the next page is prefetched in the background.
+     * If a page request fails, {@code hasNext()} throws an {@link IllegalStateException} instead
+     * of ending the iteration early, even though the {@code *Sync} methods normally return an
+     * empty list on error. Abandoned iterators stop prefetching on their own.
+     * <b>Note:</b> pages are fetched synchronously, so don't iterate on the main thread.
+     * @param <P> type of object
+     * @param fetcher a function which fetches one page, e.g. {@code listSync}, {@code findQuerySync},
+     * {@code getLinkedObjectsSync} or {@code getChildrenSync}
+     * @param pager a {@link Pager} for the first page (optional)
+     * @return an iterable over all results, each iterator starts from the first page
+     */
+    public <P extends ParaObject> Iterable<P> iterate(final PagedIterator.PageFetcher<P> fetcher,
+            final Pager... pager) {
+        return () -> new PagedIterator<>(pageFetcher("iterate", fetcher), copyPager(pager), prefetchPages);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over all results of a paged query.
+     * Close the stream to stop prefetching if it isn't fully consumed.
+     * @see #iterate(PagedIterator.PageFetcher, Pager...)
+     * @param <P> type of object
+     * @param fetcher a function which fetches one page
+     * @param pager a {@link Pager} for the first page (optional)
+     * @return a stream of all results
+     */
+    public <P extends ParaObject> Stream<P> stream(PagedIterator.PageFetcher<P> fetcher, Pager... pager) {
+        PagedIterator<P> iterator = new PagedIterator<>(pageFetcher("stream", fetcher), copyPager(pager),
+                prefetchPages);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
+    }
+
+    /**
+     * @return the maximum number of pages fetched ahead when iterating over paged results
+     */
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Sets the maximum number of pages fetched ahead of the consumer when iterating over
+     * paged results. Higher values hide more latency at the cost of memory. Default is 1.
+     * @param prefetchPages number of pages
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        this.prefetchPages = Math.max(1, prefetchPages);
+    }
+
+    /**
+     * Wraps a page fetcher, so that a failed page request throws instead of silently ending the
+     * iteration. A page request has failed if it got no response for the pager of the page.
+     * Other requests made by the fetcher behave as usual. When tracing is enabled, the page requests are
+     * children of one span, which ends when the iteration stops.
+     */
+    private <P extends ParaObject> PagedIterator.PageFetcher<P> pageFetcher(String operation,
+            final PagedIterator.PageFetcher<P> fetcher) {
+        final Tracer t = tracer;
+        final Span parent = (t == null) ? null : t.startSpan(operation);
+        return new PagedIterator.PageFetcher<P>() {
+            private volatile VolleyError error;
+
+            public List<P> fetch(Pager pager) {
+                PageFetch fetch = new PageFetch(pager);
+                pageFetch.set(fetch);
+                List<P> page;
+                try {
+                    page = (parent == null) ? fetcher.fetch(pager) :
+                            t.callInScope(parent, () -> fetcher.fetch(pager));
+                } catch (RuntimeException e) {
+                    error = new VolleyError(e);
+                    throw e;
+                } finally {
+                    pageFetch.remove();
+                }
+                // a *Sync method returns an empty page on error, which isn't the end of the results
+                if (fetch.failed && (page == null || page.isEmpty())) {
+                    IllegalStateException e = new IllegalStateException("Failed to fetch page " +
+                            pager.getPage() + " of " + operation + "().");
+                    error = new VolleyError(e);
+                    throw e;
+                }
+                return page;
+            }
+
+            public void done() {
+                fetcher.done();
+                if (parent != null) {
+                    parent.end(error);
+                }
+            }
+        };
+    }
+
+    private Pager copyPager(Pager... pager) {
+        if (pager == null || pager.length == 0 || pager[0] == null) {
+            return null;
+        }
+        Pager p = pager[0];
+        Pager copy = new Pager(p.getPage(), p.getSortby(), p.isDesc(), p.getLimit());
+        copy.setLastKey(p.getLastKey());
+        copy.setName(p.getName());
+        copy.setSelect(p.getSelect());
+        return copy;
+    }
+
+    /**
+     * @return the object cache, or null if caching is disabled
+     */
+    public ObjectCache getObjectCache() {
+        return objectCache;
+    }
+
+    /**
+     * Enables caching of objects in memory. Reads by id are served from the cache and
+     * objects are cached or invalidated after they're read, created, updated or deleted.
+     * Caching is disabled by default. <b>Note:</b> objects read from the cache are the cached
+     * instances themselves, not copies, so they shouldn't be modified. Update them with a copy
+     * instead, or remove them from the cache first.
+     * @param objectCache an object cache, or null to disable caching
+     */
+    public void setObjectCache(ObjectCache objectCache) {
+        this.objectCache = objectCache;
+    }
+
+    private ParaObject getCached(String id) {
+        ObjectCache cache = objectCache;
+        return (cache == null) ? null : cache.get(accessKey, id);
+    }
+
+    private Map<String, ParaObject> getCached(List<String> ids) {
+        ObjectCache cache = objectCache;
+        if (cache == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, ParaObject> cached = new HashMap<String, ParaObject>();
+        for (String id : ids) {
+            ParaObject obj = cache.get(accessKey, id);
+            if (obj != null) {
+                cached.put(id, obj);
+            }
+        }
+        return cached;
+    }
+
+    private List<String> getMissingKeys(List<String> keys, Map<String, ParaObject> cached) {
+        List<String> misses = new ArrayList<String>(keys.size() - cached.size());
+        for (String key : keys) {
+            if (!cached.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * Merges cached and fetched objects in the order of the given ids.
+     */
+    private List<ParaObject> mergeCached(List<String> keys, Map<String, ParaObject> cached,
+                                         List<? extends ParaObject> fetched) {
+        Map<String, ParaObject> all = new HashMap<String, ParaObject>(cached);
+        if (fetched != null) {
+            for (ParaObject obj : fetched) {
+                if (obj != null) {
+                    all.put(obj.getId(), obj);
+                }
+            }
+        }
+        List<ParaObject> merged = new ArrayList<ParaObject>(all.size());
+        for (String key : keys) {
+            ParaObject obj = all.remove(key);
+            if (obj != null) {
+                merged.add(obj);
+            }
+        }
+        return merged;
+    }
+
+    private void evictCached(List<String> ids) {
+        ObjectCache cache = objectCache;
+        if (cache != null) {
+            cache.removeAll(accessKey, ids);
+        }
+    }
+
+    /**
+     * Evicts the deleted objects again when the delete succeeds, because a read which was in flight
+     * while the delete was sent could have cached them again.
+     */
+    private <T> Listener<T> evictingListener(final List<String> ids, final Listener<T> callback) {
+        if (objectCache == null) {
+            return callback;
+        }
+        return new Listener<T>() {
+            public void onResponse(T res) {
+                evictCached(ids);
+                if (callback != null) {
+                    callback.onResponse(res);
+                }
+            }
+        };
+    }
+
+    private Listener<?> cachingListener(final Listener<?> callback) {
+        if (objectCache == null) {
+            return callback;
+        }
+        return new Listener<Object>() {
+            public void onResponse(Object res) {
+                if (res instanceof ParaObject) {
+                    cacheResult((ParaObject) res);
+                }
+                if (callback != null) {
+                    ((Listener<Object>) callback).onResponse(res);
+                }
+            }
+        };
+    }
+
+    private <P extends ParaObject> P cacheResult(P obj) {
+        ObjectCache cache = objectCache;
+        if (cache != null && obj != null) {
+            cache.put(accessKey, obj);
+        }
+        return obj;
+    }
+
+    private <P extends ParaObject> List<P> cacheResults(List<P> objects) {
+        ObjectCache cache = objectCache;
+        if (cache != null) {
+            cache.putAll(accessKey, objects);
+        }
+        return objects;
+    }
+
     /////////////////////////////////////////////
     //				 PERSISTENCE
     /////////////////////////////////////////////
@@ -582,9 +1225,9 @@ public final class ParaClient {
             return;
         }
         if (StringUtils.isBlank(obj.getId()) || StringUtils.isBlank(obj.getType())) {
-            invokePost(ClientUtils.urlEncode(obj.getType()), obj, null, callback, error);
+            invokePost(ClientUtils.urlEncode(obj.getType()), obj, null, cachingListener(callback), error);
         } else {
-            invokePut(obj.getObjectURI(), obj, null, callback, error);
+            invokePut(obj.getObjectURI(), obj, null, cachingListener(callback), error);
         }
     }
 
@@ -601,9 +1244,9 @@ public final class ParaClient {
             return null;
         }
         if (StringUtils.isBlank(obj.getId()) || StringUtils.isBlank(obj.getType())) {
-            return invokeSyncPost(ClientUtils.urlEncode(obj.getType()), obj, null);
+            return cacheResult(invokeSyncPost(ClientUtils.urlEncode(obj.getType()), obj, null));
         } else {
-            return invokeSyncPut(obj.getObjectURI(), obj, null);
+            return cacheResult(invokeSyncPut(obj.getObjectURI(), obj, null));
         }
     }
 
@@ -621,8 +1264,13 @@ public final class ParaClient {
             fail(callback, null);
             return;
         }
+        ParaObject cached = getCached(id);
+        if (type.isInstance(cached)) {
+            fail(callback, cached);
+            return;
+        }
         invokeGet(ClientUtils.urlEncode(type.getSimpleName().toLowerCase()).concat("/").
-                        concat(ClientUtils.urlEncode(id)),null, type, callback, error);
+                        concat(ClientUtils.urlEncode(id)),null, type, cachingListener(callback), error);
     }
 
     /**
@@ -636,8 +1284,12 @@ public final class ParaClient {
         if (type == null || StringUtils.isBlank(id)) {
             return null;
         }
-        return invokeSyncGet(ClientUtils.urlEncode(type.getSimpleName().toLowerCase()).concat("/").
-                concat(ClientUtils.urlEncode(id)), null, type);
+        ParaObject cached = getCached(id);
+        if (type.isInstance(cached)) {
+            return (P) cached;
+        }
+        return cacheResult(invokeSyncGet(ClientUtils.urlEncode(type.getSimpleName().toLowerCase()).concat("/").
+                concat(ClientUtils.urlEncode(id)), null, type));
     }
 
     /**
@@ -652,7 +1304,12 @@ public final class ParaClient {
             fail(callback, null);
             return;
         }
-        invokeGet("_id/".concat(ClientUtils.urlEncode(id)), null, Sysprop.class, callback, error);
+        ParaObject cached = getCached(id);
+        if (cached != null) {
+            fail(callback, cached);
+            return;
+        }
+        invokeGet("_id/".concat(ClientUtils.urlEncode(id)), null, Sysprop.class, cachingListener(callback), error);
     }
 
     /**
@@ -665,7 +1322,11 @@ public final class ParaClient {
         if (StringUtils.isBlank(id)) {
             return null;
         }
-        return (P) invokeSyncGet("_id/".concat(ClientUtils.urlEncode(id)), null, Sysprop.class);
+        ParaObject cached = getCached(id);
+        if (cached != null) {
+            return (P) cached;
+        }
+        return (P) cacheResult(invokeSyncGet("_id/".concat(ClientUtils.urlEncode(id)), null, Sysprop.class));
     }
 
     /**
@@ -680,7 +1341,7 @@ public final class ParaClient {
             fail(callback, null);
             return;
         }
-        invokePatch(obj.getObjectURI(), obj, null, callback, error);
+        invokePatch(obj.getObjectURI(), obj, null, cachingListener(callback), error);
     }
 
     /**
@@ -693,7 +1354,7 @@ public final class ParaClient {
         if (obj == null) {
             return null;
         }
-        return invokeSyncPatch(obj.getObjectURI(), obj, null);
+        return cacheResult(invokeSyncPatch(obj.getObjectURI(), obj, null));
     }
 
     /**
@@ -708,7 +1369,9 @@ public final class ParaClient {
             fail(callback, null);
             return;
         }
-        invokeDelete(obj.getObjectURI(), null, obj.getClass(), callback, error);
+        List<String> ids = Collections.singletonList(obj.getId());
+        evictCached(ids);
+        invokeDelete(obj.getObjectURI(), null, obj.getClass(), evictingListener(ids, callback), error);
     }
 
     /**
@@ -720,7 +1383,10 @@ public final class ParaClient {
         if (obj == null) {
             return;
         }
+        List<String> ids = Collections.singletonList(obj.getId());
+        evictCached(ids);
         invokeSyncDelete(obj.getObjectURI(), null, obj.getClass());
+        evictCached(ids);
     }
 
     /**
@@ -735,9 +1401,9 @@ public final class ParaClient {
             fail(callback, Collections.emptyList());
             return;
         }
-        invokePost("_batch", objects, null, new Listener<List<Map<String, Object>>>() {
-            public void onResponse(List<Map<String, Object>> res) {
-                callback.onResponse(getItemsFromList(res));
+        invokePost("_batch", objects, Sysprop[].class, new Listener<Sysprop[]>() {
+            public void onResponse(Sysprop[] res) {
+                callback.onResponse(cacheResults(getItemsFromArray(res)));
             }
         }, error);
     }
@@ -752,7 +1418,7 @@ public final class ParaClient {
         if (objects == null || objects.isEmpty() || objects.get(0) == null) {
             return Collections.emptyList();
         }
-        return getItemsFromList(invokeSyncPost("_batch", objects, List.class));
+        return cacheResults(getItemsFromArray(invokeSyncPost("_batch", objects, Sysprop[].class)));
     }
 
     /**
@@ -761,17 +1427,37 @@ public final class ParaClient {
      * @param callback Listener called with response object
      * @param error ErrorListener called on error
      */
-    public void readAll(List<String> keys, final Listener<List<ParaObject>> callback,
+    public void readAll(final List<String> keys, final Listener<List<ParaObject>> callback,
                         ErrorListener... error) {
         if (keys == null || keys.isEmpty()) {
             fail(callback, Collections.emptyList());
             return;
         }
+        final Map<String, ParaObject> cached = getCached(keys);
+        final List<String> misses = cached.isEmpty() ? keys : getMissingKeys(keys, cached);
+        if (misses.isEmpty()) {
+            callback.onResponse(mergeCached(keys, cached, null));
+            return;
+        }
+        Listener<List<ParaObject>> merger = cached.isEmpty() ? callback : new Listener<List<ParaObject>>() {
+            public void onResponse(List<ParaObject> res) {
+                callback.onResponse(mergeCached(keys, cached, res));
+            }
+        };
+        if (misses.size() > batchChunkSize) {
+            executeChunked("readAll", misses, this::readChunk, merger, onError(error));
+            return;
+        }
+        readChunk(misses, merger, error);
+    }
+
+    private void readChunk(List<String> keys, final Listener<List<ParaObject>> callback,
+                           ErrorListener... error) {
         Map<String, List<String>> ids = new HashMap<String, List<String>>();
         ids.put("ids", keys);
-        invokeGet("_batch", ids, List.class, new Listener<List<Map<String, Object>>>() {
-            public void onResponse(List<Map<String, Object>> res) {
-                callback.onResponse(getItemsFromList(res));
+        invokeGet("_batch", ids, Sysprop[].class, new Listener<Sysprop[]>() {
+            public void onResponse(Sysprop[] res) {
+                callback.onResponse(cacheResults(getItemsFromArray(res)));
             }
         }, error);
     }
@@ -781,14 +1467,24 @@ public final class ParaClient {
      * @param <P> the type of object
      * @param keys a list of object ids
      * @return a list of objects
+     * @throws IllegalStateException if the ids are sent in chunks and some of them fail,
+     * with a {@link BatchChunker.BatchError} as the cause, which holds the results of the other chunks
      */
     public <P extends ParaObject> List<P> readAllSync(List<String> keys) {
         if (keys == null || keys.isEmpty()) {
             return Collections.emptyList();
         }
-        Map<String, List<String>> ids = new HashMap<String, List<String>>();
-        ids.put("ids", keys);
-        return getItemsFromList(invokeSyncGet("_batch", ids, List.class));
+        Map<String, ParaObject> cached = getCached(keys);
+        List<String> misses = cached.isEmpty() ? keys : getMissingKeys(keys, cached);
+        List<ParaObject> res = null;
+        if (misses.size() > batchChunkSize) {
+            res = this.<ParaObject>executeChunkedSync("readAll", misses, this::readChunk);
+        } else if (!misses.isEmpty()) {
+            Map<String, List<String>> ids = new HashMap<String, List<String>>();
+            ids.put("ids", misses);
+            res = cacheResults(getItemsFromArray(invokeSyncGet("_batch", ids, Sysprop[].class)));
+        }
+        return (List<P>) (cached.isEmpty() ? res : mergeCached(keys, cached, res));
     }
 
     /**
@@ -803,9 +1499,9 @@ public final class ParaClient {
             fail(callback, Collections.emptyList());
             return;
         }
-        invokePatch("_batch", objects, null, new Listener<List<Map<String, Object>>>() {
-            public void onResponse(List<Map<String, Object>> res) {
-                callback.onResponse(getItemsFromList(res));
+        invokePatch("_batch", objects, Sysprop[].class, new Listener<Sysprop[]>() {
+            public void onResponse(Sysprop[] res) {
+                callback.onResponse(cacheResults(getItemsFromArray(res)));
             }
         }, error);
     }
@@ -820,7 +1516,7 @@ public final class ParaClient {
         if (objects == null || objects.isEmpty()) {
             return Collections.emptyList();
         }
-        return getItemsFromList(invokeSyncPatch("_batch", objects, List.class));
+        return cacheResults(getItemsFromArray(invokeSyncPatch("_batch", objects, Sysprop[].class)));
     }
 
     /**
@@ -835,22 +1531,137 @@ public final class ParaClient {
             fail(callback, null);
             return;
         }
+        evictCached(keys);
+        if (keys.size() > batchChunkSize) {
+            executeChunked("deleteAll", keys, this::deleteChunk, evictingListener(keys, callback), onError(error));
+            return;
+        }
+        deleteChunk(keys, evictingListener(keys, callback), error);
+    }
+
+    private void deleteChunk(List<String> keys, final Listener<List<ParaObject>> callback,
+                             ErrorListener... error) {
         Map<String, List<String>> ids = new HashMap<String, List<String>>();
         ids.put("ids", keys);
-        invokeDelete("_batch", ids, Map.class, callback, error);
+        // the response isn't a list of objects, so the results of all chunks are empty
+        invokeDelete("_batch", ids, Map.class, new Listener<Map<String, Object>>() {
+            public void onResponse(Map<String, Object> res) {
+                if (callback != null) {
+                    callback.onResponse(Collections.emptyList());
+                }
+            }
+        }, error);
     }
 
     /**
      * Deletes multiple objects.
      * @param keys the ids of the objects to delete
+     * @throws IllegalStateException if the ids are sent in chunks and some of them fail,
+     * with a {@link BatchChunker.BatchError} as the cause
      */
     public void deleteAllSync(List<String> keys) {
         if (keys == null || keys.isEmpty()) {
             return;
         }
-        Map<String, List<String>> ids = new HashMap<String, List<String>>();
-        ids.put("ids", keys);
-        invokeSyncDelete("_batch", ids, null);
+        evictCached(keys);
+        if (keys.size() > batchChunkSize) {
+            executeChunkedSync("deleteAll", keys, this::deleteChunk);
+        } else {
+            Map<String, List<String>> ids = new HashMap<String, List<String>>();
+            ids.put("ids", keys);
+            invokeSyncDelete("_batch", ids, null);
+        }
+        evictCached(keys);
+    }
+
+    /**
+     * Executes a chunked batch operation. When tracing is enabled, the chunk requests
+     * are children of one span for the whole operation.
+     */
+    private <R> void executeChunked(String operation, List<String> keys, final BatchChunker.ChunkCall<String, R> call,
+                                    final Listener<List<R>> callback, final ErrorListener error) {
+        final Tracer t = tracer;
+        if (t == null) {
+            BatchChunker.execute(keys, batchChunkSize, batchParallelism, call, callback, error);
+            return;
+        }
+        final Span parent = t.startSpan(operation);
+        BatchChunker.execute(keys, batchChunkSize, batchParallelism, new BatchChunker.ChunkCall<String, R>() {
+            public void execute(List<String> chunk, Listener<List<R>> success, ErrorListener err) {
+                t.runInScope(parent, () -> call.execute(chunk, success, err));
+            }
+        }, new Listener<List<R>>() {
+            public void onResponse(List<R> res) {
+                parent.end(null);
+                callback.onResponse(res);
+            }
+        }, new ErrorListener() {
+            public void onErrorResponse(VolleyError err) {
+                parent.end(err);
+                error.onErrorResponse(err);
+            }
+        });
+    }
+
+    /**
+     * Executes a chunked batch operation and waits for all chunks to complete.
+     * Throws if any chunk fails, so that partial results aren't mistaken for complete ones -
+     * the {@link BatchChunker.BatchError} cause has the failed chunks and the other results.
+     */
+    private <R> List<R> executeChunkedSync(String operation, List<String> keys,
+                                           BatchChunker.ChunkCall<String, R> call) {
+        final CompletableFuture<List<R>> future = new CompletableFuture<>();
+        executeChunked(operation, keys, call, future::complete,
+                new ErrorListener() {
+                    public void onErrorResponse(VolleyError err) {
+                        future.completeExceptionally(err);
+                    }
+                });
+        int chunks = (keys.size() + batchChunkSize - 1) / batchChunkSize;
+        int rounds = (chunks + batchParallelism - 1) / batchParallelism;
+        try {
+            return future.get((long) requestTimeout * rounds, TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            Throwable cause = (ex.getCause() == null) ? ex : ex.getCause();
+            throw new IllegalStateException(operation + " failed: " + cause.getMessage(), cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(operation + " was interrupted.", ex);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException(operation + " timed out.", ex);
+        }
+    }
+
+    /**
+     * @return the max. number of ids sent in one batch request by {@code readAll()} and {@code deleteAll()}
+     */
+    public int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    /**
+     * Sets the max. number of ids sent in one batch request. Larger id lists passed to
+     * {@code readAll()} and {@code deleteAll()} are split into chunks which are executed concurrently.
+     * Default is 100.
+     * @param batchChunkSize number of ids per request
+     */
+    public void setBatchChunkSize(int batchChunkSize) {
+        this.batchChunkSize = Math.max(1, batchChunkSize);
+    }
+
+    /**
+     * @return the max. number of batch chunks in flight
+     */
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    /**
+     * Sets the max. number of batch chunks executed concurrently. Default is 4.
+     * @param batchParallelism number of concurrent requests
+     */
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = Math.max(1, batchParallelism);
     }
 
     /**
@@ -867,8 +1678,8 @@ public final class ParaClient {
             fail(callback, Collections.emptyList());
             return;
         }
-        invokeGet(ClientUtils.urlEncode(type), pagerToParams(pager), Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        invokeGet(ClientUtils.urlEncode(type), pagerToParams(pager), ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -886,7 +1697,7 @@ public final class ParaClient {
         if (StringUtils.isBlank(type)) {
             return Collections.emptyList();
         }
-        return getItems(invokeSyncGet(ClientUtils.urlEncode(type), pagerToParams(pager), Map.class), pager);
+        return getItems(invokeSyncGet(ClientUtils.urlEncode(type), pagerToParams(pager), ItemsResponse.class), pager);
     }
 
     /////////////////////////////////////////////
@@ -903,8 +1714,8 @@ public final class ParaClient {
                          ErrorListener... error) {
         Map<String, List<String>> params = new HashMap<String, List<String>>();
         params.put("id", getQueryParameters(id));
-        find("id", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("id", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 List<ParaObject> list = getItems(res);
                 callback.onResponse(list.isEmpty() ? null : list.get(0));
             }
@@ -935,8 +1746,8 @@ public final class ParaClient {
                           ErrorListener... error) {
         Map<String, List<String>> params = new HashMap<String, List<String>>();
         params.put("ids", ids);
-        find("ids", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("ids", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res));
             }
         }, error);
@@ -974,8 +1785,8 @@ public final class ParaClient {
         params.put("q", getQueryParameters(query));
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("nearby", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("nearby", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1020,8 +1831,8 @@ public final class ParaClient {
         params.put("prefix", getQueryParameters(prefix));
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("prefix", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("prefix", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1061,8 +1872,8 @@ public final class ParaClient {
         params.put("q", getQueryParameters(query));
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1101,8 +1912,8 @@ public final class ParaClient {
         params.put("field", getQueryParameters(field));
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("nested", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("nested", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1147,8 +1958,8 @@ public final class ParaClient {
         params.put("like", getQueryParameters(liketext));
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("similar", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("similar", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1191,8 +2002,8 @@ public final class ParaClient {
         params.put("tags", tags == null ? null : Arrays.asList(tags));
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("tagged", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("tagged", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1258,8 +2069,8 @@ public final class ParaClient {
         params.put("terms", terms);
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("in", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("in", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1315,8 +2126,8 @@ public final class ParaClient {
         }
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("terms", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("terms", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1371,8 +2182,8 @@ public final class ParaClient {
         params.put("q", getQueryParameters(wildcard));
         params.put("type", getQueryParameters(type));
         params.putAll(pagerToParams(pager));
-        find("wildcard", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("wildcard", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1408,8 +2219,8 @@ public final class ParaClient {
         Map<String, List<String>> params = new HashMap<String, List<String>>();
         params.put("type", getQueryParameters(type));
         final Pager pager = new Pager();
-        find("count", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("count", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 getItems(res, pager);
                 callback.onResponse(pager.getCount());
             }
@@ -1457,8 +2268,8 @@ public final class ParaClient {
         params.put("type", getQueryParameters(type));
         params.put("count", getQueryParameters("true"));
         final Pager pager = new Pager();
-        find("terms", params, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        find("terms", params, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 getItems(res, pager);
                 callback.onResponse(pager.getCount());
             }
@@ -1495,39 +2306,38 @@ public final class ParaClient {
     }
 
     private void find(String queryType, Map<String, List<String>> params,
-                      Listener<Map<String, Object>> callback, ErrorListener... error) {
-        Map<String, Object> map = new HashMap<String, Object>();
+                      Listener<ItemsResponse> callback, ErrorListener... error) {
         if (params != null && !params.isEmpty()) {
             String qType = StringUtils.isBlank(queryType) ? "/default" : "/".concat(queryType);
             List<String> type = params.get("type");
             if (type == null || type.isEmpty() || StringUtils.isBlank(type.get(0))) {
-                invokeGet("search".concat(qType), params, Map.class, callback, error);
+                invokeGet("search".concat(qType), params, ItemsResponse.class, callback, error);
             } else {
-                invokeGet(type.get(0) + "/search" + qType, params, Map.class, callback, error);
+                invokeGet(type.get(0) + "/search" + qType, params, ItemsResponse.class, callback, error);
             }
             return;
-        } else {
-            map.put("items", Collections.emptyList());
-            map.put("totalHits", 0);
         }
-        callback.onResponse(map);
+        callback.onResponse(emptyItemsResponse());
     }
 
-    private Map<String, Object> findSync(String queryType, Map<String, List<String>> params) {
-        Map<String, Object> map = new HashMap<String, Object>();
+    private ItemsResponse findSync(String queryType, Map<String, List<String>> params) {
         if (params != null && !params.isEmpty()) {
             String qType = StringUtils.isBlank(queryType) ? "/default" : "/".concat(queryType);
             List<String> type = params.get("type");
             if (type == null || type.isEmpty() || StringUtils.isBlank(type.get(0))) {
-                return invokeSyncGet("search".concat(qType), params, Map.class);
+                return invokeSyncGet("search".concat(qType), params, ItemsResponse.class);
             } else {
-                return invokeSyncGet(type.get(0) + "/search" + qType, params, Map.class);
+                return invokeSyncGet(type.get(0) + "/search" + qType, params, ItemsResponse.class);
             }
-        } else {
-            map.put("items", Collections.emptyList());
-            map.put("totalHits", 0);
         }
-        return map;
+        return emptyItemsResponse();
+    }
+
+    private ItemsResponse emptyItemsResponse() {
+        ItemsResponse res = new ItemsResponse();
+        res.setItems(Collections.emptyList());
+        res.setTotalHits(0L);
+        return res;
     }
 
     /////////////////////////////////////////////
@@ -1552,9 +2362,9 @@ public final class ParaClient {
         final Pager pager = new Pager();
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        invokeGet(url, params, Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> map) {
-                getItems(map, pager);
+        invokeGet(url, params, ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
+                getItems(res, pager);
                 callback.onResponse(pager.getCount());
             }
         }, error);
@@ -1575,7 +2385,7 @@ public final class ParaClient {
         Pager pager = new Pager();
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        getItems(invokeSyncGet(url, params, Map.class), pager);
+        getItems(invokeSyncGet(url, params, ItemsResponse.class), pager);
         return pager.getCount();
     }
 
@@ -1597,8 +2407,8 @@ public final class ParaClient {
         }
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        invokeGet(url, pagerToParams(pager), Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        invokeGet(url, pagerToParams(pager), ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1619,7 +2429,7 @@ public final class ParaClient {
         }
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        return getItems(invokeSyncGet(url, pagerToParams(pager), Map.class), pager);
+        return getItems(invokeSyncGet(url, pagerToParams(pager), ItemsResponse.class), pager);
     }
 
     /**
@@ -1645,8 +2455,8 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        invokeGet(url, params, Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        invokeGet(url, params, ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1674,7 +2484,7 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        return getItems(invokeSyncGet(url, params, Map.class), pager);
+        return getItems(invokeSyncGet(url, params, ItemsResponse.class), pager);
     }
 
     /**
@@ -1868,8 +2678,8 @@ public final class ParaClient {
         final Pager pager = new Pager();
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        invokeGet(url, params, Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        invokeGet(url, params, ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 getItems(res, pager);
                 callback.onResponse(pager.getCount());
             }
@@ -1892,7 +2702,7 @@ public final class ParaClient {
         Pager pager = new Pager();
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        getItems(invokeSyncGet(url, params, Map.class), pager);
+        getItems(invokeSyncGet(url, params, ItemsResponse.class), pager);
         return pager.getCount();
     }
 
@@ -1916,8 +2726,8 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        invokeGet(url, params, Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        invokeGet(url, params, ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1940,7 +2750,7 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        return getItems(invokeSyncGet(url, params, Map.class), pager);
+        return getItems(invokeSyncGet(url, params, ItemsResponse.class), pager);
     }
 
     /**
@@ -1967,8 +2777,8 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        invokeGet(url, params, Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        invokeGet(url, params, ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -1996,7 +2806,7 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        return getItems(invokeSyncGet(url, params, Map.class), pager);
+        return getItems(invokeSyncGet(url, params, ItemsResponse.class), pager);
     }
 
     /**
@@ -2022,8 +2832,8 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        invokeGet(url, params, Map.class, new Listener<Map<String, Object>>() {
-            public void onResponse(Map<String, Object> res) {
+        invokeGet(url, params, ItemsResponse.class, new Listener<ItemsResponse>() {
+            public void onResponse(ItemsResponse res) {
                 callback.onResponse(getItems(res, pager));
             }
         }, error);
@@ -2050,7 +2860,7 @@ public final class ParaClient {
         params.putAll(pagerToParams(pager));
         String url = ClientUtils.formatMessage("{0}/links/{1}", obj.getObjectURI(),
                 ClientUtils.urlEncode(type2));
-        return getItems(invokeSyncGet(url, params, Map.class), pager);
+        return getItems(invokeSyncGet(url, params, ItemsResponse.class), pager);
     }
 
     /**
@@ -2121,9 +2931,12 @@ public final class ParaClient {
      * @param error ErrorListener called on error
      */
     public void getTimestamp(final Listener<Long> callback, ErrorListener... error) {
+        final long start = System.currentTimeMillis();
         invokeGet("utils/timestamp", null, String.class, new Listener<String>() {
             public void onResponse(String res) {
-                callback.onResponse(res != null ? Long.decode(res) : 0L);
+                Long timestamp = res != null ? Long.decode(res) : 0L;
+                updateClockSkew(timestamp, start);
+                callback.onResponse(timestamp);
             }
         }, error);
     }
@@ -2133,10 +2946,20 @@ public final class ParaClient {
      * @return a long number
      */
     public long getTimestampSync() {
+        long start = System.currentTimeMillis();
         Long res = Long.decode(invokeSyncGet("utils/timestamp", null, String.class));
+        updateClockSkew(res, start);
         return res != null ? res : 0L;
     }
 
+    private void updateClockSkew(Long timestamp, long start) {
+        if (timestamp != null && timestamp > 0) {
+            // the server time is taken roughly halfway through the round trip
+            long now = System.currentTimeMillis();
+            signer.getClockSkew().update(timestamp, start + (now - start) / 2, (now - start) / 2);
+        }
+    }
+
     /**
      * Formats a date in a specific format.
      * @param format the date format
@@ -2371,9 +3194,7 @@ public final class ParaClient {
             String auth = accessToken.startsWith("Bearer") ? accessToken : "Bearer " + accessToken;
             Map<String, String> headers = new HashMap<String, String>();
             headers.put("Authorization", auth);
-            getRequestQueue().add(signer.invokeSignedRequest(accessKey, key(true), GET,
-                    getEndpoint(), getFullPath("_me"), headers, null, null, Sysprop.class,
-                    callback, onError(error)));
+            execute(GET, "_me", headers, null, null, Sysprop.class, true, callback, onError(error));
         } else {
             invokeGet("_me", null, Sysprop.class, callback, error);
         }
@@ -3109,38 +3930,14 @@ public final class ParaClient {
      * @param error ErrorListener called on error
      */
     protected void refreshToken(final Listener<Boolean> callback, final ErrorListener... error) {
-        long now = System.currentTimeMillis();
-        boolean notExpired = tokenKeyExpires != null && tokenKeyExpires > now;
-        boolean canRefresh = tokenKeyNextRefresh != null &&
-        (tokenKeyNextRefresh < now || tokenKeyNextRefresh > tokenKeyExpires);
-        // token present and NOT expired
-        if (tokenKey != null && notExpired && canRefresh) {
-            invokeGet(JWT_PATH, null, Map.class, new Listener<Map>() {
-                public void onResponse(Map result) {
-                    if (result != null && result.containsKey("user") && result.containsKey("jwt")) {
-                        Map<?, ?> jwtData = (Map<?, ?>) result.get("jwt");
-                        saveAccessToken(jwtData);
-                        if (callback != null) {
-                            callback.onResponse(true);
-                        }
-                    } else {
-                        clearAccessToken();
-                        if (callback != null) {
-                            callback.onResponse(false);
-                        }
-                    }
-                }
-            }, new ErrorListener() {
-                public void onErrorResponse(VolleyError volleyError) {
-                    clearAccessToken();
-                    onError(error);
-                }
-            });
-        } else {
-            if (callback != null) {
-                callback.onResponse(false);
+        tokenManager.refresh().whenComplete((refreshed, ex) -> {
+            if (ex != null) {
+                onError(error).onErrorResponse(ex instanceof VolleyError ?
+                        (VolleyError) ex : new VolleyError(ex));
+            } else if (callback != null) {
+                callback.onResponse(refreshed);
             }
-        }
+        });
     }
 
     /**
@@ -3149,24 +3946,41 @@ public final class ParaClient {
      * @return true if token was refreshed
      */
     protected boolean refreshTokenSync() {
-        long now = System.currentTimeMillis();
-        boolean notExpired = tokenKeyExpires != null && tokenKeyExpires > now;
-        boolean canRefresh = tokenKeyNextRefresh != null &&
-                (tokenKeyNextRefresh < now || tokenKeyNextRefresh > tokenKeyExpires);
-        // token present and NOT expired
-        if (tokenKey != null && notExpired && canRefresh) {
-            Map<String, Object> result = invokeSyncGet(JWT_PATH, null, Map.class);
-            if (result != null && result.containsKey("user") && result.containsKey("jwt")) {
-                Map<?, ?> jwtData = (Map<?, ?>) result.get("jwt");
-                saveAccessToken(jwtData);
-                return true;
-            } else {
-                clearAccessToken();
-            }
+        try {
+            return tokenManager.refresh().get(requestTimeout, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.error("Failed to refresh token: {}", e.getMessage());
         }
         return false;
     }
 
+    /**
+     * Makes the actual token refresh request. Only called by the {@link TokenManager},
+     * which ensures that there's only one such request in flight.
+     * @return a future which completes with true if the token was refreshed
+     */
+    private CompletableFuture<Boolean> requestTokenRefresh() {
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        invokeGet(JWT_PATH, null, Map.class, new Listener<Map>() {
+            public void onResponse(Map res) {
+                if (res != null && res.containsKey("user") && res.containsKey("jwt")) {
+                    Map<?, ?> jwtData = (Map<?, ?>) res.get("jwt");
+                    saveAccessToken(jwtData);
+                    result.complete(true);
+                } else {
+                    clearAccessToken();
+                    result.complete(false);
+                }
+            }
+        }, new ErrorListener() {
+            public void onErrorResponse(VolleyError volleyError) {
+                clearAccessToken();
+                result.completeExceptionally(volleyError);
+            }
+        });
+        return result;
+    }
+
     /**
      * Revokes all user tokens for a given user id.
      * This would be equivalent to "logout everywhere".
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import static com.android.volley.Response.*;
+import com.android.volley.VolleyError;
+import com.erudika.para.client.utils.BatchChunker;
+import com.erudika.para.core.ParaObject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces single-object reads into batch reads. Calls to {@code read(id)} made within
+ * a short time window are collected and their ids are deduplicated.
+ * They're then loaded with one {@code readAll()} call. Each listener receives the object
+ * with its id, or null if it wasn't found.
+ * <pre>
+ * ReadBatcher rb = new ReadBatcher(pc);
+ * for (String id : ids) {
+ *     rb.read(id, callback);
+ * }
+ * </pre>
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@SuppressWarnings("unchecked")
+public class ReadBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadBatcher.class);
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "para-read-batcher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final BatchChunker.ChunkCall<String, ParaObject> reader;
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private long windowMillis = 5;
+    private int maxBatchSize = 100;
+    private int timeout = NumberUtils.toInt(System.getProperty("para.client.timeout", "30"));
+
+    private Map<String, List<CompletableFuture<ParaObject>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * @param client a Para client
+     */
+    public ReadBatcher(final ParaClient client) {
+        this((ids, success, error) -> client.readAll(ids, success, error));
+        if (client == null) {
+            throw new IllegalArgumentException("ParaClient is required.");
+        }
+    }
+
+    /**
+     * @param reader reads a batch of objects by their ids
+     */
+    public ReadBatcher(BatchChunker.ChunkCall<String, ParaObject> reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Batch reader is required.");
+        }
+        this.reader = reader;
+    }
+
+    /**
+     * Sets the time window in which reads are collected. Default is 5ms.
+     * @param windowMillis milliseconds
+     */
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = Math.max(0, windowMillis);
+    }
+
+    /**
+     * Sets the max. number of distinct ids in one batch. Default is 100.
+     * @param maxBatchSize number of ids
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Sets the timeout for {@link #readSync(String)}. Default is the value of the
+     * {@code para.client.timeout} system property, or 30 seconds.
+     * @param timeout seconds
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = Math.max(1, timeout);
+    }
+
+    /**
+     * @return the number of reads received
+     */
+    public long getReadCount() {
+        return reads.get();
+    }
+
+    /**
+     * @return the number of batch requests sent
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Reads an object, in the next batch.
+     * @param id the id of the object
+     * @param callback Listener called with the object or null if not found
+     * @param error ErrorListener called on error
+     */
+    public void read(String id, final Listener<? extends ParaObject> callback, final ErrorListener... error) {
+        read(id).whenComplete((obj, ex) -> {
+            if (ex == null) {
+                if (callback != null) {
+                    ((Listener<ParaObject>) callback).onResponse(obj);
+                }
+            } else if (error != null && error.length > 0 && error[0] != null) {
+                error[0].onErrorResponse(ex instanceof VolleyError ? (VolleyError) ex : new VolleyError(ex));
+            }
+        });
+    }
+
+    /**
+     * Reads an object, in the next batch, and waits for the result.
+     * <b>Note:</b> don't call this on the main thread.
+     * @param <P> the type of object
+     * @param id the id of the object
+     * @return the object or null if not found
+     */
+    public <P extends ParaObject> P readSync(String id) {
+        try {
+            return (P) read(id).get(timeout, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.error("Failed to read object {}: {}", id, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Reads an object, in the next batch.
+     * @param id the id of the object
+     * @return a future which completes with the object or null if not found
+     */
+    public CompletableFuture<ParaObject> read(String id) {
+        CompletableFuture<ParaObject> future = new CompletableFuture<>();
+        if (StringUtils.isBlank(id)) {
+            future.complete(null);
+            return future;
+        }
+        reads.incrementAndGet();
+        boolean full;
+        synchronized (this) {
+            List<CompletableFuture<ParaObject>> waiting = pending.get(id);
+            if (waiting == null) {
+                waiting = new ArrayList<>(1);
+                pending.put(id, waiting);
+            }
+            waiting.add(future);
+            full = pending.size() >= maxBatchSize;
+            if (!full && scheduledFlush == null) {
+                scheduledFlush = SCHEDULER.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+        return future;
+    }
+
+    /**
+     * Sends all pending reads now.
+     */
+    public void flush() {
+        final Map<String, List<CompletableFuture<ParaObject>>> batch;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        requests.incrementAndGet();
+        ErrorListener error = new ErrorListener() {
+            public void onErrorResponse(VolleyError err) {
+                for (List<CompletableFuture<ParaObject>> waiting : batch.values()) {
+                    for (CompletableFuture<ParaObject> future : waiting) {
+                        future.completeExceptionally(err);
+                    }
+                }
+            }
+        };
+        try {
+            reader.execute(new ArrayList<>(batch.keySet()), new Listener<List<ParaObject>>() {
+                public void onResponse(List<ParaObject> res) {
+                    Map<String, ParaObject> found = new HashMap<>();
+                    if (res != null) {
+                        for (ParaObject obj : res) {
+                            if (obj != null) {
+                                found.put(obj.getId(), obj);
+                            }
+                        }
+                    }
+                    for (Map.Entry<String, List<CompletableFuture<ParaObject>>> entry : batch.entrySet()) {
+                        ParaObject obj = found.get(entry.getKey());
+                        for (CompletableFuture<ParaObject> future : entry.getValue()) {
+                            future.complete(obj);
+                        }
+                    }
+                }
+            }, error);
+        } catch (RuntimeException e) {
+            error.onErrorResponse(new VolleyError(e));
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import static com.android.volley.Response.*;
+import com.android.volley.VolleyError;
+import com.erudika.para.client.utils.BatchChunker;
+import com.erudika.para.core.ParaObject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An opt-in write-behind buffer which collects single-object writes for a short time window
+ * and sends them together, with one {@code _batch} request per type of write. Repeated writes to
+ * the same object are collapsed into one (the last object wins), then every caller's listener is
+ * called with the result for that object. A delete wins over earlier writes and later updates to the
+ * same object - a create with an id is an upsert, so the object may already exist and is still deleted.
+ * Objects without an id are never collapsed - they are created in the same batch and matched
+ * to the results by position, because the results of a {@code _batch} request are in input order.
+ * <pre>
+ * WriteBehindBuffer wb = new WriteBehindBuffer(pc);
+ * wb.update(obj, callback);
+ * </pre>
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class WriteBehindBuffer implements AutoCloseable {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "para-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private enum Op { CREATE, UPDATE, DELETE }
+
+    // prefix for the keys of new objects, which can't clash with the id of an object
+    private static final String NEW_OBJECT_KEY = "\u0000new:";
+
+    private final BatchChunker.ChunkCall<ParaObject, ParaObject> creator;
+    private final BatchChunker.ChunkCall<ParaObject, ParaObject> updater;
+    private final BatchChunker.ChunkCall<String, ParaObject> deleter;
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong newObjects = new AtomicLong();
+    private long windowMillis = 50;
+    private int maxSize = 100;
+
+    private Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * @param client a Para client
+     */
+    public WriteBehindBuffer(final ParaClient client) {
+        this((objects, success, error) -> client.createAll(objects, success, error),
+                (objects, success, error) -> client.updateAll(objects, success, error),
+                (ids, success, error) -> client.deleteAll(ids, success, error));
+        if (client == null) {
+            throw new IllegalArgumentException("ParaClient is required.");
+        }
+    }
+
+    /**
+     * @param creator sends a batch of objects to create
+     * @param updater sends a batch of objects to update
+     * @param deleter sends a batch of ids to delete
+     */
+    public WriteBehindBuffer(BatchChunker.ChunkCall<ParaObject, ParaObject> creator,
+            BatchChunker.ChunkCall<ParaObject, ParaObject> updater,
+            BatchChunker.ChunkCall<String, ParaObject> deleter) {
+        this.creator = creator;
+        this.updater = updater;
+        this.deleter = deleter;
+    }
+
+    /**
+     * Sets the time window in which writes are collected before they're sent. Default is 50ms.
+     * @param windowMillis milliseconds
+     */
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = Math.max(0, windowMillis);
+    }
+
+    /**
+     * Sets the max. number of pending objects. The buffer is flushed when it's full. Default is 100.
+     * @param maxSize number of objects
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * @return the number of writes received
+     */
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    /**
+     * @return the number of writes which were collapsed into a later write to the same object
+     */
+    public long getCollapsedCount() {
+        return collapsed.get();
+    }
+
+    /**
+     * @return the number of batch requests sent
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Creates an object, in the next batch.
+     * @param obj the domain object
+     * @param callback Listener called with the created object
+     * @param error ErrorListener called on error
+     */
+    public void create(ParaObject obj, Listener<? extends ParaObject> callback, ErrorListener... error) {
+        if (obj != null && StringUtils.isBlank(obj.getId())) {
+            add(Op.CREATE, NEW_OBJECT_KEY + newObjects.incrementAndGet(), obj, callback, error);
+            return;
+        }
+        add(Op.CREATE, obj == null ? null : obj.getId(), obj, callback, error);
+    }
+
+    /**
+     * Updates an object, in the next batch.
+     * @param obj the object to update
+     * @param callback Listener called with the updated object
+     * @param error ErrorListener called on error
+     */
+    public void update(ParaObject obj, Listener<? extends ParaObject> callback, ErrorListener... error) {
+        add(Op.UPDATE, obj == null ? null : obj.getId(), obj, callback, error);
+    }
+
+    /**
+     * Deletes an object, in the next batch.
+     * @param obj the object to delete
+     * @param callback Listener called with null when the object is deleted
+     * @param error ErrorListener called on error
+     */
+    public void delete(ParaObject obj, Listener<? extends ParaObject> callback, ErrorListener... error) {
+        add(Op.DELETE, obj == null ? null : obj.getId(), obj, callback, error);
+    }
+
+    /**
+     * Sends all pending writes now.
+     */
+    public void flush() {
+        Map<String, PendingWrite> writes;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            writes = pending;
+            pending = new LinkedHashMap<>();
+        }
+        Map<Op, Map<String, PendingWrite>> byOp = new HashMap<>();
+        for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+            Map<String, PendingWrite> group = byOp.get(entry.getValue().op);
+            if (group == null) {
+                group = new LinkedHashMap<>();
+                byOp.put(entry.getValue().op, group);
+            }
+            group.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Op, Map<String, PendingWrite>> group : byOp.entrySet()) {
+            send(group.getKey(), group.getValue());
+        }
+    }
+
+    /**
+     * Sends all pending writes.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void add(Op op, String key, ParaObject obj, Listener<? extends ParaObject> callback,
+            ErrorListener... error) {
+        if (obj == null || StringUtils.isBlank(key)) {
+            if (callback != null) {
+                callback.onResponse(null);
+            }
+            return;
+        }
+        writes.incrementAndGet();
+        boolean full;
+        synchronized (this) {
+            PendingWrite write = pending.get(key);
+            if (write == null) {
+                write = new PendingWrite(op, obj);
+                pending.put(key, write);
+            } else {
+                collapsed.incrementAndGet();
+                write.collapse(op, obj);
+            }
+            write.addListeners(callback, error);
+            full = pending.size() >= maxSize;
+            if (!full && scheduledFlush == null) {
+                scheduledFlush = SCHEDULER.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    private void send(Op op, final Map<String, PendingWrite> writes) {
+        batches.incrementAndGet();
+        Listener<List<ParaObject>> success = new Listener<List<ParaObject>>() {
+            public void onResponse(List<ParaObject> res) {
+                Map<String, ParaObject> results = new HashMap<>();
+                List<ParaObject> unmatched = new ArrayList<>();
+                if (res != null) {
+                    for (ParaObject obj : res) {
+                        if (obj != null && writes.containsKey(obj.getId())) {
+                            results.put(obj.getId(), obj);
+                        } else if (obj != null) {
+                            unmatched.add(obj);
+                        }
+                    }
+                }
+                int newCount = 0;
+                for (String key : writes.keySet()) {
+                    if (key.startsWith(NEW_OBJECT_KEY)) {
+                        newCount++;
+                    }
+                }
+                // new objects get their ids on the server - the results are in the same order as the
+                // objects sent, unless some of them were rejected, and then they can't be matched
+                boolean inOrder = unmatched.size() == newCount;
+                int position = 0;
+                for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+                    if (entry.getKey().startsWith(NEW_OBJECT_KEY)) {
+                        ParaObject result = inOrder ? unmatched.get(position) : null;
+                        position++;
+                        entry.getValue().complete(result);
+                    } else {
+                        entry.getValue().complete(results.get(entry.getKey()));
+                    }
+                }
+            }
+        };
+        ErrorListener error = new ErrorListener() {
+            public void onErrorResponse(VolleyError err) {
+                for (PendingWrite write : writes.values()) {
+                    write.fail(err);
+                }
+            }
+        };
+        try {
+            List<ParaObject> objects = new ArrayList<>(writes.size());
+            for (PendingWrite write : writes.values()) {
+                objects.add(write.obj);
+            }
+            if (op == Op.CREATE) {
+                creator.execute(objects, success, error);
+            } else if (op == Op.UPDATE) {
+                updater.execute(objects, success, error);
+            } else {
+                List<String> ids = new ArrayList<>(writes.keySet());
+                deleter.execute(ids, new Listener<List<ParaObject>>() {
+                    public void onResponse(List<ParaObject> res) {
+                        for (PendingWrite write : writes.values()) {
+                            write.complete(null);
+                        }
+                    }
+                }, error);
+            }
+        } catch (RuntimeException e) {
+            error.onErrorResponse(new VolleyError(e));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class PendingWrite {
+        private Op op;
+        private ParaObject obj;
+        private final List<Listener<ParaObject>> callbacks = new ArrayList<>(1);
+        private final List<ErrorListener> errorListeners = new ArrayList<>(1);
+
+        private PendingWrite(Op op, ParaObject obj) {
+            this.op = op;
+            this.obj = obj;
+        }
+
+        /**
+         * Merges a later write into this one.
+         */
+        private void collapse(Op next, ParaObject nextObj) {
+            if (next == Op.DELETE) {
+                op = Op.DELETE;
+            } else if (next == Op.CREATE) {
+                op = Op.CREATE;
+                obj = nextObj;
+            } else if (op == Op.CREATE || op == Op.UPDATE) {
+                // an update of an object which is not created yet is still a create,
+                // an update of a deleted object is dropped - the delete wins
+                obj = nextObj;
+            }
+        }
+
+        private void addListeners(Listener<? extends ParaObject> callback, ErrorListener... error) {
+            if (callback != null) {
+                callbacks.add((Listener<ParaObject>) callback);
+            }
+            if (error != null && error.length > 0 && error[0] != null) {
+                errorListeners.add(error[0]);
+            }
+        }
+
+        private void complete(ParaObject result) {
+            for (Listener<ParaObject> callback : callbacks) {
+                callback.onResponse(result);
+            }
+        }
+
+        private void fail(VolleyError err) {
+            for (ErrorListener errorListener : errorListeners) {
+                errorListener.onErrorResponse(err);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import static com.android.volley.Response.*;
+import com.android.volley.VolleyError;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Splits a large batch operation into chunks and executes them concurrently, with a cap on
+ * the number of chunks in flight. Results are merged in the order of the input items.
+ * If some chunks fail, the error listener receives a {@link BatchError} with the failed
+ * chunks and the results of the successful ones.
+ * @param <I> the type of input items, e.g. ids
+ * @param <R> the type of results
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class BatchChunker<I, R> {
+
+    /**
+     * Executes a single chunk.
+     * @param <I> the type of input items
+     * @param <R> the type of results
+     */
+    public interface ChunkCall<I, R> {
+        /**
+         * @param chunk a sublist of the input items
+         * @param success called with the results for this chunk
+         * @param error called on error
+         */
+        void execute(List<I> chunk, Listener<List<R>> success, ErrorListener error);
+    }
+
+    private final List<List<I>> chunks;
+    private final int parallelism;
+    private final ChunkCall<I, R> call;
+    private final Listener<List<R>> callback;
+    private final ErrorListener error;
+    private final AtomicReferenceArray<List<R>> results;
+    private final Map<Integer, VolleyError> failures = new TreeMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger remaining;
+
+    private BatchChunker(List<List<I>> chunks, int parallelism, ChunkCall<I, R> call,
+            Listener<List<R>> callback, ErrorListener error) {
+        this.chunks = chunks;
+        this.parallelism = parallelism;
+        this.call = call;
+        this.callback = callback;
+        this.error = error;
+        this.results = new AtomicReferenceArray<>(chunks.size());
+        this.remaining = new AtomicInteger(chunks.size());
+    }
+
+    /**
+     * Splits the items into chunks and executes them.
+     * @param <I> the type of input items
+     * @param <R> the type of results
+     * @param items the input items
+     * @param chunkSize max. number of items per chunk
+     * @param parallelism max. number of chunks in flight
+     * @param call executes a single chunk
+     * @param callback called with the merged results once all chunks have succeeded
+     * @param error called with a {@link BatchError} if at least one chunk has failed
+     */
+    public static <I, R> void execute(List<I> items, int chunkSize, int parallelism,
+            ChunkCall<I, R> call, Listener<List<R>> callback, ErrorListener error) {
+        List<List<I>> chunks = split(items, chunkSize);
+        if (chunks.isEmpty()) {
+            callback.onResponse(Collections.emptyList());
+            return;
+        }
+        new BatchChunker<>(chunks, Math.max(1, parallelism), call, callback, error).start();
+    }
+
+    /**
+     * Splits a list into consecutive sublists of at most {@code chunkSize} items.
+     * @param <T> the type of items
+     * @param items a list of items
+     * @param chunkSize max. number of items per chunk
+     * @return a list of chunks
+     */
+    public static <T> List<List<T>> split(List<T> items, int chunkSize) {
+        if (items == null || items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int size = Math.max(1, chunkSize);
+        List<List<T>> chunks = new ArrayList<>((items.size() + size - 1) / size);
+        for (int i = 0; i < items.size(); i += size) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + size)));
+        }
+        return chunks;
+    }
+
+    private void start() {
+        for (int i = 0; i < Math.min(parallelism, chunks.size()); i++) {
+            executeNext();
+        }
+    }
+
+    private void executeNext() {
+        final int index = next.getAndIncrement();
+        if (index >= chunks.size()) {
+            return;
+        }
+        try {
+            call.execute(chunks.get(index), new Listener<List<R>>() {
+                public void onResponse(List<R> res) {
+                    results.set(index, res);
+                    done();
+                }
+            }, new ErrorListener() {
+                public void onErrorResponse(VolleyError err) {
+                    failed(index, err);
+                }
+            });
+        } catch (RuntimeException e) {
+            failed(index, new VolleyError(e));
+        }
+    }
+
+    private void failed(int index, VolleyError err) {
+        synchronized (failures) {
+            failures.put(index, err);
+        }
+        done();
+    }
+
+    private void done() {
+        if (remaining.decrementAndGet() > 0) {
+            executeNext();
+            return;
+        }
+        List<R> merged = new ArrayList<>();
+        for (int i = 0; i < results.length(); i++) {
+            List<R> res = results.get(i);
+            if (res != null) {
+                merged.addAll(res);
+            }
+        }
+        synchronized (failures) {
+            if (failures.isEmpty()) {
+                callback.onResponse(merged);
+            } else if (error != null) {
+                Map<Integer, List<?>> failedChunks = new TreeMap<>();
+                for (Integer index : failures.keySet()) {
+                    failedChunks.put(index, chunks.get(index));
+                }
+                error.onErrorResponse(new BatchError(chunks.size(), failures, failedChunks, merged));
+            }
+        }
+    }
+
+    /**
+     * Reports the chunks of a batch operation which have failed.
+     */
+    public static class BatchError extends VolleyError {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int chunkCount;
+        private final Map<Integer, VolleyError> errors;
+        private final Map<Integer, List<?>> failedChunks;
+        private final List<?> results;
+
+        BatchError(int chunkCount, Map<Integer, VolleyError> errors, Map<Integer, List<?>> failedChunks,
+                List<?> results) {
+            super(errors.size() + " of " + chunkCount + " chunks failed",
+                    errors.values().iterator().next());
+            this.chunkCount = chunkCount;
+            this.errors = Collections.unmodifiableMap(new TreeMap<>(errors));
+            this.failedChunks = Collections.unmodifiableMap(failedChunks);
+            this.results = Collections.unmodifiableList(results);
+        }
+
+        /**
+         * @return the total number of chunks
+         */
+        public int getChunkCount() {
+            return chunkCount;
+        }
+
+        /**
+         * @return a map of chunk index to the error for that chunk
+         */
+        public Map<Integer, VolleyError> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return a map of chunk index to the input items of that chunk
+         */
+        public Map<Integer, List<?>> getFailedChunks() {
+            return failedChunks;
+        }
+
+        /**
+         * @param <T> the type of input items
+         * @return the input items of all failed chunks
+         */
+        @SuppressWarnings("unchecked")
+        public <T> List<T> getFailedItems() {
+            List<T> failed = new ArrayList<>();
+            for (List<?> chunk : failedChunks.values()) {
+                failed.addAll((List<T>) chunk);
+            }
+            return failed;
+        }
+
+        /**
+         * @param <T> the type of results
+         * @return the merged results of all successful chunks, in input order
+         */
+        @SuppressWarnings("unchecked")
+        public <T> List<T> getResults() {
+            return (List<T>) results;
+        }
+    }
+}
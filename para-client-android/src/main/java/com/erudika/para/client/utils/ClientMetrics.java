@@ -0,0 +1,584 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.Request;
+import com.android.volley.TimeoutError;
+import com.android.volley.VolleyError;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A registry of client-side metrics. For each logical operation, e.g. "read", "findQuery",
+ * "_batch" or "links", it records latency histograms per status class ("2xx", "4xx", "5xx",
+ * "timeout" or "error"), request and response sizes, retries, timeouts and the number of
+ * requests in flight. Recording is lock-free. Snapshots can be taken at any time and
+ * sent periodically to one or more {@link Exporter}s.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class ClientMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientMetrics.class);
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "para-metrics-export");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Map<String, String> SEARCH_OPERATIONS = new HashMap<>();
+
+    static {
+        SEARCH_OPERATIONS.put("default", "findQuery");
+        SEARCH_OPERATIONS.put("id", "findById");
+        SEARCH_OPERATIONS.put("ids", "findByIds");
+        SEARCH_OPERATIONS.put("nearby", "findNearby");
+        SEARCH_OPERATIONS.put("prefix", "findPrefix");
+        SEARCH_OPERATIONS.put("nested", "findNestedQuery");
+        SEARCH_OPERATIONS.put("similar", "findSimilar");
+        SEARCH_OPERATIONS.put("tagged", "findTagged");
+        SEARCH_OPERATIONS.put("in", "findTermInList");
+        SEARCH_OPERATIONS.put("terms", "findTerms");
+        SEARCH_OPERATIONS.put("wildcard", "findWildcard");
+        SEARCH_OPERATIONS.put("count", "getCount");
+    }
+
+    /**
+     * Receives metric snapshots, e.g. to send them to a monitoring service.
+     */
+    public interface Exporter {
+        /**
+         * @param snapshot the current metrics
+         */
+        void export(Snapshot snapshot);
+    }
+
+    /**
+     * Receives the network phase timings of each sampled request.
+     */
+    public interface PhaseListener {
+        /**
+         * @param operation the logical operation
+         * @param timings the duration of each network phase
+         */
+        void onPhaseTimings(String operation, PhaseTimings timings);
+    }
+
+    /**
+     * An exporter which writes snapshots to the log.
+     */
+    public static final Exporter LOG_EXPORTER = snapshot -> logger.info("{}", snapshot);
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final List<Exporter> exporters = new CopyOnWriteArrayList<>();
+    private final List<PhaseListener> phaseListeners = new CopyOnWriteArrayList<>();
+    private volatile double phaseTimingSampleRate = 1.0;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile ScheduledFuture<?> exportTask;
+
+    /**
+     * Records the start of a request.
+     * @param operation the logical operation, see {@link #getOperation(int, String)}
+     * @return the start time in nanoseconds, to be passed to
+     * {@link #requestFinished(String, long, VolleyError, long, long)}
+     */
+    public long requestStarted(String operation) {
+        inFlight.incrementAndGet();
+        get(operation).inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the end of a request.
+     * @param operation the logical operation
+     * @param startNanos the value returned by {@link #requestStarted(String)}
+     * @param error the error or null if the request was successful
+     * @param bytesSent the size of the request body
+     * @param bytesReceived the size of the response body
+     */
+    public void requestFinished(String operation, long startNanos, VolleyError error, long bytesSent,
+            long bytesReceived) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        OperationMetrics op = get(operation);
+        inFlight.decrementAndGet();
+        op.inFlight.decrementAndGet();
+        String statusClass = getStatusClass(error);
+        if ("timeout".equals(statusClass)) {
+            op.timeouts.increment();
+        }
+        op.requests.increment();
+        op.bytesSent.add(Math.max(0, bytesSent));
+        op.bytesReceived.add(Math.max(0, bytesReceived));
+        op.histogram(statusClass).record(micros);
+    }
+
+    /**
+     * Records a retried request.
+     * @param operation the logical operation
+     */
+    public void requestRetried(String operation) {
+        get(operation).retries.increment();
+    }
+
+    /**
+     * Records the network phases of a request: DNS, connect, TLS, time to first byte and body read.
+     * Only requests sent with {@link OkHttp3Stack} or {@link OkHttpTransport} using an
+     * {@link OkHttpClientProvider} client, or a client with {@link PhaseTimingListener#FACTORY}, are timed.
+     * @param operation the logical operation
+     * @param timings the duration of each phase
+     */
+    public void recordPhaseTimings(String operation, PhaseTimings timings) {
+        if (timings == null) {
+            return;
+        }
+        OperationMetrics op = get(operation);
+        op.phaseSamples.increment();
+        if (timings.isConnectionReused()) {
+            op.connectionsReused.increment();
+        }
+        op.recordPhase("dns", timings.getDns());
+        op.recordPhase("connect", timings.getConnect());
+        op.recordPhase("tls", timings.getTls());
+        op.recordPhase("ttfb", timings.getTimeToFirstByte());
+        op.recordPhase("body", timings.getBodyRead());
+        for (PhaseListener listener : phaseListeners) {
+            try {
+                listener.onPhaseTimings(operation, timings);
+            } catch (Exception e) {
+                logger.warn("Phase timing listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the fraction of requests whose network phases are timed
+     */
+    public double getPhaseTimingSampleRate() {
+        return phaseTimingSampleRate;
+    }
+
+    /**
+     * Sets the fraction of requests whose network phases are timed. Requests which are not
+     * sampled share a single event listener, so a low rate keeps the overhead negligible at high
+     * request rates.
+     * @param sampleRate a value between 0 (disabled) and 1 (all requests, default)
+     */
+    public void setPhaseTimingSampleRate(double sampleRate) {
+        this.phaseTimingSampleRate = Math.min(1, Math.max(0, sampleRate));
+    }
+
+    /**
+     * @return true if the network phases of the next request should be timed
+     */
+    boolean samplePhaseTiming() {
+        double rate = phaseTimingSampleRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * @param listener receives the network phase timings of each sampled request
+     */
+    public void addPhaseListener(PhaseListener listener) {
+        if (listener != null) {
+            phaseListeners.add(listener);
+        }
+    }
+
+    /**
+     * @param listener a phase listener
+     */
+    public void removePhaseListener(PhaseListener listener) {
+        phaseListeners.remove(listener);
+    }
+
+    /**
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return a point-in-time copy of all metrics
+     */
+    public Snapshot snapshot() {
+        Map<String, OperationSnapshot> ops = new TreeMap<>();
+        for (Map.Entry<String, OperationMetrics> entry : operations.entrySet()) {
+            ops.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return new Snapshot(System.currentTimeMillis(), inFlight.get(), ops);
+    }
+
+    /**
+     * Clears all recorded metrics, except the requests in flight.
+     */
+    public void reset() {
+        for (OperationMetrics op : operations.values()) {
+            op.reset();
+        }
+    }
+
+    /**
+     * @param exporter an exporter
+     */
+    public void addExporter(Exporter exporter) {
+        if (exporter != null) {
+            exporters.add(exporter);
+        }
+    }
+
+    /**
+     * @param exporter an exporter
+     */
+    public void removeExporter(Exporter exporter) {
+        exporters.remove(exporter);
+    }
+
+    /**
+     * Takes a snapshot and sends it to all exporters.
+     */
+    public void export() {
+        if (exporters.isEmpty()) {
+            return;
+        }
+        Snapshot snapshot = snapshot();
+        for (Exporter exporter : exporters) {
+            try {
+                exporter.export(snapshot);
+            } catch (Exception e) {
+                logger.warn("Metrics exporter failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Exports snapshots periodically on a background thread.
+     * @param period the time between exports, a value &lt;= 0 stops exporting
+     * @param unit time unit
+     */
+    public synchronized void setExportInterval(long period, TimeUnit unit) {
+        if (exportTask != null) {
+            exportTask.cancel(false);
+            exportTask = null;
+        }
+        if (period > 0) {
+            exportTask = SCHEDULER.scheduleAtFixedRate(this::export, period, period, unit);
+        }
+    }
+
+    /**
+     * Returns the logical operation of a request, used to group metrics:
+     * "create", "read", "update", "delete" and "list" for objects, the name of the search method
+     * for searches, e.g. "findQuery" or "getCount", "links" for link queries, and the call type
+     * for other endpoints, e.g. "_batch", "_types" or "utils/timestamp".
+     * @param method the HTTP method, see {@link Request.Method}
+     * @param resourcePath the subpath after '/v1/'
+     * @return an operation name
+     */
+    public static String getOperation(int method, String resourcePath) {
+        String callType = RequestCoalescer.getCallType(resourcePath);
+        if (callType.startsWith("search/")) {
+            String op = SEARCH_OPERATIONS.get(callType.substring(7));
+            return op == null ? callType : op;
+        }
+        if ("_id".equals(callType)) {
+            return "read";
+        }
+        if (StringUtils.contains(resourcePath, "jwt_auth")) {
+            return "jwt_auth";
+        }
+        if (!"objects".equals(callType)) {
+            return callType;
+        }
+        int segments = StringUtils.split(resourcePath, '/').length;
+        switch (method) {
+            case Request.Method.GET: return segments > 1 ? "read" : "list";
+            case Request.Method.POST: return "create";
+            case Request.Method.PUT: return segments > 1 ? "create" : "update";
+            case Request.Method.PATCH: return "update";
+            case Request.Method.DELETE: return "delete";
+            default: return callType;
+        }
+    }
+
+    /**
+     * @param error an error or null
+     * @return "2xx" if successful, the status class of the error response, "timeout" or "error"
+     */
+    public static String getStatusClass(VolleyError error) {
+        if (error == null) {
+            return "2xx";
+        }
+        if (error instanceof TimeoutError) {
+            return "timeout";
+        }
+        if (error.networkResponse != null && error.networkResponse.statusCode >= 100) {
+            return (error.networkResponse.statusCode / 100) + "xx";
+        }
+        return "error";
+    }
+
+    private OperationMetrics get(String operation) {
+        OperationMetrics op = operations.get(operation);
+        return (op != null) ? op : operations.computeIfAbsent(operation, k -> new OperationMetrics());
+    }
+
+    private static final class OperationMetrics {
+        private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+        private final Map<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder phaseSamples = new LongAdder();
+        private final LongAdder connectionsReused = new LongAdder();
+
+        LatencyHistogram histogram(String statusClass) {
+            return histogram(latencies, statusClass);
+        }
+
+        void recordPhase(String phase, long micros) {
+            if (micros >= 0) {
+                histogram(phases, phase).record(micros);
+            }
+        }
+
+        OperationSnapshot snapshot(String name) {
+            return new OperationSnapshot(name, inFlight.get(), requests.sum(), retries.sum(), timeouts.sum(),
+                    bytesSent.sum(), bytesReceived.sum(), snapshot(latencies), phaseSamples.sum(),
+                    connectionsReused.sum(), snapshot(phases));
+        }
+
+        void reset() {
+            for (LatencyHistogram h : latencies.values()) {
+                h.reset();
+            }
+            for (LatencyHistogram h : phases.values()) {
+                h.reset();
+            }
+            phaseSamples.reset();
+            connectionsReused.reset();
+            requests.reset();
+            retries.reset();
+            timeouts.reset();
+            bytesSent.reset();
+            bytesReceived.reset();
+        }
+
+        private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String key) {
+            LatencyHistogram h = histograms.get(key);
+            return (h != null) ? h : histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+
+        private static Map<String, LatencyHistogram.Snapshot> snapshot(Map<String, LatencyHistogram> histograms) {
+            Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+            for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+                snapshots.put(entry.getKey(), entry.getValue().snapshot());
+            }
+            return snapshots;
+        }
+    }
+
+    /**
+     * All metrics at a point in time.
+     */
+    public static final class Snapshot {
+        private final long timestamp;
+        private final int inFlight;
+        private final Map<String, OperationSnapshot> operations;
+
+        Snapshot(long timestamp, int inFlight, Map<String, OperationSnapshot> operations) {
+            this.timestamp = timestamp;
+            this.inFlight = inFlight;
+            this.operations = Collections.unmodifiableMap(operations);
+        }
+
+        /**
+         * @return the time of the snapshot
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return the number of requests in flight
+         */
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * @return the metrics of each operation, by operation name
+         */
+        public Map<String, OperationSnapshot> getOperations() {
+            return operations;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("inFlight=").append(inFlight);
+            for (OperationSnapshot op : operations.values()) {
+                sb.append('\n').append(op);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * The metrics of a logical operation at a point in time.
+     */
+    public static final class OperationSnapshot {
+        private final String name;
+        private final int inFlight;
+        private final long requests;
+        private final long retries;
+        private final long timeouts;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final Map<String, LatencyHistogram.Snapshot> latencies;
+        private final long phaseSamples;
+        private final long connectionsReused;
+        private final Map<String, LatencyHistogram.Snapshot> phases;
+
+        OperationSnapshot(String name, int inFlight, long requests, long retries, long timeouts, long bytesSent,
+                long bytesReceived, Map<String, LatencyHistogram.Snapshot> latencies, long phaseSamples,
+                long connectionsReused, Map<String, LatencyHistogram.Snapshot> phases) {
+            this.name = name;
+            this.inFlight = inFlight;
+            this.requests = requests;
+            this.retries = retries;
+            this.timeouts = timeouts;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+            this.latencies = Collections.unmodifiableMap(latencies);
+            this.phaseSamples = phaseSamples;
+            this.connectionsReused = connectionsReused;
+            this.phases = Collections.unmodifiableMap(phases);
+        }
+
+        /**
+         * @return the operation name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the number of requests in flight
+         */
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * @return the number of completed requests
+         */
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return the number of retried requests
+         */
+        public long getRetries() {
+            return retries;
+        }
+
+        /**
+         * @return the number of requests which timed out
+         */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * @return the total size of request bodies in bytes
+         */
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        /**
+         * @return the total size of response bodies in bytes
+         */
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        /**
+         * @return latency statistics by status class, e.g. "2xx" or "timeout"
+         */
+        public Map<String, LatencyHistogram.Snapshot> getLatencies() {
+            return latencies;
+        }
+
+        /**
+         * @return the number of requests whose network phases were timed
+         */
+        public long getPhaseSamples() {
+            return phaseSamples;
+        }
+
+        /**
+         * @return the number of timed requests which reused a pooled connection
+         */
+        public long getConnectionsReused() {
+            return connectionsReused;
+        }
+
+        /**
+         * @return network phase statistics by phase: "dns", "connect", "tls", "ttfb" and "body"
+         */
+        public Map<String, LatencyHistogram.Snapshot> getPhases() {
+            return phases;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(name).append(": requests=").append(requests).
+                    append(" inFlight=").append(inFlight).append(" retries=").append(retries).
+                    append(" timeouts=").append(timeouts).append(" sent=").append(bytesSent).
+                    append("B received=").append(bytesReceived).append('B');
+            for (Map.Entry<String, LatencyHistogram.Snapshot> entry : latencies.entrySet()) {
+                sb.append("\n  ").append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+            if (phaseSamples > 0) {
+                sb.append("\n  phases: samples=").append(phaseSamples).append(" reused=").append(connectionsReused);
+            }
+            for (Map.Entry<String, LatencyHistogram.Snapshot> entry : phases.entrySet()) {
+                sb.append("\n  ").append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -29,7 +29,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.apache.commons.lang3.StringUtils;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -56,7 +58,12 @@ public final class ClientUtils {
     public static final String ALLOW_ALL = "*";
     public static final String GUEST = "?";
     private static final String PREFS_FILE = "ParaClientPrefs";
+    /**
+     * The media type for CBOR (binary JSON).
+     */
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
     private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private static final CBORMapper cborMapper = new CBORMapper();
 
     static {
         jsonMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
@@ -64,6 +71,11 @@ public final class ClientUtils {
         jsonMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
         jsonMapper.enable(SerializationFeature.INDENT_OUTPUT);
         jsonMapper.setSerializationInclusion(JsonInclude.Include.USE_DEFAULTS);
+
+        cborMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        cborMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        cborMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        cborMapper.setSerializationInclusion(JsonInclude.Include.USE_DEFAULTS);
     }
 
     private ClientUtils() { }
@@ -105,6 +117,73 @@ public final class ClientUtils {
         return jsonMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
     }
 
+    /**
+     * Computes the size of an object serialized as JSON, without buffering it in memory.
+     *
+     * @param obj an object
+     * @return the size in bytes, or 0 if the object can't be serialized
+     */
+    public static long serializedSize(Object obj) {
+        return serializedSize(obj, false);
+    }
+
+    /**
+     * Computes the size of an object serialized as JSON or CBOR, without buffering it in memory.
+     *
+     * @param obj an object
+     * @param cbor true to measure the CBOR encoding
+     * @return the size in bytes, or 0 if the object can't be serialized
+     */
+    public static long serializedSize(Object obj, boolean cbor) {
+        if (obj == null) {
+            return 0;
+        }
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            (cbor ? getCborWriter() : getJsonWriterNoIdent()).writeValue(out, obj);
+        } catch (Exception e) {
+            return 0;
+        }
+        return out.count;
+    }
+
+    /**
+     * A Jackson {@code ObjectMapper} for the CBOR binary format.
+     *
+     * @return CBOR object mapper
+     */
+    public static ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    /**
+     * A Jackson CBOR reader.
+     *
+     * @param type the type to read
+     * @return CBOR object reader
+     */
+    public static ObjectReader getCborReader(Class<?> type) {
+        return cborMapper.readerFor(type);
+    }
+
+    /**
+     * A Jackson CBOR writer.
+     *
+     * @return CBOR object writer
+     */
+    public static ObjectWriter getCborWriter() {
+        return cborMapper.writer();
+    }
+
+    /**
+     * Checks if a content type header denotes a CBOR payload.
+     * @param contentType the value of a Content-Type header
+     * @return true if CBOR
+     */
+    public static boolean isCborContentType(String contentType) {
+        return StringUtils.startsWithIgnoreCase(StringUtils.trimToEmpty(contentType), CBOR_MEDIA_TYPE);
+    }
+
     /**
      * Strips all symbols, punctuation, whitespace and control chars from a string.
      * @param str a dirty string
@@ -281,6 +360,27 @@ public final class ClientUtils {
         }
     }
 
+    /**
+     * Saves several preferences in one atomic, asynchronous write.
+     * Null values remove the corresponding keys.
+     * @param values a map of keys and values
+     * @param ctx context
+     */
+    public static void savePrefs(Map<String, String> values, Context ctx) {
+        if (ctx != null && values != null) {
+            SharedPreferences prefs = ctx.getSharedPreferences(PREFS_FILE, Context.MODE_PRIVATE);
+            SharedPreferences.Editor editor = prefs.edit();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (entry.getValue() != null) {
+                    editor.putString(entry.getKey(), entry.getValue());
+                } else {
+                    editor.remove(entry.getKey());
+                }
+            }
+            editor.apply();
+        }
+    }
+
     public static String loadPref(String key, Context ctx) {
         if (ctx != null) {
             SharedPreferences prefs = ctx.getSharedPreferences(PREFS_FILE, Context.MODE_PRIVATE);
@@ -295,4 +395,18 @@ public final class ClientUtils {
             prefs.edit().remove(key).commit();
         }
     }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.VolleyError;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the offset between the local clock and the server clock, so that requests are signed
+ * with the server time even if the device clock is wrong. The offset is measured passively
+ * from the {@code Date} header of responses, or precisely from the server timestamp.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class ClockSkew {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClockSkew.class);
+
+    /**
+     * The {@code Date} header has a precision of one second and arrives after some network delay,
+     * so smaller differences are ignored.
+     */
+    private static final long DATE_HEADER_PRECISION = 2000;
+    /**
+     * Signatures are valid for several minutes, so rejected requests are retried only if
+     * they were signed with a larger error than this.
+     */
+    private static final long RETRY_THRESHOLD = 60000;
+
+    private volatile long offset;
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * @return the server time minus the local time, in milliseconds
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @param offset the server time minus the local time, in milliseconds
+     */
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return the current server time, estimated from the local clock
+     */
+    public long now() {
+        return System.currentTimeMillis() + offset;
+    }
+
+    /**
+     * @return the number of times the offset was changed by a response
+     */
+    public long getUpdateCount() {
+        return updates.get();
+    }
+
+    /**
+     * @return the number of requests which were retried because of a clock skew
+     */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * Updates the offset from a server timestamp.
+     * @param serverTime the server time
+     * @param localTime the local time when the server time was taken
+     * @param precision the offset is changed only if it differs from the current one by more than this
+     * @return true if the offset was changed
+     */
+    public boolean update(long serverTime, long localTime, long precision) {
+        return apply(serverTime - localTime, precision);
+    }
+
+    /**
+     * Updates the offset from the {@code Date} header of a response.
+     * @param headers response headers
+     * @return true if the offset was changed
+     */
+    public boolean update(Map<String, String> headers) {
+        Long measured = measure(headers);
+        return measured != null && apply(measured, DATE_HEADER_PRECISION);
+    }
+
+    /**
+     * Checks if a request was rejected because it was signed with a skewed time. This is the case
+     * when the server responds with 400, 401 or 403 and its {@code Date} header shows an offset
+     * which differs by more than a minute from the one used for signing. The offset is updated
+     * so the request can be signed again and retried.
+     * @param error an error
+     * @param signedOffset the offset used when the request was signed
+     * @return true if the request should be retried
+     */
+    public boolean isSkewError(VolleyError error, long signedOffset) {
+        NetworkResponse response = (error == null) ? null : error.networkResponse;
+        if (response == null || (response.statusCode != 400 && response.statusCode != 401 &&
+                response.statusCode != 403)) {
+            return false;
+        }
+        Long measured = measure(response.headers);
+        if (measured == null || Math.abs(measured - signedOffset) <= RETRY_THRESHOLD) {
+            return false;
+        }
+        apply(measured, DATE_HEADER_PRECISION);
+        retries.incrementAndGet();
+        return true;
+    }
+
+    private boolean apply(long measured, long precision) {
+        long current = offset;
+        if (Math.abs(measured - current) <= precision) {
+            return false;
+        }
+        offset = measured;
+        updates.incrementAndGet();
+        if (Math.abs(measured) > DATE_HEADER_PRECISION) {
+            logger.debug("Local clock is off by {}ms, adjusting request time.", -measured);
+        }
+        return true;
+    }
+
+    private static Long measure(Map<String, String> headers) {
+        String date = (headers == null) ? null : headers.get("Date");
+        if (StringUtils.isBlank(date)) {
+            return null;
+        }
+        try {
+            long serverTime = ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).
+                    toInstant().toEpochMilli();
+            // the header is truncated to the second
+            return serverTime + 500 - System.currentTimeMillis();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
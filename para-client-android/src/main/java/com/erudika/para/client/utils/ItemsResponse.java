@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.erudika.para.core.Sysprop;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The response envelope returned by search, list and links API calls, e.g.
+ * {@code {"items": [...], "totalHits": 123, "lastKey": "..."}}.
+ * The items are deserialized directly from the JSON token stream into {@link Sysprop}
+ * objects, without going through an intermediate {@code Map}.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ItemsResponse {
+
+    private List<Sysprop> items;
+    private Long totalHits;
+    private String lastKey;
+
+    /**
+     * No-args constructor.
+     */
+    public ItemsResponse() {
+    }
+
+    /**
+     * @return the list of items, never null
+     */
+    public List<Sysprop> getItems() {
+        if (items == null) {
+            items = Collections.emptyList();
+        }
+        return items;
+    }
+
+    /**
+     * @param items the list of items
+     */
+    public void setItems(List<Sysprop> items) {
+        this.items = items;
+    }
+
+    /**
+     * @return the total number of results found, or null if not present in the response
+     */
+    public Long getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * @param totalHits the total number of results found
+     */
+    public void setTotalHits(Long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    /**
+     * @return the last key, used for pagination
+     */
+    public String getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * @param lastKey the last key, used for pagination
+     */
+    public void setLastKey(String lastKey) {
+        this.lastKey = lastKey;
+    }
+
+    /**
+     * Copies the total hits and the last key to a {@link Pager}.
+     * @param pager a pager, could be null
+     */
+    public void updatePager(Pager pager) {
+        if (pager != null) {
+            if (totalHits != null) {
+                pager.setCount(totalHits);
+            }
+            if (lastKey != null) {
+                pager.setLastKey(lastKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets: each power of two is split into
+ * 16 buckets, so percentiles are accurate to about 6%. Values are recorded in microseconds,
+ * up to about 12 days. Recording is a few atomic increments and never blocks.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.
+     * @param micros a latency in microseconds
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        buckets.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) {
+            // retry
+        }
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the highest recorded value in microseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values in microseconds
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Returns an estimate of a percentile, the upper bound of the bucket which contains it.
+     * @param percentile a percentile between 0 and 100, e.g. 99.9
+     * @return the value in microseconds
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * @return a point-in-time copy of the main statistics
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(getCount(), getMean(), getMax(), getPercentile(50), getPercentile(95),
+                getPercentile(99));
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min((exponent - SUB_BITS + 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        return (1L << exponent) | ((long) (index % SUB_BUCKETS) << (exponent - SUB_BITS));
+    }
+
+    static long upperBound(int index) {
+        return (index + 1 < BUCKETS) ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Statistics of a histogram at a point in time. Latencies are in milliseconds.
+     */
+    public static final class Snapshot {
+        private final long count;
+        private final double mean;
+        private final double max;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+
+        Snapshot(long count, double meanMicros, long maxMicros, long p50Micros, long p95Micros, long p99Micros) {
+            this.count = count;
+            this.mean = meanMicros / 1000.0;
+            this.max = maxMicros / 1000.0;
+            this.p50 = p50Micros / 1000.0;
+            this.p95 = p95Micros / 1000.0;
+            this.p99 = p99Micros / 1000.0;
+        }
+
+        /**
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the mean latency
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * @return the highest latency
+         */
+        public double getMax() {
+            return max;
+        }
+
+        /**
+         * @return the median latency
+         */
+        public double getP50() {
+            return p50;
+        }
+
+        /**
+         * @return the 95th percentile latency
+         */
+        public double getP95() {
+            return p95;
+        }
+
+        /**
+         * @return the 99th percentile latency
+         */
+        public double getP99() {
+            return p99;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "count=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    count, mean, p50, p95, p99, max);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded in-memory cache for objects, keyed by {@code appid/type/id}, with a secondary
+ * index on {@code appid/id} for reads by id only. The cache is limited by number of objects and
+ * by estimated size in bytes, and entries expire after a TTL, which can be set per type.
+ * Reads are lock-free. When the cache is full, the least recently used entries are evicted.
+ * <b>Note:</b> cached objects are shared, so they shouldn't be modified.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@SuppressWarnings("unchecked")
+public class ObjectCache {
+
+    private static final String SEPARATOR = "/";
+    // the JSON field names and values of an object without any strings, tags or properties
+    private static final int OBJECT_OVERHEAD = 256;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final Map<String, String> idIndex = new ConcurrentHashMap<>();
+    private final Map<String, Long> typeTtls = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final int maxObjects;
+    private final long maxBytes;
+    private volatile long defaultTtl;
+
+    /**
+     * Creates a cache for 1000 objects or 4MB, with a TTL of 5 minutes.
+     */
+    public ObjectCache() {
+        this(1000, 4 * 1024 * 1024, 5 * 60 * 1000);
+    }
+
+    /**
+     * @param maxObjects max. number of cached objects
+     * @param maxBytes max. estimated size of all cached objects, in bytes
+     * @param defaultTtl default time to live, in milliseconds
+     */
+    public ObjectCache(int maxObjects, long maxBytes, long defaultTtl) {
+        this.maxObjects = Math.max(1, maxObjects);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * @param defaultTtl time to live for types without a specific TTL, in milliseconds
+     */
+    public void setDefaultTtl(long defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * Sets the time to live for objects of a given type.
+     * @param type an object type
+     * @param ttl time to live, in milliseconds
+     */
+    public void setTtl(String type, long ttl) {
+        if (type != null) {
+            typeTtls.put(type, ttl);
+        }
+    }
+
+    /**
+     * Returns a cached object.
+     * @param <P> the type of object
+     * @param appid the app id
+     * @param type the type of object
+     * @param id the id of the object
+     * @return the object or null if not cached or expired
+     */
+    public <P extends ParaObject> P get(String appid, String type, String id) {
+        return get(key(appid, type, id));
+    }
+
+    /**
+     * Returns a cached object by its id only.
+     * @param <P> the type of object
+     * @param appid the app id
+     * @param id the id of the object
+     * @return the object or null if not cached or expired
+     */
+    public <P extends ParaObject> P get(String appid, String id) {
+        String key = (id == null) ? null : idIndex.get(appid + SEPARATOR + id);
+        if (key == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        return get(key);
+    }
+
+    /**
+     * Adds an object to the cache, or replaces it.
+     * @param appid the app id
+     * @param obj an object with a type and id
+     */
+    public void put(String appid, ParaObject obj) {
+        if (obj == null || obj.getId() == null || obj.getType() == null) {
+            return;
+        }
+        String key = key(appid, obj.getType(), obj.getId());
+        Long typeTtl = typeTtls.get(obj.getType());
+        long ttl = (typeTtl != null) ? typeTtl : defaultTtl;
+        if (ttl <= 0) {
+            // objects of this type aren't cached, but an older copy might be
+            removeEntry(key);
+            idIndex.remove(appid + SEPARATOR + obj.getId(), key);
+            return;
+        }
+        Entry entry = new Entry(obj, estimateSize(obj),
+                System.currentTimeMillis() + ttl, clock.incrementAndGet());
+        Entry old = cache.put(key, entry);
+        String previousKey = idIndex.put(appid + SEPARATOR + obj.getId(), key);
+        bytes.addAndGet(entry.size - (old != null ? old.size : 0));
+        if (previousKey != null && !previousKey.equals(key)) {
+            // the same id was cached under a different type
+            removeEntry(previousKey);
+        }
+        if (cache.size() > maxObjects || bytes.get() > maxBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Adds objects to the cache.
+     * @param appid the app id
+     * @param objects a list of objects
+     */
+    public void putAll(String appid, List<? extends ParaObject> objects) {
+        if (objects != null) {
+            for (ParaObject obj : objects) {
+                put(appid, obj);
+            }
+        }
+    }
+
+    /**
+     * Removes an object from the cache.
+     * @param appid the app id
+     * @param id the id of the object
+     */
+    public void remove(String appid, String id) {
+        if (id != null) {
+            String key = idIndex.remove(appid + SEPARATOR + id);
+            if (key != null) {
+                removeEntry(key);
+            }
+        }
+    }
+
+    /**
+     * Removes objects from the cache.
+     * @param appid the app id
+     * @param ids a list of object ids
+     */
+    public void removeAll(String appid, List<String> ids) {
+        if (ids != null) {
+            for (String id : ids) {
+                remove(appid, id);
+            }
+        }
+    }
+
+    /**
+     * Removes all objects from the cache.
+     */
+    public void clear() {
+        cache.clear();
+        idIndex.clear();
+        bytes.set(0);
+    }
+
+    /**
+     * @return the number of cached objects
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the number of ids in the secondary index
+     */
+    int indexSize() {
+        return idIndex.size();
+    }
+
+    /**
+     * @return the estimated size of all cached objects, in bytes
+     */
+    public long getEstimatedBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of objects evicted because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the number of objects removed because they expired
+     */
+    public long getExpirationCount() {
+        return expirations.get();
+    }
+
+    /**
+     * @return the ratio of hits to all lookups
+     */
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return (total == 0) ? 0.0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectCache{size=" + size() + ", bytes=" + getEstimatedBytes() + ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() +
+                ", expirations=" + getExpirationCount() + "}";
+    }
+
+    private <P extends ParaObject> P get(String key) {
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            if (cache.remove(key, entry)) {
+                bytes.addAndGet(-entry.size);
+                idIndex.remove(idKey(key, entry), key);
+                expirations.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        hits.incrementAndGet();
+        return (P) entry.obj;
+    }
+
+    private void removeEntry(String key) {
+        Entry entry = cache.remove(key);
+        if (entry != null) {
+            bytes.addAndGet(-entry.size);
+        }
+    }
+
+    /**
+     * Evicts the least recently used tenth of the cache, or more if needed. Only one thread
+     * evicts at a time, others don't wait for it.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Map.Entry<String, Entry>> entries = new ArrayList<>(cache.entrySet());
+            Collections.sort(entries, (a, b) -> Long.compare(a.getValue().lastAccess, b.getValue().lastAccess));
+            int targetCount = maxObjects - Math.max(1, maxObjects / 10);
+            long targetBytes = maxBytes - maxBytes / 10;
+            for (Map.Entry<String, Entry> e : entries) {
+                if (cache.size() <= targetCount && bytes.get() <= targetBytes) {
+                    break;
+                }
+                if (cache.remove(e.getKey(), e.getValue())) {
+                    bytes.addAndGet(-e.getValue().size);
+                    idIndex.remove(idKey(e.getKey(), e.getValue()), e.getKey());
+                    evictions.incrementAndGet();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Estimates the size of an object in JSON from its strings, tags and properties,
+     * without serializing it.
+     * @param obj an object
+     * @return the estimated size in bytes
+     */
+    static long estimateSize(ParaObject obj) {
+        long size = OBJECT_OVERHEAD + estimateSize(obj.getId()) + estimateSize(obj.getType()) +
+                estimateSize(obj.getAppid()) + estimateSize(obj.getParentid()) +
+                estimateSize(obj.getCreatorid()) + estimateSize(obj.getName()) + estimateSize(obj.getTags());
+        if (obj instanceof Sysprop) {
+            size += estimateSize(((Sysprop) obj).getProperties());
+        }
+        return size;
+    }
+
+    private static long estimateSize(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() + 2;
+        }
+        if (value instanceof Map) {
+            long size = 2;
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                size += estimateSize(e.getKey()) + estimateSize(e.getValue()) + 2;
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 2;
+            for (Object item : (Collection<?>) value) {
+                size += estimateSize(item) + 1;
+            }
+            return size;
+        }
+        // numbers and booleans
+        return 8;
+    }
+
+    private static String key(String appid, String type, String id) {
+        return appid + SEPARATOR + type + SEPARATOR + id;
+    }
+
+    private static String idKey(String key, Entry entry) {
+        return key.substring(0, key.indexOf(SEPARATOR) + 1) + entry.obj.getId();
+    }
+
+    private static final class Entry {
+        private final ParaObject obj;
+        private final long size;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(ParaObject obj, long size, long expiresAt, long lastAccess) {
+            this.obj = obj;
+            this.size = size;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -35,7 +35,6 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.X509TrustManager;
 import okhttp3.Call;
@@ -51,7 +50,7 @@ import okhttp3.ResponseBody;
 public class OkHttp3Stack extends BaseHttpStack {
 
     private final boolean trustAllCertificates;
-    private static OkHttpClient client = new OkHttpClient();
+    private final OkHttpClientProvider clientProvider;
 
     public OkHttp3Stack() {
         this(false);
@@ -61,7 +60,16 @@ public class OkHttp3Stack extends BaseHttpStack {
      * @param trustAllCertificates if true all HTTPS certs will be trusted
      */
     public OkHttp3Stack(boolean trustAllCertificates) {
+        this(trustAllCertificates, OkHttpClientProvider.getDefault());
+    }
+
+    /**
+     * @param trustAllCertificates if true all HTTPS certs will be trusted
+     * @param clientProvider provides shared OkHttp clients for each timeout profile
+     */
+    public OkHttp3Stack(boolean trustAllCertificates, OkHttpClientProvider clientProvider) {
         this.trustAllCertificates = trustAllCertificates;
+        this.clientProvider = clientProvider;
     }
 
     @Override
@@ -69,32 +77,55 @@ public class OkHttp3Stack extends BaseHttpStack {
                                        Map<String, String> additionalHeaders)
             throws IOException, AuthFailureError {
 
-        OkHttpClient.Builder clientBuilder = client.newBuilder();
-        int timeoutMs = request.getTimeoutMs();
-
-        clientBuilder.connectTimeout(timeoutMs, TimeUnit.MILLISECONDS);
-        clientBuilder.readTimeout(timeoutMs, TimeUnit.MILLISECONDS);
-        clientBuilder.writeTimeout(timeoutMs, TimeUnit.MILLISECONDS);
-        if (trustAllCertificates && request.getUrl().startsWith("https")) {
-            X509TrustManager naiveTrustManager = new X509TrustManager() {
-                public X509Certificate[] getAcceptedIssuers() {
-                    X509Certificate[] myTrustedAnchors = new X509Certificate[0];
-                    return myTrustedAnchors;
-                }
-                public void checkClientTrusted(X509Certificate[] certs, String authType) { }
-                public void checkServerTrusted(X509Certificate[] certs, String authType) { }
-            };
-
-            try {
-                clientBuilder.sslSocketFactory(SSLContext.getDefault().
-                        getSocketFactory(), naiveTrustManager);
-            } catch (NoSuchAlgorithmException e) {
-                e.printStackTrace();
+        boolean trustAll = trustAllCertificates && request.getUrl().startsWith("https");
+        OkHttpClient client = clientProvider.getClient(request.getTimeoutMs(), trustAll);
+        okhttp3.Request okHttpRequest = buildRequest(request, additionalHeaders);
+        Call okHttpCall = client.newCall(okHttpRequest);
+        Response okHttpResponse = okHttpCall.execute();
+
+        int code = okHttpResponse.code();
+        ResponseBody body = okHttpResponse.body();
+        InputStream content = body == null ? null : body.byteStream();
+        int contentLength = body == null ? 0 : (int) body.contentLength();
+
+        List<Header> responseHeaders = getResponseHeaders(okHttpResponse);
+        return new HttpResponse(code, responseHeaders, contentLength, content);
+    }
+
+    /**
+     * Configures a client builder to trust all TLS certificates. Use with caution.
+     * @param clientBuilder an OkHttp client builder
+     */
+    static void trustAllCertificates(OkHttpClient.Builder clientBuilder) {
+        X509TrustManager naiveTrustManager = new X509TrustManager() {
+            public X509Certificate[] getAcceptedIssuers() {
+                X509Certificate[] myTrustedAnchors = new X509Certificate[0];
+                return myTrustedAnchors;
             }
+            public void checkClientTrusted(X509Certificate[] certs, String authType) { }
+            public void checkServerTrusted(X509Certificate[] certs, String authType) { }
+        };
+
+        try {
+            clientBuilder.sslSocketFactory(SSLContext.getDefault().
+                    getSocketFactory(), naiveTrustManager);
+        } catch (NoSuchAlgorithmException e) {
+            e.printStackTrace();
         }
+    }
 
+    /**
+     * Converts a Volley request to an OkHttp request.
+     * @param request a Volley request
+     * @param additionalHeaders extra headers to add
+     * @return an OkHttp request
+     * @throws AuthFailureError if the request headers or body could not be obtained
+     */
+    static okhttp3.Request buildRequest(Request<?> request, Map<String, String> additionalHeaders)
+            throws AuthFailureError {
         okhttp3.Request.Builder okHttpRequestBuilder = new okhttp3.Request.Builder();
         okHttpRequestBuilder.url(request.getUrl());
+        okHttpRequestBuilder.tag(Request.class, request);
 
         Map<String, String> headers = request.getHeaders();
         for(final String name : headers.keySet()) {
@@ -102,31 +133,28 @@ public class OkHttp3Stack extends BaseHttpStack {
                 okHttpRequestBuilder.addHeader(name, headers.get(name));
             }
         }
+        // additional headers, e.g. the validators of Volley's cache, replace the request's own
         for(final String name : additionalHeaders.keySet()) {
             if (additionalHeaders.get(name) != null) {
-                okHttpRequestBuilder.addHeader(name, additionalHeaders.get(name));
+                okHttpRequestBuilder.header(name, additionalHeaders.get(name));
             }
         }
 
         setConnectionParametersForRequest(okHttpRequestBuilder, request);
+        return okHttpRequestBuilder.build();
+    }
 
-        OkHttpClient client = clientBuilder.build();
-        okhttp3.Request okHttpRequest = okHttpRequestBuilder.build();
-        Call okHttpCall = client.newCall(okHttpRequest);
-        Response okHttpResponse = okHttpCall.execute();
-
-        int code = okHttpResponse.code();
-        ResponseBody body = okHttpResponse.body();
-        InputStream content = body == null ? null : body.byteStream();
-        int contentLength = body == null ? 0 : (int) body.contentLength();
-
+    /**
+     * @param okHttpResponse an OkHttp response
+     * @return the response headers as a list of Volley headers
+     */
+    static List<Header> getResponseHeaders(Response okHttpResponse) {
         List<Header> responseHeaders = new ArrayList<Header>(okHttpResponse.headers().size());
         for(int i = 0, len = okHttpResponse.headers().size(); i < len; i++) {
             final String name = okHttpResponse.headers().name(i);
             responseHeaders.add(new Header(name, okHttpResponse.headers().value(i)));
         }
-
-        return new HttpResponse(code, responseHeaders, contentLength, content);
+        return responseHeaders;
     }
 
     private static void setConnectionParametersForRequest(okhttp3.Request.Builder builder, Request<?> request)
@@ -169,6 +197,15 @@ public class OkHttp3Stack extends BaseHttpStack {
     }
 
     private static RequestBody createRequestBody(Request r) throws AuthFailureError {
+        if (r instanceof ParaRequest) {
+            // the serialized body is sent straight from the buffer it was written to
+            ParaRequest<?> request = (ParaRequest<?>) r;
+            if (request.getBodyBuffer() == null) {
+                return null;
+            }
+            return RequestBody.create(request.getBodyBuffer(), MediaType.parse(request.getBodyContentType()), 0,
+                    request.getBodyLength());
+        }
         final byte[] body = r.getBody();
         if (body == null) {
             return null;
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Builds and caches {@link OkHttpClient} instances. All clients created by the same provider
+ * share one connection pool and one dispatcher. A client is built only once for each
+ * timeout/TLS profile and then reused for all subsequent requests with that profile.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class OkHttpClientProvider {
+
+    /**
+     * Default maximum number of concurrent requests.
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 256;
+    /**
+     * Default maximum number of concurrent requests per host. All requests go to the same
+     * Para host, so this is effectively the limit for async requests in flight.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+
+    private static final OkHttpClientProvider DEFAULT = new OkHttpClientProvider();
+
+    private int maxIdleConnections = 5;
+    private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+    private boolean preferHttp2 = true;
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    private OkHttpClient baseClient;
+    private final Map<String, OkHttpClient> profiles = new ConcurrentHashMap<>();
+    private final AtomicLong connectionsAcquired = new AtomicLong();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final EventListener poolStatsListener = new PoolStatsListener();
+
+    /**
+     * Default constructor.
+     */
+    public OkHttpClientProvider() {
+    }
+
+    /**
+     * @return the provider shared by all {@link OkHttp3Stack} and {@link OkHttpTransport} instances,
+     * unless they were given a different one
+     */
+    public static OkHttpClientProvider getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Configures the connection pool. Clients built previously are discarded.
+     * @param maxIdleConnections the maximum number of idle connections to keep in the pool
+     * @param keepAlive how long to keep idle connections alive
+     * @param unit the time unit of keepAlive
+     */
+    public synchronized void setConnectionPool(int maxIdleConnections, long keepAlive, TimeUnit unit) {
+        this.maxIdleConnections = Math.max(0, maxIdleConnections);
+        this.keepAliveMillis = unit.toMillis(keepAlive);
+        reset();
+    }
+
+    /**
+     * Configures the dispatcher limits. Clients built previously are discarded.
+     * @param maxRequests the maximum number of requests to execute concurrently
+     * @param maxRequestsPerHost the maximum number of requests for each host to execute concurrently
+     */
+    public synchronized void setRequestLimits(int maxRequests, int maxRequestsPerHost) {
+        this.maxRequests = Math.max(1, maxRequests);
+        this.maxRequestsPerHost = Math.max(1, maxRequestsPerHost);
+        reset();
+    }
+
+    /**
+     * Enables or disables HTTP/2. When disabled, only HTTP/1.1 is used.
+     * Clients built previously are discarded.
+     * @param preferHttp2 true to negotiate HTTP/2 when the server supports it (default)
+     */
+    public synchronized void setPreferHttp2(boolean preferHttp2) {
+        this.preferHttp2 = preferHttp2;
+        reset();
+    }
+
+    /**
+     * Returns the base client, with default timeouts.
+     * @param trustAllCertificates if true all HTTPS certs will be trusted
+     * @return a shared client
+     */
+    public OkHttpClient getClient(boolean trustAllCertificates) {
+        return getClient(-1, trustAllCertificates);
+    }
+
+    /**
+     * Returns a client for the given timeout/TLS profile. The client is built on first use and cached.
+     * @param timeoutMs connect, read and write timeout in milliseconds, negative for the defaults
+     * @param trustAllCertificates if true all HTTPS certs will be trusted
+     * @return a shared client
+     */
+    public OkHttpClient getClient(int timeoutMs, boolean trustAllCertificates) {
+        String profile = timeoutMs + ":" + trustAllCertificates;
+        OkHttpClient client = profiles.get(profile);
+        if (client == null) {
+            synchronized (this) {
+                client = profiles.get(profile);
+                if (client == null) {
+                    OkHttpClient.Builder builder = getBaseClient().newBuilder();
+                    if (timeoutMs >= 0) {
+                        builder.connectTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+                        builder.readTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+                        builder.writeTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+                    }
+                    if (trustAllCertificates) {
+                        OkHttp3Stack.trustAllCertificates(builder);
+                    }
+                    client = builder.build();
+                    profiles.put(profile, client);
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * @return a snapshot of the connection pool statistics
+     */
+    public PoolStats getStats() {
+        ConnectionPool pool;
+        synchronized (this) {
+            pool = (baseClient == null) ? null : baseClient.connectionPool();
+        }
+        int total = (pool == null) ? 0 : pool.connectionCount();
+        int idle = (pool == null) ? 0 : pool.idleConnectionCount();
+        return new PoolStats(idle, total, connectionsAcquired.get(), connectionsCreated.get());
+    }
+
+    private synchronized OkHttpClient getBaseClient() {
+        if (baseClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(maxRequests);
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+            baseClient = new OkHttpClient.Builder().
+                    connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS)).
+                    dispatcher(dispatcher).
+                    protocols(preferHttp2 ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1) :
+                            Collections.singletonList(Protocol.HTTP_1_1)).
+                    eventListenerFactory(this::createEventListener).
+                    build();
+        }
+        return baseClient;
+    }
+
+    private void reset() {
+        if (baseClient != null) {
+            baseClient.connectionPool().evictAll();
+        }
+        baseClient = null;
+        profiles.clear();
+    }
+
+    /**
+     * Calls which are sampled for phase timing get their own listener, all others share one.
+     */
+    private EventListener createEventListener(Call call) {
+        PhaseTimingListener.Callback callback = PhaseTimingListener.getCallback(call);
+        return (callback == null) ? poolStatsListener : new TimedPoolStatsListener(callback);
+    }
+
+    private final class PoolStatsListener extends EventListener {
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectionsCreated.incrementAndGet();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            connectionsAcquired.incrementAndGet();
+        }
+    }
+
+    private final class TimedPoolStatsListener extends PhaseTimingListener {
+        TimedPoolStatsListener(Callback callback) {
+            super(callback);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            super.connectStart(call, inetSocketAddress, proxy);
+            connectionsCreated.incrementAndGet();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            super.connectionAcquired(call, connection);
+            connectionsAcquired.incrementAndGet();
+        }
+    }
+
+    /**
+     * Connection pool statistics.
+     */
+    public static final class PoolStats {
+
+        private final int idleConnections;
+        private final int totalConnections;
+        private final long connectionsAcquired;
+        private final long connectionsCreated;
+
+        PoolStats(int idleConnections, int totalConnections, long connectionsAcquired, long connectionsCreated) {
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.connectionsAcquired = connectionsAcquired;
+            this.connectionsCreated = connectionsCreated;
+        }
+
+        /**
+         * @return the number of idle connections in the pool
+         */
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        /**
+         * @return the number of connections in use
+         */
+        public int getActiveConnections() {
+            return Math.max(0, totalConnections - idleConnections);
+        }
+
+        /**
+         * @return the total number of connections in the pool
+         */
+        public int getTotalConnections() {
+            return totalConnections;
+        }
+
+        /**
+         * @return the number of times a connection was acquired by a call
+         */
+        public long getConnectionsAcquired() {
+            return connectionsAcquired;
+        }
+
+        /**
+         * @return the number of new connections opened
+         */
+        public long getConnectionsCreated() {
+            return connectionsCreated;
+        }
+
+        /**
+         * @return the fraction of calls which reused a pooled connection, between 0 and 1
+         */
+        public double getReuseRatio() {
+            if (connectionsAcquired == 0) {
+                return 0;
+            }
+            return Math.max(0, 1.0 - (double) connectionsCreated / connectionsAcquired);
+        }
+
+        @Override
+        public String toString() {
+            return "PoolStats{idle=" + idleConnections + ", active=" + getActiveConnections() +
+                    ", acquired=" + connectionsAcquired + ", created=" + connectionsCreated +
+                    ", reuseRatio=" + getReuseRatio() + "}";
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.ClientError;
+import com.android.volley.NetworkError;
+import com.android.volley.NetworkResponse;
+import com.android.volley.NoConnectionError;
+import com.android.volley.ServerError;
+import com.android.volley.TimeoutError;
+import com.android.volley.VolleyError;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A transport which bypasses Volley and executes requests asynchronously on the OkHttp
+ * {@link Dispatcher}. No thread is blocked while a request is in flight, so the number of
+ * concurrent requests is only limited by {@link Dispatcher#getMaxRequests()} and
+ * {@link Dispatcher#getMaxRequestsPerHost()}. Results are delivered on the main thread,
+ * just like with Volley, or on a custom {@link Executor}.
+ * <br>
+ * Successful responses are streamed directly into the JSON parser, unless streaming is
+ * disabled with {@link #setStreaming(boolean)}. Error responses are always buffered.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class OkHttpTransport implements ParaTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(OkHttpTransport.class);
+
+    /**
+     * Default maximum number of concurrent requests.
+     */
+    public static final int DEFAULT_MAX_REQUESTS = OkHttpClientProvider.DEFAULT_MAX_REQUESTS;
+    /**
+     * Default maximum number of concurrent requests per host.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = OkHttpClientProvider.DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    private final OkHttpClient client;
+    private final OkHttpClientProvider clientProvider;
+    private final Executor delivery;
+    private volatile boolean streaming = true;
+
+    /**
+     * Default constructor. Uses the clients from {@link OkHttpClientProvider#getDefault()}.
+     */
+    public OkHttpTransport() {
+        this(OkHttpClientProvider.getDefault(), false);
+    }
+
+    /**
+     * Creates a transport with its own connection pool and dispatcher.
+     * @param maxRequests the maximum number of requests to execute concurrently
+     * @param maxRequestsPerHost the maximum number of requests for each host to execute concurrently
+     * @param trustAllCertificates if true all HTTPS certs will be trusted
+     */
+    public OkHttpTransport(int maxRequests, int maxRequestsPerHost, boolean trustAllCertificates) {
+        this(newClientProvider(maxRequests, maxRequestsPerHost), trustAllCertificates);
+    }
+
+    /**
+     * @param clientProvider provides the shared OkHttp client
+     * @param trustAllCertificates if true all HTTPS certs will be trusted
+     */
+    public OkHttpTransport(OkHttpClientProvider clientProvider, boolean trustAllCertificates) {
+        this(clientProvider.getClient(trustAllCertificates), clientProvider, getDefaultDelivery());
+    }
+
+    /**
+     * @param client a configured OkHttp client
+     * @param delivery the executor on which responses are delivered to the listeners
+     */
+    public OkHttpTransport(OkHttpClient client, Executor delivery) {
+        this(client, null, delivery);
+    }
+
+    private OkHttpTransport(OkHttpClient client, OkHttpClientProvider clientProvider, Executor delivery) {
+        this.client = client;
+        this.clientProvider = clientProvider;
+        this.delivery = (delivery == null) ? getDefaultDelivery() : delivery;
+    }
+
+    /**
+     * @return the OkHttp client
+     */
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * @return statistics for the connection pool of this transport, or null if it was
+     * created with a custom {@link OkHttpClient}
+     */
+    public OkHttpClientProvider.PoolStats getConnectionPoolStats() {
+        return (clientProvider == null) ? null : clientProvider.getStats();
+    }
+
+    /**
+     * @return true if response bodies are parsed directly from the network stream
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Enables or disables streaming deserialization. When enabled, the body of a successful
+     * response is not copied into a byte array before parsing, which lowers the peak memory
+     * usage and the time to first parsed object for large responses.
+     * @param streaming true to enable streaming (default)
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    private static OkHttpClientProvider newClientProvider(int maxRequests, int maxRequestsPerHost) {
+        OkHttpClientProvider clientProvider = new OkHttpClientProvider();
+        clientProvider.setRequestLimits(maxRequests, maxRequestsPerHost);
+        return clientProvider;
+    }
+
+    private static Executor getDefaultDelivery() {
+        Looper mainLooper = Looper.getMainLooper();
+        if (mainLooper == null) {
+            return Runnable::run;
+        }
+        final Handler handler = new Handler(mainLooper);
+        return handler::post;
+    }
+
+    @Override
+    public void execute(final ParaRequest<?> request) {
+        if (request == null || request.isCanceled()) {
+            return;
+        }
+        final okhttp3.Request okHttpRequest;
+        try {
+            okHttpRequest = OkHttp3Stack.buildRequest(request, Collections.<String, String>emptyMap());
+        } catch (AuthFailureError e) {
+            deliverError(request, e);
+            return;
+        }
+        final long start = System.nanoTime();
+        Call call = client.newCall(okHttpRequest);
+        call.timeout().timeout(request.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        call.enqueue(new Callback() {
+            public void onFailure(Call call, IOException e) {
+                if (e instanceof InterruptedIOException) {
+                    deliverError(request, new TimeoutError());
+                } else {
+                    deliverError(request, new NoConnectionError(e));
+                }
+            }
+
+            public void onResponse(Call call, Response okHttpResponse) {
+                try (ResponseBody body = okHttpResponse.body()) {
+                    int code = okHttpResponse.code();
+                    long networkTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (streaming && okHttpResponse.isSuccessful()) {
+                        NetworkResponse response = new NetworkResponse(code, new byte[0], false,
+                                networkTimeMs, OkHttp3Stack.getResponseHeaders(okHttpResponse));
+                        deliverResponse(request, response, body == null ? null : body.byteStream());
+                        return;
+                    }
+                    byte[] data = (body == null) ? new byte[0] : body.bytes();
+                    NetworkResponse response = new NetworkResponse(code, data, code == 304,
+                            networkTimeMs, OkHttp3Stack.getResponseHeaders(okHttpResponse));
+                    if (okHttpResponse.isSuccessful() || code == 304) {
+                        deliverResponse(request, response, null);
+                    } else {
+                        deliverError(request, getError(response));
+                    }
+                } catch (IOException e) {
+                    deliverError(request, new NetworkError(e));
+                }
+            }
+        });
+    }
+
+    private VolleyError getError(NetworkResponse response) {
+        int code = response.statusCode;
+        if (code == 401 || code == 403) {
+            return new AuthFailureError(response);
+        } else if (code >= 400 && code < 500) {
+            return new ClientError(response);
+        } else {
+            return new ServerError(response);
+        }
+    }
+
+    private <T> void deliverResponse(final ParaRequest<T> request, NetworkResponse response, InputStream content) {
+        final com.android.volley.Response<T> result = (content == null) ?
+                request.parseNetworkResponse(response) : request.parseNetworkResponse(response, content);
+        delivery.execute(new Runnable() {
+            public void run() {
+                if (request.isCanceled()) {
+                    return;
+                }
+                if (result.isSuccess()) {
+                    request.deliverResponse(result.result);
+                } else {
+                    request.deliverError(result.error);
+                }
+            }
+        });
+    }
+
+    private void deliverError(final ParaRequest<?> request, final VolleyError error) {
+        logger.debug("Request failed: {} {}", request.getUrl(), error.getClass().getSimpleName());
+        delivery.execute(new Runnable() {
+            public void run() {
+                if (!request.isCanceled()) {
+                    request.deliverError(error);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.erudika.para.core.ParaObject;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lazily walks through all pages of a paged query. Pages are fetched on a background thread,
+ * which stays a bounded number of pages ahead of the consumer, so page N+1 is loaded
+ * while page N is being consumed and memory use stays flat.
+ * <br>
+ * The background thread stops when the last page is fetched, when a fetch fails, when the
+ * iterator is closed, or shortly after the iterator is no longer referenced, e.g. after a
+ * {@code break} out of a for-each loop, so abandoned iterators don't leak threads or pages.
+ * <b>Note:</b> pages are fetched with the synchronous API, so don't iterate on the main thread.
+ * @param <P> the type of object
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@SuppressWarnings("unchecked")
+public class PagedIterator<P extends ParaObject> implements Iterator<P>, AutoCloseable {
+
+    private static final Page<?> END = new Page<>(Collections.emptyList(), null);
+    private static final long OFFER_TIMEOUT_MILLIS = 500;
+
+    /**
+     * Fetches a single page of results, synchronously.
+     * @param <P> the type of object
+     */
+    public interface PageFetcher<P extends ParaObject> {
+        /**
+         * @param pager a pager for the page to fetch, updated with the last key after the fetch
+         * @return a list of objects, empty if there are no more results
+         */
+        List<P> fetch(Pager pager);
+
+        /**
+         * Called once on the fetching thread when no more pages will be fetched: after the
+         * last page, after a failed fetch, or when the iterator was closed or abandoned.
+         */
+        default void done() {
+        }
+    }
+
+    private final Producer<P> producer;
+    private Iterator<P> current = Collections.emptyIterator();
+    private Thread thread;
+    private boolean done;
+
+    /**
+     * @param fetcher fetches a page of results
+     * @param pager the pager for the first page
+     * @param lookahead the maximum number of pages fetched ahead of the consumer
+     */
+    public PagedIterator(PageFetcher<P> fetcher, Pager pager, int lookahead) {
+        if (fetcher == null) {
+            throw new IllegalArgumentException("PageFetcher is required.");
+        }
+        this.producer = new Producer<>(this, fetcher, (pager == null) ? new Pager(1, "_docid", false, 100) : pager,
+                Math.max(1, lookahead));
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (done || producer.closed) {
+                return false;
+            }
+            startProducer();
+            Page<P> page = takePage();
+            if (page == END) {
+                done = true;
+            } else if (page.error != null) {
+                done = true;
+                throw page.error;
+            } else {
+                current = page.items.iterator();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public P next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops fetching pages in the background.
+     */
+    @Override
+    public void close() {
+        producer.close();
+        current = Collections.emptyIterator();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void startProducer() {
+        if (thread == null) {
+            thread = new Thread(producer, "para-page-prefetch");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private Page<P> takePage() {
+        try {
+            return producer.pages.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            return (Page<P>) END;
+        }
+    }
+
+    /**
+     * Fetches pages on the background thread. It only holds a weak reference to the iterator,
+     * so that it can tell when the consumer has gone away without closing it.
+     */
+    private static final class Producer<P extends ParaObject> implements Runnable {
+        private final WeakReference<PagedIterator<P>> owner;
+        private final PageFetcher<P> fetcher;
+        private final Pager pager;
+        private final BlockingQueue<Page<P>> pages;
+        private volatile boolean closed;
+
+        Producer(PagedIterator<P> owner, PageFetcher<P> fetcher, Pager pager, int lookahead) {
+            this.owner = new WeakReference<>(owner);
+            this.fetcher = fetcher;
+            this.pager = pager;
+            this.pages = new ArrayBlockingQueue<>(lookahead);
+        }
+
+        @Override
+        public void run() {
+            long fetched = 0;
+            try {
+                while (!closed) {
+                    List<P> items;
+                    try {
+                        items = fetcher.fetch(pager);
+                    } catch (RuntimeException e) {
+                        put(new Page<>(null, e));
+                        return;
+                    }
+                    if (items == null || items.isEmpty()) {
+                        break;
+                    }
+                    fetched += items.size();
+                    if (!put(new Page<>(items, null))) {
+                        return;
+                    }
+                    // the total number of hits is known after the first page
+                    if (pager.getCount() > 0 && fetched >= pager.getCount()) {
+                        break;
+                    }
+                    pager.setPage(pager.getPage() + 1);
+                }
+                put((Page<P>) END);
+            } finally {
+                fetcher.done();
+            }
+        }
+
+        /**
+         * Waits for room in the queue, until the iterator is closed or garbage collected.
+         * @return false if the page was dropped
+         */
+        private boolean put(Page<P> page) {
+            try {
+                while (!closed) {
+                    if (pages.offer(page, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                    if (owner.get() == null) {
+                        close();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+            return false;
+        }
+
+        void close() {
+            closed = true;
+            pages.clear();
+        }
+    }
+
+    private static final class Page<P> {
+        private final List<P> items;
+        private final RuntimeException error;
+
+        private Page(List<P> items, RuntimeException error) {
+            this.items = items;
+            this.error = error;
+        }
+    }
+}
@@ -18,14 +18,26 @@
 package com.erudika.para.client.utils;
 
 import com.android.volley.AuthFailureError;
+import com.android.volley.Header;
 import com.android.volley.NetworkResponse;
 import com.android.volley.ParseError;
 import com.android.volley.Request;
 import com.android.volley.Response;
 import com.android.volley.VolleyError;
 import com.android.volley.toolbox.HttpHeaderParser;
+import com.erudika.para.core.ParaObject;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -38,9 +50,20 @@ public class ParaRequest<T> extends Request<T> {
     private final Map<String, String> headers;
     private final Response.Listener<T> listener;
     private final Response.ErrorListener errorListener;
-    private final byte[] body;
+    private volatile byte[] body;
+    private final int bodyLength;
     private final Class<T> type;
+    private final String contentType;
     private String url;
+    private volatile ResponseStore responseStore;
+    private volatile ResponseStore.StoredResponse revalidated;
+    private volatile ClockSkew clockSkew;
+    private volatile ClientMetrics metrics;
+    private volatile ClientMetrics phaseMetrics;
+    private String operation;
+    private long startNanos;
+    private volatile long responseSize;
+    private volatile Span span;
 
     /**
      * Make an API request and return a parsed object from JSON.
@@ -55,11 +78,50 @@ public class ParaRequest<T> extends Request<T> {
     public ParaRequest(int method, String url, Map<String, String> headers,
                        byte[] jsonEntity, Class<T> entityType,
                        Response.Listener<T> successListener, Response.ErrorListener errorListener) {
+        this(method, url, headers, jsonEntity, null, entityType, successListener, errorListener);
+    }
+
+    /**
+     * Make an API request and return a parsed object from JSON or CBOR.
+     * @param method HTTP method
+     * @param url URL of the request to make
+     * @param headers Map of request headers
+     * @param entity request body
+     * @param contentType the content type of the request body, JSON if null
+     * @param entityType the type to return when the response is deserialized
+     * @param successListener success listener
+     * @param errorListener error listener
+     */
+    public ParaRequest(int method, String url, Map<String, String> headers,
+                       byte[] entity, String contentType, Class<T> entityType,
+                       Response.Listener<T> successListener, Response.ErrorListener errorListener) {
+        this(method, url, headers, entity, (entity == null) ? 0 : entity.length, contentType, entityType,
+                successListener, errorListener);
+    }
+
+    /**
+     * Make an API request and return a parsed object from JSON or CBOR. The request body is
+     * the first {@code entityLength} bytes of a buffer, which is used as is, without copying.
+     * @param method HTTP method
+     * @param url URL of the request to make
+     * @param headers Map of request headers
+     * @param entity a buffer holding the request body
+     * @param entityLength the length of the request body
+     * @param contentType the content type of the request body, JSON if null
+     * @param entityType the type to return when the response is deserialized
+     * @param successListener success listener
+     * @param errorListener error listener
+     */
+    public ParaRequest(int method, String url, Map<String, String> headers,
+                       byte[] entity, int entityLength, String contentType, Class<T> entityType,
+                       Response.Listener<T> successListener, Response.ErrorListener errorListener) {
         super(method, url, errorListener);
         this.headers = headers;
         this.listener = successListener;
         this.errorListener = errorListener;
-        this.body = jsonEntity;
+        this.body = entity;
+        this.bodyLength = (entity == null) ? 0 : Math.min(Math.max(0, entityLength), entity.length);
+        this.contentType = contentType;
         this.type = entityType;
 
         this.url = url;
@@ -72,6 +134,8 @@ public class ParaRequest<T> extends Request<T> {
 
     @Override
     protected void deliverResponse(T response) {
+        recordMetrics(null);
+        endSpan(null);
         if (listener != null) {
             listener.onResponse(response);
         }
@@ -79,19 +143,182 @@ public class ParaRequest<T> extends Request<T> {
 
     @Override
     public void deliverError(VolleyError error) {
+        recordMetrics(error);
+        endSpan(error);
         if (errorListener != null) {
             errorListener.onErrorResponse(error);
         }
     }
 
+    /**
+     * @return the store used for conditional GET requests, or null
+     */
+    public ResponseStore getResponseStore() {
+        return responseStore;
+    }
+
+    /**
+     * Sets the store used for conditional GET requests. Successful responses with validators
+     * are stored and a {@code 304 Not Modified} response is answered with the stored body.
+     * @param responseStore a response store
+     */
+    public void setResponseStore(ResponseStore responseStore) {
+        this.responseStore = responseStore;
+    }
+
+    /**
+     * Sets the stored response whose validators were sent with this request. A {@code 304 Not Modified}
+     * response is answered with it, even if the store has evicted it in the meantime.
+     * @param stored a stored response, or null
+     */
+    public void setRevalidatedResponse(ResponseStore.StoredResponse stored) {
+        this.revalidated = stored;
+    }
+
+    /**
+     * Sets the clock offset which is updated from the {@code Date} header of the response.
+     * @param clockSkew the clock offset
+     */
+    public void setClockSkew(ClockSkew clockSkew) {
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Starts recording the latency and size of this request. It is recorded when the
+     * response or error is delivered.
+     * @param metrics the metrics registry
+     * @param operation the logical operation, see {@link ClientMetrics#getOperation(int, String)}
+     */
+    public void setMetrics(ClientMetrics metrics, String operation) {
+        this.operation = operation;
+        this.startNanos = (metrics == null) ? 0 : metrics.requestStarted(operation);
+        this.phaseMetrics = (metrics != null && metrics.samplePhaseTiming()) ? metrics : null;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return a callback which records the network phases of this request, or null if
+     * this request is not sampled for phase timing
+     */
+    PhaseTimingListener.Callback getPhaseTimingCallback() {
+        final ClientMetrics m = phaseMetrics;
+        if (m == null) {
+            return null;
+        }
+        final String op = operation;
+        return timings -> m.recordPhaseTimings(op, timings);
+    }
+
+    /**
+     * @return the client span of this request, or null
+     */
+    public Span getSpan() {
+        return span;
+    }
+
+    /**
+     * Sets the client span of this request. It is ended when the response or error is delivered.
+     * @param span a span
+     */
+    public void setSpan(Span span) {
+        this.span = span;
+    }
+
+    /**
+     * @return the size of the response body in bytes, as received from the network
+     */
+    public long getResponseSize() {
+        return responseSize;
+    }
+
+    private void recordMetrics(VolleyError error) {
+        ClientMetrics m = metrics;
+        if (m != null) {
+            metrics = null;
+            long received = responseSize;
+            if (error != null && error.networkResponse != null && error.networkResponse.data != null) {
+                received = error.networkResponse.data.length;
+            }
+            m.requestFinished(operation, startNanos, error, bodyLength, received);
+        }
+    }
+
+    private void endSpan(VolleyError error) {
+        Span s = span;
+        if (s != null) {
+            s.end(error);
+        }
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
     protected Response<T> parseNetworkResponse(NetworkResponse response) {
+        updateClockSkew(response);
+        if (response != null && response.data != null) {
+            responseSize = response.data.length;
+        }
+        ResponseStore store = responseStore;
+        if (store == null || getMethod() != Method.GET || response == null) {
+            return parse(response);
+        }
+        if (response.statusCode == 304) {
+            ResponseStore.StoredResponse stored = revalidated;
+            if (stored == null) {
+                // revalidated by Volley's cache, which returns the cached body with the 304
+                return (response.data != null && response.data.length > 0) ?
+                        parse(response) : Response.error(new ParseError(response));
+            }
+            store.notModified(stored);
+            return parse(new NetworkResponse(200, stored.getData(), true, response.networkTimeMs,
+                    toHeaderList(stored.getHeaders())));
+        }
+        Response<T> result = parse(response);
+        if (result.isSuccess() && response.statusCode == 200) {
+            store(store, response, result.result);
+        }
+        return result;
+    }
+
+    private static List<Header> toHeaderList(Map<String, String> headers) {
+        List<Header> list = new ArrayList<>();
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                list.add(new Header(header.getKey(), header.getValue()));
+            }
+        }
+        return list;
+    }
+
+    private void updateClockSkew(NetworkResponse response) {
+        ClockSkew skew = clockSkew;
+        if (skew != null && response != null) {
+            skew.update(response.headers);
+        }
+    }
+
+    /**
+     * Stores a response with its validators. If the server didn't send any, the
+     * {@code updated} timestamp of the returned object is used as the Last-Modified date.
+     */
+    private void store(ResponseStore store, NetworkResponse response, T result) {
+        String etag = (response.headers == null) ? null : response.headers.get("ETag");
+        String lastModified = (response.headers == null) ? null : response.headers.get("Last-Modified");
+        if (etag == null && lastModified == null && result instanceof ParaObject &&
+                ((ParaObject) result).getUpdated() != null) {
+            lastModified = ResponseStore.formatHttpDate(((ParaObject) result).getUpdated());
+        }
+        store.put(url, new ResponseStore.StoredResponse(response.data, response.headers, etag, lastModified));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<T> parse(NetworkResponse response) {
         try {
             if (response != null && response.data != null && response.data.length > 0) {
                 if (ClientUtils.isBasicType(type)) {
                     return (Response<T>) Response.success(new String(response.data, "UTF-8"),
                             HttpHeaderParser.parseCacheHeaders(response));
+                } else if (isCbor(response)) {
+                    return Response.success((T) ClientUtils.getCborReader(type).
+                            readValue(response.data), HttpHeaderParser.parseCacheHeaders(response));
                 } else {
                     return Response.success((T) ClientUtils.getJsonReader(type).
                             readValue(response.data), HttpHeaderParser.parseCacheHeaders(response));
@@ -105,13 +332,133 @@ public class ParaRequest<T> extends Request<T> {
         }
     }
 
+    /**
+     * Parses the response body straight from the network stream, without buffering
+     * the whole body in a byte array first.
+     * @param response the network response containing the status code and headers
+     * @param stream the response body stream, could be null
+     * @return a parsed response
+     */
+    @SuppressWarnings("unchecked")
+    protected Response<T> parseNetworkResponse(NetworkResponse response, InputStream stream) {
+        updateClockSkew(response);
+        CountingInputStream content = (stream == null) ? null : new CountingInputStream(stream);
+        try {
+            if (responseStore != null && getMethod() == Method.GET) {
+                // the body is needed for the response store
+                byte[] data = (content == null) ? new byte[0] : readBytes(content);
+                return parseNetworkResponse(new NetworkResponse(response.statusCode, data, response.notModified,
+                        response.networkTimeMs, response.allHeaders));
+            }
+            if (content == null) {
+                return Response.success(null, HttpHeaderParser.parseCacheHeaders(response));
+            }
+            if (ClientUtils.isBasicType(type)) {
+                String str = new String(readBytes(content), "UTF-8");
+                return (Response<T>) Response.success(str.isEmpty() ? null : str,
+                        HttpHeaderParser.parseCacheHeaders(response));
+            }
+            boolean cbor = isCbor(response);
+            ObjectMapper mapper = cbor ? ClientUtils.getCborMapper() : ClientUtils.getJsonMapper();
+            try (JsonParser parser = mapper.getFactory().createParser(content)) {
+                if (parser.nextToken() == null) {
+                    return Response.success(null, HttpHeaderParser.parseCacheHeaders(response));
+                }
+                ObjectReader reader = cbor ? ClientUtils.getCborReader(type) : ClientUtils.getJsonReader(type);
+                return Response.success((T) reader.readValue(parser), HttpHeaderParser.parseCacheHeaders(response));
+            }
+        } catch (Exception e) {
+            logger.error("JSON parsing error", e);
+            return Response.error(new ParseError(e));
+        } finally {
+            if (content != null) {
+                responseSize = content.count;
+            }
+        }
+    }
+
+    private static boolean isCbor(NetworkResponse response) {
+        return response.headers != null && ClientUtils.isCborContentType(response.headers.get("Content-Type"));
+    }
+
+    private static byte[] readBytes(InputStream content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Counts the bytes read from the response stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
     @Override
     public String getBodyContentType() {
-        return "application/json; charset=utf-8";
+        return contentType != null ? contentType : "application/json; charset=utf-8";
     }
 
+    /**
+     * Returns the request body. If it only fills a part of its buffer, it is copied into an array
+     * of the exact length on the first call. {@link OkHttp3Stack} avoids the copy by reading
+     * the buffer directly, see {@link #getBodyBuffer()}.
+     * @return the request body
+     */
     @Override
     public byte[] getBody() {
+        byte[] b = body;
+        if (b != null && b.length != bodyLength) {
+            b = Arrays.copyOf(b, bodyLength);
+            body = b;
+        }
+        return b;
+    }
+
+    /**
+     * @return the buffer holding the request body, only the first {@link #getBodyLength()} bytes are valid
+     */
+    public byte[] getBodyBuffer() {
         return body;
     }
+
+    /**
+     * @return the length of the request body in bytes
+     */
+    public int getBodyLength() {
+        return bodyLength;
+    }
 }
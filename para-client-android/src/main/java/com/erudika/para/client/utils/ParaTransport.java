@@ -0,0 +1,33 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+/**
+ * Executes signed requests against the Para API and delivers the results
+ * to the listeners attached to each {@link ParaRequest}.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public interface ParaTransport {
+
+    /**
+     * Sends a request to the server. This method should not block - the response
+     * (or error) is delivered asynchronously to the listeners of the request.
+     * @param request a signed request
+     */
+    void execute(ParaRequest<?> request);
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * Measures the network phases of a single OkHttp call: DNS lookup, connect, TLS handshake,
+ * time to first byte and body read. The timings are passed to a {@link Callback} when the
+ * call ends or fails. A new listener is created for each call, see {@link #FACTORY}.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class PhaseTimingListener extends EventListener {
+
+    /**
+     * Creates a timing listener for calls made by a {@link ParaRequest} which has phase timing
+     * enabled, and no listener for all other calls.
+     */
+    public static final EventListener.Factory FACTORY = call -> {
+        Callback callback = getCallback(call);
+        return (callback == null) ? EventListener.NONE : new PhaseTimingListener(callback);
+    };
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    /**
+     * Receives the timings of a call.
+     */
+    public interface Callback {
+        /**
+         * @param timings the duration of each phase
+         */
+        void onPhaseTimings(PhaseTimings timings);
+    }
+
+    private final Callback callback;
+    private long callStart = UNSET;
+    private long dnsStart = UNSET;
+    private long dnsEnd = UNSET;
+    private long connectStart = UNSET;
+    private long connectEnd = UNSET;
+    private long secureConnectStart = UNSET;
+    private long secureConnectEnd = UNSET;
+    private long requestEnd = UNSET;
+    private long responseHeadersStart = UNSET;
+    private long responseBodyStart = UNSET;
+    private long responseBodyEnd = UNSET;
+    private boolean connected;
+    private boolean acquired;
+    private boolean reported;
+
+    /**
+     * @param callback receives the timings when the call ends
+     */
+    public PhaseTimingListener(Callback callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * @param call an OkHttp call
+     * @return the phase timing callback of the {@link ParaRequest} which made the call, or null
+     */
+    static Callback getCallback(Call call) {
+        com.android.volley.Request<?> request = call.request().tag(com.android.volley.Request.class);
+        return (request instanceof ParaRequest) ? ((ParaRequest<?>) request).getPhaseTimingCallback() : null;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+        connected = true;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        secureConnectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+            IOException ioe) {
+        connectEnd = System.nanoTime();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        acquired = true;
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        responseHeadersStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseBodyEnd = System.nanoTime();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        report(false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        report(true);
+    }
+
+    private void report(boolean failed) {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        long end = System.nanoTime();
+        callback.onPhaseTimings(new PhaseTimings(elapsed(dnsStart, dnsEnd), elapsed(connectStart, connectEnd),
+                elapsed(secureConnectStart, secureConnectEnd), elapsed(requestEnd, responseHeadersStart),
+                elapsed(responseBodyStart, responseBodyEnd), elapsed(callStart, end), acquired && !connected, failed));
+    }
+
+    private static long elapsed(long start, long end) {
+        if (start == UNSET || end == UNSET || end < start) {
+            return -1;
+        }
+        return TimeUnit.NANOSECONDS.toMicros(end - start);
+    }
+}
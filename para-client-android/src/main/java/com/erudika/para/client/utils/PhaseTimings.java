@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.util.Locale;
+
+/**
+ * The time spent in each network phase of a single HTTP call. Durations are in microseconds
+ * and are -1 for phases which didn't happen, e.g. DNS, connect and TLS when a pooled
+ * connection was reused.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class PhaseTimings {
+
+    private final long dns;
+    private final long connect;
+    private final long tls;
+    private final long ttfb;
+    private final long bodyRead;
+    private final long total;
+    private final boolean connectionReused;
+    private final boolean failed;
+
+    PhaseTimings(long dns, long connect, long tls, long ttfb, long bodyRead, long total,
+            boolean connectionReused, boolean failed) {
+        this.dns = dns;
+        this.connect = connect;
+        this.tls = tls;
+        this.ttfb = ttfb;
+        this.bodyRead = bodyRead;
+        this.total = total;
+        this.connectionReused = connectionReused;
+        this.failed = failed;
+    }
+
+    /**
+     * @return the time spent resolving the host name
+     */
+    public long getDns() {
+        return dns;
+    }
+
+    /**
+     * @return the time spent opening the connection, including the TLS handshake
+     */
+    public long getConnect() {
+        return connect;
+    }
+
+    /**
+     * @return the time spent in the TLS handshake
+     */
+    public long getTls() {
+        return tls;
+    }
+
+    /**
+     * @return the time between sending the request and receiving the first byte of the response,
+     * i.e. the server time plus one round trip
+     */
+    public long getTimeToFirstByte() {
+        return ttfb;
+    }
+
+    /**
+     * @return the time spent reading the response body
+     */
+    public long getBodyRead() {
+        return bodyRead;
+    }
+
+    /**
+     * @return the duration of the whole call
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return true if the call used a pooled connection instead of opening a new one
+     */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    /**
+     * @return true if the call failed, e.g. because of a timeout or a connection error
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "dns=%s connect=%s tls=%s ttfb=%s body=%s total=%s reused=%b%s",
+                ms(dns), ms(connect), ms(tls), ms(ttfb), ms(bodyRead), ms(total), connectionReused,
+                failed ? " failed" : "");
+    }
+
+    private static String ms(long micros) {
+        return micros < 0 ? "-" : String.format(Locale.ROOT, "%.2fms", micros / 1000.0);
+    }
+}
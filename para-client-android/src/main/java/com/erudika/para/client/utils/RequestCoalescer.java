@@ -0,0 +1,247 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import static com.android.volley.Response.*;
+import com.android.volley.VolleyError;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Coalesces identical GET requests which are in flight at the same time (single-flight).
+ * The first request goes out to the network and the other callers wait for its result, so they
+ * all receive the same parsed response object or the same error. Coalescing is enabled per
+ * call type, see {@link #getCallType(String)}.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class RequestCoalescer {
+
+    /**
+     * Enables coalescing for all GET requests.
+     */
+    public static final String ALL = "*";
+
+    /**
+     * Sends the actual request.
+     */
+    public interface Sender {
+        /**
+         * @param success called with the parsed response
+         * @param error called on error
+         */
+        void send(Listener<Object> success, ErrorListener error);
+    }
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> enabled = ConcurrentHashMap.newKeySet();
+    private final AtomicLong saved = new AtomicLong();
+
+    /**
+     * Enables or disables coalescing for the given call types.
+     * @param enable true to enable
+     * @param callTypes call types, e.g. "search/default", "_types" or {@link #ALL}
+     */
+    public void setEnabled(boolean enable, String... callTypes) {
+        if (callTypes == null) {
+            return;
+        }
+        for (String callType : callTypes) {
+            if (!StringUtils.isBlank(callType)) {
+                if (enable) {
+                    enabled.add(callType);
+                } else {
+                    enabled.remove(callType);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param callType a call type
+     * @return true if requests of this type are coalesced
+     */
+    public boolean isEnabled(String callType) {
+        return !enabled.isEmpty() && (enabled.contains(ALL) || enabled.contains(callType));
+    }
+
+    /**
+     * @return the number of requests which were not sent because an identical one was in flight
+     */
+    public long getSavedCount() {
+        return saved.get();
+    }
+
+    /**
+     * @return the number of distinct requests in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Executes a request, or waits for an identical one which is already in flight.
+     * @param key the request key, see {@link #getKey(String, Map, Class)}
+     * @param success called with the parsed response
+     * @param error called on error
+     * @param sender sends the request if none is in flight
+     */
+    @SuppressWarnings("unchecked")
+    public void execute(String key, Listener<?> success, ErrorListener error, Sender sender) {
+        while (true) {
+            InFlight call = inFlight.computeIfAbsent(key, k -> new InFlight(k));
+            int position = call.join((Listener<Object>) success, error);
+            if (position == 0) {
+                call.send(sender);
+                return;
+            } else if (position > 0) {
+                saved.incrementAndGet();
+                return;
+            }
+            // the call has just completed, start a new one
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Returns the call type of a request, used to enable coalescing selectively:
+     * <ul>
+     * <li>{@code search/{queryType}} for searches, e.g. "search/default" for {@code findQuery()} and
+     * "search/count" for {@code getCount()}</li>
+     * <li>{@code utils/{name}} for the utility methods</li>
+     * <li>{@code links} for link queries</li>
+     * <li>the first path segment for system endpoints, e.g. "_types" or "_constraints"</li>
+     * <li>{@code objects} for everything else, i.e. reads and lists of objects</li>
+     * </ul>
+     * @param resourcePath the subpath after '/v1/'
+     * @return the call type
+     */
+    public static String getCallType(String resourcePath) {
+        String path = StringUtils.removeStart(StringUtils.trimToEmpty(resourcePath), "/");
+        int search = path.startsWith("search/") ? 0 : path.indexOf("/search/");
+        if (search >= 0) {
+            return path.substring(search == 0 ? 0 : search + 1);
+        }
+        if (path.startsWith("utils/")) {
+            return path;
+        }
+        if (path.contains("/links/")) {
+            return "links";
+        }
+        if (path.startsWith("_")) {
+            return StringUtils.substringBefore(path, "/");
+        }
+        return "objects";
+    }
+
+    /**
+     * Returns the key of a request. Query parameters are sorted by name, so that the same
+     * parameters in a different order produce the same key.
+     * @param path the request path
+     * @param params query parameters
+     * @param returnType the type of the response
+     * @return a key
+     */
+    public static String getKey(String path, Map<String, List<String>> params, Class<?> returnType) {
+        StringBuilder sb = new StringBuilder(path == null ? "" : path);
+        if (params != null && !params.isEmpty()) {
+            char sep = '?';
+            for (Map.Entry<String, List<String>> param : new TreeMap<>(params).entrySet()) {
+                if (param.getValue() == null) {
+                    continue;
+                }
+                for (String value : param.getValue()) {
+                    sb.append(sep).append(param.getKey()).append('=').append(value);
+                    sep = '&';
+                }
+            }
+        }
+        if (returnType != null) {
+            sb.append('#').append(returnType.getName());
+        }
+        return sb.toString();
+    }
+
+    private final class InFlight implements Listener<Object>, ErrorListener {
+
+        private final String key;
+        private final List<Listener<Object>> listeners = new ArrayList<>();
+        private final List<ErrorListener> errorListeners = new ArrayList<>();
+        private boolean done;
+
+        InFlight(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return the position of the caller, 0 for the one who sends the request or -1 if completed
+         */
+        synchronized int join(Listener<Object> success, ErrorListener error) {
+            if (done) {
+                return -1;
+            }
+            listeners.add(success);
+            errorListeners.add(error);
+            return listeners.size() - 1;
+        }
+
+        void send(Sender sender) {
+            try {
+                sender.send(this, this);
+            } catch (RuntimeException e) {
+                onErrorResponse(new VolleyError(e));
+            }
+        }
+
+        private synchronized boolean complete() {
+            if (done) {
+                return false;
+            }
+            done = true;
+            inFlight.remove(key, this);
+            return true;
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            if (complete()) {
+                for (Listener<Object> listener : listeners) {
+                    if (listener != null) {
+                        listener.onResponse(response);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onErrorResponse(VolleyError err) {
+            if (complete()) {
+                for (ErrorListener listener : errorListeners) {
+                    if (listener != null) {
+                        listener.onErrorResponse(err);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores the bodies of GET responses together with their validators ({@code ETag} and
+ * {@code Last-Modified}), so that later requests for the same URL can be made conditional.
+ * When the server responds with {@code 304 Not Modified}, the stored body is used instead and
+ * the unchanged data costs only headers. The store is bounded by number of entries and by size.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ResponseStore {
+
+    private final Map<String, StoredResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final int maxEntries;
+    private final long maxBytes;
+    private long bytes;
+
+    /**
+     * Creates a store for 500 responses or 4MB.
+     */
+    public ResponseStore() {
+        this(500, 4 * 1024 * 1024);
+    }
+
+    /**
+     * @param maxEntries max. number of stored responses
+     * @param maxBytes max. total size of stored response bodies
+     */
+    public ResponseStore(int maxEntries, long maxBytes) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxBytes = Math.max(1, maxBytes);
+    }
+
+    /**
+     * @param url the URL of a GET request
+     * @return the stored response or null
+     */
+    public synchronized StoredResponse get(String url) {
+        return (url == null) ? null : responses.get(url);
+    }
+
+    /**
+     * Stores a response. Responses without validators or larger than the store are ignored.
+     * @param url the URL of a GET request
+     * @param response a response
+     */
+    public synchronized void put(String url, StoredResponse response) {
+        if (url == null || response == null || !response.hasValidators() || response.data.length > maxBytes) {
+            return;
+        }
+        StoredResponse old = responses.put(url, response);
+        bytes += response.data.length - (old != null ? old.data.length : 0);
+        Iterator<StoredResponse> it = responses.values().iterator();
+        while ((responses.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+            bytes -= it.next().data.length;
+            it.remove();
+        }
+    }
+
+    /**
+     * Removes a stored response.
+     * @param url the URL of a GET request
+     */
+    public synchronized void remove(String url) {
+        StoredResponse old = responses.remove(url);
+        if (old != null) {
+            bytes -= old.data.length;
+        }
+    }
+
+    /**
+     * Removes all stored responses.
+     */
+    public synchronized void clear() {
+        responses.clear();
+        bytes = 0;
+    }
+
+    /**
+     * @return the number of stored responses
+     */
+    public synchronized int size() {
+        return responses.size();
+    }
+
+    /**
+     * @return the number of responses served from the store after a 304
+     */
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    /**
+     * @return the number of response body bytes which didn't have to be transferred
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    void notModified(StoredResponse response) {
+        notModified.incrementAndGet();
+        bytesSaved.addAndGet(response.data.length);
+    }
+
+    /**
+     * Formats a timestamp as an HTTP date.
+     * @param timestamp milliseconds since the epoch
+     * @return an RFC 1123 date
+     */
+    public static String formatHttpDate(long timestamp) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(timestamp).
+                atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * A stored response body with its headers and validators.
+     */
+    public static final class StoredResponse {
+        private final byte[] data;
+        private final Map<String, String> headers;
+        private final String etag;
+        private final String lastModified;
+
+        /**
+         * @param data the response body
+         * @param headers the response headers
+         * @param etag the ETag of the response, could be null
+         * @param lastModified the Last-Modified date of the response, could be null
+         */
+        public StoredResponse(byte[] data, Map<String, String> headers, String etag, String lastModified) {
+            this.data = (data == null) ? new byte[0] : data;
+            Map<String, String> h = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            if (headers != null) {
+                h.putAll(headers);
+            }
+            this.headers = Collections.unmodifiableMap(h);
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @return the response body
+         */
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * @return the response headers
+         */
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * @return the ETag or null
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * @return the Last-Modified date or null
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
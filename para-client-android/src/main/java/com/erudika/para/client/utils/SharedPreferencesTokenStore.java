@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import android.content.Context;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A token store backed by {@code SharedPreferences}. All fields are written together
+ * with a single asynchronous {@code apply()} and reads are served from memory.
+ * If the context is null, tokens are only kept in memory.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class SharedPreferencesTokenStore implements TokenStore {
+
+    private static final String TOKEN_KEY = "tokenKey";
+    private static final String EXPIRES_KEY = "tokenKeyExpires";
+    private static final String NEXT_REFRESH_KEY = "tokenKeyNextRefresh";
+
+    private final Context ctx;
+    private volatile String token;
+    private volatile Long expires;
+    private volatile Long nextRefresh;
+
+    /**
+     * @param ctx context, can be null
+     */
+    public SharedPreferencesTokenStore(Context ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void load() {
+        String tk = ClientUtils.loadPref(TOKEN_KEY, ctx);
+        String tke = ClientUtils.loadPref(EXPIRES_KEY, ctx);
+        String tknr = ClientUtils.loadPref(NEXT_REFRESH_KEY, ctx);
+        this.expires = (tke != null) ? Long.parseLong(tke) : null;
+        this.nextRefresh = (tknr != null) ? Long.parseLong(tknr) : null;
+        this.token = tk;
+    }
+
+    @Override
+    public String getToken() {
+        return token;
+    }
+
+    @Override
+    public Long getExpires() {
+        return expires;
+    }
+
+    @Override
+    public Long getNextRefresh() {
+        return nextRefresh;
+    }
+
+    @Override
+    public void save(String token, Long expires, Long nextRefresh) {
+        this.token = token;
+        this.expires = expires;
+        this.nextRefresh = nextRefresh;
+        Map<String, String> values = new HashMap<>(3);
+        values.put(TOKEN_KEY, token);
+        values.put(EXPIRES_KEY, expires != null ? expires.toString() : null);
+        values.put(NEXT_REFRESH_KEY, nextRefresh != null ? nextRefresh.toString() : null);
+        ClientUtils.savePrefs(values, ctx);
+    }
+
+    @Override
+    public void clear() {
+        save(null, null, null);
+    }
+}
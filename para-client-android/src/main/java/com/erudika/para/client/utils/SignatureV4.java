@@ -0,0 +1,288 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.github.davidmoten.aws.lw.client.internal.util.Util;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * AWS Signature Version 4 for Para requests, producing the same signatures as
+ * {@code AwsSignatureVersion4} from the lightweight AWS client. The signing key, derived with four
+ * chained HMACs, is cached for the current date, and {@code Mac}, {@code MessageDigest} and
+ * string builders are reused per thread.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class SignatureV4 {
+
+    /**
+     * The SHA-256 hash of an empty request body.
+     */
+    public static final String EMPTY_BODY_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String TERMINATOR = "aws4_request";
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.
+            ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private volatile SigningKey signingKey;
+    private volatile Timestamp timestamp;
+
+    /**
+     * Computes the {@code Authorization} header for a request. The {@code x-amz-date} and
+     * {@code Host} headers are added to the given headers map, which is signed as a whole.
+     * @param httpMethod GET/POST/PUT... etc.
+     * @param url the request URL without the query string, with an URL-encoded path
+     * @param headers the headers to sign, must be mutable
+     * @param params query parameters
+     * @param contentHash the hex-encoded SHA-256 hash of the request body
+     * @param time the request time in milliseconds
+     * @param accessKey access key
+     * @param secretKey secret key
+     * @param serviceName service name
+     * @param region region
+     * @return the value of the {@code Authorization} header
+     */
+    public String sign(String httpMethod, String url, Map<String, String> headers, Map<String, String> params,
+            String contentHash, long time, String accessKey, String secretKey, String serviceName, String region) {
+        Timestamp ts = getTimestamp(time);
+        int hostStart = url.indexOf("://") + 3;
+        int pathStart = url.indexOf('/', hostStart);
+        String host = (pathStart < 0) ? url.substring(hostStart) : url.substring(hostStart, pathStart);
+        String path = (pathStart < 0) ? "" : url.substring(pathStart);
+        int userInfo = host.lastIndexOf('@');
+        if (userInfo >= 0) {
+            host = host.substring(userInfo + 1);
+        }
+        headers.put("x-amz-date", ts.dateTime);
+        headers.put("Host", host);
+
+        String[] names = headers.keySet().toArray(new String[0]);
+        Arrays.sort(names, String.CASE_INSENSITIVE_ORDER);
+
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        // canonical request
+        sb.append(httpMethod).append('\n');
+        String encodedPath = path.isEmpty() ? "/" : Util.urlEncode(path, true);
+        if (!encodedPath.startsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(encodedPath).append('\n');
+        appendQueryString(sb, params);
+        sb.append('\n');
+        for (String name : names) {
+            appendCollapsed(sb, name.toLowerCase()).append(':');
+            appendCollapsed(sb, headers.get(name)).append('\n');
+        }
+        sb.append('\n');
+        int signedHeadersStart = sb.length();
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                sb.append(';');
+            }
+            sb.append(names[i].toLowerCase());
+        }
+        String signedHeaders = sb.substring(signedHeadersStart);
+        sb.append('\n').append(contentHash);
+
+        MessageDigest sha256 = SHA256.get();
+        byte[] canonicalRequestHash = sha256.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        // string to sign
+        sb.setLength(0);
+        int scopeStart = sb.append(ALGORITHM).append('\n').append(ts.dateTime).append('\n').length();
+        sb.append(ts.date).append('/').append(region).append('/').append(serviceName).append('/').append(TERMINATOR);
+        String scope = sb.substring(scopeStart);
+        appendHex(sb.append('\n'), canonicalRequestHash);
+
+        Mac mac = MAC.get();
+        byte[] signature = hmac(mac, getSigningKey(mac, secretKey, ts.date, region, serviceName),
+                sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        sb.setLength(0);
+        sb.append(ALGORITHM).append(" Credential=").append(accessKey).append('/').append(scope).
+                append(", SignedHeaders=").append(signedHeaders).append(", Signature=");
+        return appendHex(sb, signature).toString();
+    }
+
+    /**
+     * @param data bytes
+     * @return the hex-encoded SHA-256 hash of the data
+     */
+    public static String sha256Hex(byte[] data) {
+        if (data == null || data.length == 0) {
+            return EMPTY_BODY_SHA256;
+        }
+        return toHex(SHA256.get().digest(data));
+    }
+
+    /**
+     * @param data bytes
+     * @return a lowercase hex string
+     */
+    public static String toHex(byte[] data) {
+        return appendHex(new StringBuilder(data.length * 2), data).toString();
+    }
+
+    private SecretKeySpec getSigningKey(Mac mac, String secretKey, String date, String region, String serviceName) {
+        SigningKey key = signingKey;
+        if (key == null || !key.matches(secretKey, date, region, serviceName)) {
+            byte[] k = ("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8);
+            k = hmac(mac, k, date.getBytes(StandardCharsets.UTF_8));
+            k = hmac(mac, k, region.getBytes(StandardCharsets.UTF_8));
+            k = hmac(mac, k, serviceName.getBytes(StandardCharsets.UTF_8));
+            k = hmac(mac, k, TERMINATOR.getBytes(StandardCharsets.UTF_8));
+            key = new SigningKey(secretKey, date, region, serviceName, new SecretKeySpec(k, "HmacSHA256"));
+            signingKey = key;
+        }
+        return key.key;
+    }
+
+    private Timestamp getTimestamp(long time) {
+        long second = Math.floorDiv(time, 1000L);
+        Timestamp ts = timestamp;
+        if (ts == null || ts.second != second) {
+            ts = new Timestamp(second);
+            timestamp = ts;
+        }
+        return ts;
+    }
+
+    private static byte[] hmac(Mac mac, byte[] key, byte[] data) {
+        return hmac(mac, new SecretKeySpec(key, "HmacSHA256"), data);
+    }
+
+    private static byte[] hmac(Mac mac, SecretKeySpec key, byte[] data) {
+        try {
+            mac.init(key);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void appendQueryString(StringBuilder sb, Map<String, String> params) {
+        if (params == null || params.isEmpty()) {
+            return;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            sorted.put(Util.urlEncode(param.getKey(), false), Util.urlEncode(param.getValue(), false));
+        }
+        boolean first = true;
+        for (Map.Entry<String, String> param : sorted.entrySet()) {
+            if (!first) {
+                sb.append('&');
+            }
+            sb.append(param.getKey()).append('=').append(param.getValue());
+            first = false;
+        }
+    }
+
+    /**
+     * Appends a string with each run of whitespace replaced by a single space.
+     */
+    private static StringBuilder appendCollapsed(StringBuilder sb, String value) {
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isWhitespace(c)) {
+                if (!space) {
+                    sb.append(' ');
+                    space = true;
+                }
+            } else {
+                sb.append(c);
+                space = false;
+            }
+        }
+        return sb;
+    }
+
+    private static boolean isWhitespace(char c) {
+        // same as \s in java.util.regex
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static StringBuilder appendHex(StringBuilder sb, byte[] data) {
+        for (byte b : data) {
+            sb.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+        }
+        return sb;
+    }
+
+    private static final class SigningKey {
+        private final String secretKey;
+        private final String date;
+        private final String region;
+        private final String serviceName;
+        private final SecretKeySpec key;
+
+        SigningKey(String secretKey, String date, String region, String serviceName, SecretKeySpec key) {
+            this.secretKey = secretKey;
+            this.date = date;
+            this.region = region;
+            this.serviceName = serviceName;
+            this.key = key;
+        }
+
+        boolean matches(String secretKey, String date, String region, String serviceName) {
+            return this.date.equals(date) && this.secretKey.equals(secretKey) &&
+                    this.region.equals(region) && this.serviceName.equals(serviceName);
+        }
+    }
+
+    private static final class Timestamp {
+        private final long second;
+        private final String dateTime;
+        private final String date;
+
+        Timestamp(long second) {
+            this.second = second;
+            this.dateTime = TIME_FORMATTER.format(Instant.ofEpochSecond(second));
+            this.date = dateTime.substring(0, 8);
+        }
+    }
+}
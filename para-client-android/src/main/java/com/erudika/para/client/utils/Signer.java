@@ -19,24 +19,25 @@ package com.erudika.para.client.utils;
 
 import com.android.volley.Request;
 import com.android.volley.Response;
-import com.github.davidmoten.aws.lw.client.internal.auth.AwsSignatureVersion4;
 import com.github.davidmoten.aws.lw.client.internal.util.Util;
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
-import java.net.URL;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +60,91 @@ public final class Signer {
      * If true, resource path will be URL-encoded twice for compatibility with older Para instances.
      */
     private static final boolean DOUBLE_URL_ENCODE = true;
+
+    private volatile boolean binaryWireFormat;
+    private volatile int compressionThreshold = -1;
+    private final AtomicLong compressedRequests = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private volatile ResponseStore responseStore;
+    private final SignatureV4 signatureV4 = new SignatureV4();
+    private final ClockSkew clockSkew = new ClockSkew();
+
+    /**
+     * @return true if request and response bodies are encoded in CBOR instead of JSON
+     */
+    public boolean isBinaryWireFormat() {
+        return binaryWireFormat;
+    }
+
+    /**
+     * Enables the binary wire format. Request bodies are serialized to CBOR and the server
+     * is asked to respond with CBOR. Responses in JSON are still accepted.
+     * @param binaryWireFormat true to send and accept {@code application/cbor}
+     */
+    public void setBinaryWireFormat(boolean binaryWireFormat) {
+        this.binaryWireFormat = binaryWireFormat;
+    }
+
+    /**
+     * @return the minimum body size in bytes for gzip compression, or -1 if compression is disabled
+     */
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Enables gzip compression of request bodies. Bodies larger than the threshold are sent with
+     * {@code Content-Encoding: gzip}. The request signature is computed over the compressed bytes.
+     * @param thresholdBytes the minimum body size in bytes, a negative value disables compression
+     */
+    public void setCompressionThreshold(int thresholdBytes) {
+        this.compressionThreshold = thresholdBytes;
+    }
+
+    /**
+     * @return the number of requests sent with a compressed body
+     */
+    public long getCompressedRequests() {
+        return compressedRequests.get();
+    }
+
+    /**
+     * @return the total size in bytes of the compressed request bodies, before compression
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * @return the total size in bytes of the compressed request bodies, after compression
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * @return the offset between the local clock and the server clock, applied to the request time
+     */
+    public ClockSkew getClockSkew() {
+        return clockSkew;
+    }
+
+    /**
+     * @return the store used for conditional GET requests, or null if disabled
+     */
+    public ResponseStore getResponseStore() {
+        return responseStore;
+    }
+
+    /**
+     * Enables conditional GET requests. Stored responses are revalidated with
+     * {@code If-None-Match} and {@code If-Modified-Since}, so unchanged resources are not downloaded again.
+     * @param responseStore a response store, null disables conditional requests
+     */
+    public void setResponseStore(ResponseStore responseStore) {
+        this.responseStore = responseStore;
+    }
     /**
      * Signs a request using AWS signature V4.
      * @param httpMethod GET/POST/PUT... etc.
@@ -96,36 +182,38 @@ public final class Signer {
     public Map<String, String> sign(String httpMethod, String endpoint, String resourcePath,
                                     Map<String, String> headers, Map<String, String> params, InputStream entity,
                                     String accessKey, String secretKey, String serviceName, String region, boolean doubleUrlEncodePath) {
+        String contentHash;
+        try {
+            contentHash = SignatureV4.sha256Hex(entity == null ? null : entity.readAllBytes());
+        } catch (IOException e) {
+            logger.info("Request signature failed: {}", e.getMessage());
+            return new HashMap<>();
+        }
+        return sign(httpMethod, endpoint, resourcePath, headers, params, contentHash, accessKey, secretKey,
+                serviceName, region, doubleUrlEncodePath);
+    }
 
+    private Map<String, String> sign(String httpMethod, String endpoint, String resourcePath,
+                                     Map<String, String> headers, Map<String, String> params, String contentHash,
+                                     String accessKey, String secretKey, String serviceName, String region,
+                                     boolean doubleUrlEncodePath) {
         Map<String, String> headerz = new HashMap<>();
-        Map<String, String> h = Optional.ofNullable(headers).orElse(Collections.emptyMap());
-        String date = h.getOrDefault("x-amz-date", h.get("X-Amz-Date"));
-        com.github.davidmoten.aws.lw.client.internal.Clock clock
-                = () -> date != null ? parseAWSInstant(date).toEpochMilli() : Instant.now().toEpochMilli();
+        String date = null;
         if (headers != null) {
+            date = headers.getOrDefault("x-amz-date", headers.get("X-Amz-Date"));
             headerz.putAll(headers);
             headerz.remove("host");
             headerz.remove("Host");
             headerz.remove("x-amz-date");
             headerz.remove("X-Amz-Date");
         }
-
         try {
-            final String contentHashString;
-            byte[] requestBody = entity == null ? null : entity.readAllBytes();
-            if (requestBody == null || requestBody.length == 0) {
-                contentHashString = AwsSignatureVersion4.EMPTY_BODY_SHA256;
-            } else {
-                contentHashString = Util.toHex(Util.sha256(requestBody));
-            }
-            URL endpointURL = URI.create(endpoint + urlEncodeExceptSlashes(resourcePath, doubleUrlEncodePath)).toURL();
-
-            // https://github.com/davidmoten/aws-lightweight-client-java/pull/232
-            headerz.put("Authorization", AwsSignatureVersion4.computeSignatureForAuthorizationHeader(endpointURL,
-                    httpMethod, serviceName, region, clock, headerz, params, contentHashString, accessKey, secretKey));
+            long time = (date != null) ? parseAWSInstant(date).toEpochMilli() : clockSkew.now();
+            headerz.put("Authorization", signatureV4.sign(httpMethod,
+                    endpoint + urlEncodeExceptSlashes(resourcePath, doubleUrlEncodePath), headerz, params,
+                    contentHash, time, accessKey, secretKey, serviceName, region));
             // clean up headers and normalize case
-            headerz.put("X-Amz-Date", headerz.get("x-amz-date"));
-            headerz.remove("x-amz-date");
+            headerz.put("X-Amz-Date", headerz.remove("x-amz-date"));
         } catch (Exception e) {
             logger.info("Request signature failed: {}", e.getMessage());
         }
@@ -181,6 +269,14 @@ public final class Signer {
     public Map<String, String> signRequest(String accessKey, String secretKey,
                                            String httpMethod, String endpointURL, String reqPath,
                                            Map<String, String> headers, Map<String, List<String>> params, byte[] jsonEntity) {
+        return signRequest(accessKey, secretKey, httpMethod, endpointURL, reqPath, headers, params,
+                SignatureV4.sha256Hex(jsonEntity));
+    }
+
+    private Map<String, String> signRequest(String accessKey, String secretKey,
+                                            String httpMethod, String endpointURL, String reqPath,
+                                            Map<String, String> headers, Map<String, List<String>> params,
+                                            String contentHash) {
         if (headers == null) {
             headers = new HashMap<>();
         }
@@ -199,7 +295,6 @@ public final class Signer {
             httpMethod = "GET";
         }
 
-        InputStream in = null;
         Map<String, String> sigParams = new HashMap<>();
 
         if (params != null) {
@@ -212,11 +307,8 @@ public final class Signer {
             }
         }
 
-        if (jsonEntity != null && jsonEntity.length > 0) {
-            in = new ByteArrayInputStream(jsonEntity);
-        }
-
-        return sign(httpMethod, endpointURL, reqPath, headers, sigParams, in, accessKey, secretKey);
+        return sign(httpMethod, endpointURL, reqPath, headers, sigParams, contentHash,
+                accessKey, secretKey, SERVICE_NAME, REGION, DOUBLE_URL_ENCODE);
     }
 
     /**
@@ -231,7 +323,7 @@ public final class Signer {
      * @param headers headers map
      * @param params parameters map
      * @param type type
-     * @param body an object that will be serialized to JSON byte array (payload), could be null
+     * @param body an object that will be serialized to JSON or CBOR byte array (payload), could be null
      * @param success success handler
      * @param error error handler
      * @return a response object
@@ -241,10 +333,46 @@ public final class Signer {
             int httpMethod, String endpointURL, String reqPath,
             Map<String, String> headers, Map<String, List<String>> params, T body, Class<?> type,
             Response.Listener<?> success, Response.ErrorListener error) {
+        return invokeSignedRequest(accessKey, secretKey, httpMethod, endpointURL, reqPath, headers, params,
+                body, type, null, success, error);
+    }
+
+    /**
+     * Builds and signs a request, like {@link #invokeSignedRequest(String, String, int, String, String,
+     * Map, Map, Object, Class, Response.Listener, Response.ErrorListener)}, and propagates a span
+     * with the {@code traceparent} header. The header is added after signing, so it is not signed.
+     * @param <T> t
+     * @param accessKey access key
+     * @param secretKey secret key
+     * @param httpMethod the method (GET, POST...)
+     * @param endpointURL protocol://host:port
+     * @param reqPath the API resource path relative to the endpointURL
+     * @param headers headers map
+     * @param params parameters map
+     * @param body an object that will be serialized to JSON or CBOR byte array (payload), could be null
+     * @param type type
+     * @param span the client span of the request, ended when the response is delivered, could be null
+     * @param success success handler
+     * @param error error handler
+     * @return a response object
+     */
+    public <T> ParaRequest<T> invokeSignedRequest(String accessKey, String secretKey,
+            int httpMethod, String endpointURL, String reqPath,
+            Map<String, String> headers, Map<String, List<String>> params, T body, Class<?> type,
+            Span span, Response.Listener<?> success, Response.ErrorListener error) {
 
+        if (span != null && headers != null) {
+            // a header map reused from an earlier attempt still carries the old one
+            headers.remove(Tracer.TRACEPARENT);
+        }
         String url = endpointURL + reqPath;
-        String queryString;
-        byte[] entity = jsonBytes(body);
+        boolean cbor = binaryWireFormat;
+        // the payload hash is computed over the exact bytes sent on the wire, while they are written
+        HashingOutputStream entity = serialize(body, cbor);
+        HashingOutputStream gzipped = gzip(entity);
+        if (gzipped != null) {
+            entity = gzipped;
+        }
         boolean isJWT = StringUtils.startsWithIgnoreCase(secretKey, "Bearer");
 
         if (type == null) {
@@ -254,7 +382,7 @@ public final class Signer {
         Map<String, String> signedHeaders = null;
         if (!isJWT) {
             signedHeaders = signRequest(accessKey, secretKey, getMethodString(httpMethod),
-                    endpointURL, reqPath, headers, params, entity);
+                    endpointURL, reqPath, headers, params, entity.getHash());
         }
         if (headers == null) {
             headers = new HashMap<String, String>();
@@ -265,7 +393,38 @@ public final class Signer {
             headers.put("Authorization", signedHeaders.get("Authorization"));
             headers.put("X-Amz-Date", signedHeaders.get("X-Amz-Date"));
         }
-        return new ParaRequest(httpMethod, url, headers, entity, type, success, error);
+        if (cbor) {
+            headers.put("Accept", ClientUtils.CBOR_MEDIA_TYPE + ", application/json;q=0.9");
+        }
+        if (gzipped != null) {
+            headers.put("Content-Encoding", "gzip");
+        }
+        ResponseStore store = (httpMethod == Request.Method.GET) ? responseStore : null;
+        ResponseStore.StoredResponse stored = (store == null) ? null : store.get(url);
+        if (stored != null) {
+            // validators are not part of the signature
+            if (stored.getEtag() != null) {
+                headers.put("If-None-Match", stored.getEtag());
+            }
+            if (stored.getLastModified() != null) {
+                headers.put("If-Modified-Since", stored.getLastModified());
+            }
+        }
+        if (span != null) {
+            // the trace context is not part of the signature
+            headers.put(Tracer.TRACEPARENT, span.getTraceparent());
+        }
+        ParaRequest<T> request = new ParaRequest(httpMethod, url, headers, entity.getBuffer(), entity.size(),
+                cbor ? ClientUtils.CBOR_MEDIA_TYPE : null, type, success, error);
+        request.setResponseStore(store);
+        request.setRevalidatedResponse(stored);
+        if (store != null) {
+            // only one cache layer revalidates, otherwise the validators would be sent twice
+            request.setShouldCache(false);
+        }
+        request.setClockSkew(clockSkew);
+        request.setSpan(span);
+        return request;
     }
 
     private String getMethodString(int httpMethod) {
@@ -283,18 +442,45 @@ public final class Signer {
         return method;
     }
 
-    private byte[] jsonBytes(Object o) {
+    HashingOutputStream serialize(Object o, boolean cbor) {
+        HashingOutputStream out = new HashingOutputStream();
         if (o == null) {
-            return new byte[0];
+            return out;
         }
         try {
-            return ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(o);
+            if (cbor) {
+                ClientUtils.getCborWriter().writeValue(out, o);
+            } else {
+                ClientUtils.getJsonWriterNoIdent().writeValue(out, o);
+            }
+            return out;
         } catch (Exception e) {
-            logger.error("Object could not be converted to JSON byte[]", e);
-            return new byte[0];
+            logger.error("Object could not be converted to " + (cbor ? "CBOR" : "JSON") + " byte[]", e);
+            return new HashingOutputStream();
         }
     }
 
+    HashingOutputStream gzip(HashingOutputStream entity) {
+        int threshold = compressionThreshold;
+        if (threshold < 0 || entity.size() == 0 || entity.size() < threshold) {
+            return null;
+        }
+        HashingOutputStream out = new HashingOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            entity.writeTo(gzip);
+        } catch (IOException e) {
+            logger.error("Failed to compress request body", e);
+            return null;
+        }
+        if (out.size() >= entity.size()) {
+            return null;
+        }
+        compressedRequests.incrementAndGet();
+        uncompressedBytes.addAndGet(entity.size());
+        compressedBytes.addAndGet(out.size());
+        return out;
+    }
+
     private String setQueryParameters(String uri, Map<String, List<String>> params) {
         if (params != null) {
             List<String> paramz = new LinkedList<>();
@@ -313,4 +499,63 @@ public final class Signer {
         }
         return uri;
     }
+
+    /**
+     * Collects the serialized request body in a growable buffer and computes its SHA-256 hash while
+     * it is written, so the body is never re-read for hashing. The buffer itself, with its length,
+     * is handed to the {@link ParaRequest}, so the body is not copied once it is serialized.
+     */
+    static final class HashingOutputStream extends OutputStream {
+        private final MessageDigest digest;
+        private byte[] buffer = new byte[0];
+        private int size;
+
+        HashingOutputStream() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(size + 1);
+            digest.update((byte) b);
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(size + len);
+            digest.update(b, off, len);
+            System.arraycopy(b, off, buffer, size, len);
+            size += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(Math.max(capacity, buffer.length * 2), 1024));
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        String getHash() {
+            return size == 0 ? SignatureV4.EMPTY_BODY_SHA256 : SignatureV4.toHex(digest.digest());
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(buffer, 0, size);
+        }
+
+        /**
+         * @return the internal buffer, only the first {@link #size()} bytes are valid
+         */
+        byte[] getBuffer() {
+            return buffer;
+        }
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.VolleyError;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A client span - the timing of one request, or of a logical operation which fans out into
+ * several requests, e.g. a chunked batch read. Spans of the same operation share a trace id and
+ * child spans point to their parent, following the W3C Trace Context model.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class Span {
+
+    private final Tracer tracer;
+    private final String name;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final long startTime;
+    private final long startNanos;
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private volatile long duration = -1;
+    private volatile String status;
+
+    Span(Tracer tracer, String name, String traceId, String spanId, String parentSpanId) {
+        this.tracer = tracer;
+        this.name = name;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.startTime = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Ends the span and sends it to the span sink. Only the first call has an effect.
+     * @param error the error or null if the operation was successful
+     */
+    public void end(VolleyError error) {
+        if (ended.compareAndSet(false, true)) {
+            duration = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            status = ClientMetrics.getStatusClass(error);
+            tracer.finish(this);
+        }
+    }
+
+    /**
+     * @return the value of the {@code traceparent} header for requests made within this span
+     */
+    public String getTraceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    /**
+     * @return the span name, i.e. the logical operation
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the trace id, 32 hex characters
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * @return the span id, 16 hex characters
+     */
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * @return the id of the parent span, or null for a root span
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    /**
+     * @return the start time in milliseconds since the epoch
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the duration in microseconds, or -1 if the span hasn't ended
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the outcome, e.g. "2xx", "4xx" or "timeout", see {@link ClientMetrics#getStatusClass(VolleyError)},
+     * or null if the span hasn't ended
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return name + " trace=" + traceId + " span=" + spanId + " parent=" + parentSpanId +
+                " duration=" + duration + "us status=" + status;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the JWT access token state and coordinates token refreshes. Concurrent refresh
+ * attempts are coalesced into a single in-flight request and all callers share its result.
+ * Renewal is also scheduled in the background for the moment the token becomes refreshable,
+ * so that request paths don't have to wait for it.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class TokenManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenManager.class);
+    private static final long REFRESH_DELAY_MILLIS = 1000;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "para-token-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Performs the actual token refresh request.
+     */
+    public interface Refresher {
+        /**
+         * Refreshes the token. Implementations should update the token state through
+         * {@link TokenManager#setToken(String, Long, Long)} before completing the future.
+         * @return a future which completes with true if the token was refreshed
+         */
+        CompletableFuture<Boolean> refresh();
+    }
+
+    private final AtomicReference<CompletableFuture<Boolean>> inFlight = new AtomicReference<>();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private volatile Token token = Token.EMPTY;
+    private volatile Refresher refresher;
+    private volatile boolean proactiveRefresh = true;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * Default constructor.
+     */
+    public TokenManager() {
+    }
+
+    /**
+     * @param refresher performs the refresh request
+     */
+    public TokenManager(Refresher refresher) {
+        this.refresher = refresher;
+    }
+
+    /**
+     * @param refresher performs the refresh request
+     */
+    public void setRefresher(Refresher refresher) {
+        this.refresher = refresher;
+    }
+
+    /**
+     * Enables or disables the background renewal of tokens.
+     * @param proactiveRefresh true to schedule renewal when the token becomes refreshable (default)
+     */
+    public void setProactiveRefresh(boolean proactiveRefresh) {
+        this.proactiveRefresh = proactiveRefresh;
+        Token current = token;
+        scheduleRefresh(current);
+    }
+
+    /**
+     * @return the JWT access token, or null
+     */
+    public String getToken() {
+        return token.value;
+    }
+
+    /**
+     * @return the expiration timestamp of the token, or null
+     */
+    public Long getExpires() {
+        return token.expires;
+    }
+
+    /**
+     * @return the timestamp after which the token can be refreshed, or null
+     */
+    public Long getNextRefresh() {
+        return token.nextRefresh;
+    }
+
+    /**
+     * @return the number of refresh requests made
+     */
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    /**
+     * @return the number of refresh attempts which joined a request already in flight
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Updates the token state and schedules the next renewal.
+     * @param value the JWT access token
+     * @param expires expiration timestamp
+     * @param nextRefresh the timestamp after which the token can be refreshed
+     */
+    public void setToken(String value, Long expires, Long nextRefresh) {
+        Token t = (value == null) ? Token.EMPTY : new Token(value, expires, nextRefresh);
+        token = t;
+        scheduleRefresh(t);
+    }
+
+    /**
+     * Clears the token state and cancels any scheduled renewal.
+     */
+    public void clear() {
+        setToken(null, null, null);
+    }
+
+    /**
+     * Checks if the token is present, not expired and can be refreshed.
+     * @param now the current time in milliseconds
+     * @return true if a refresh request should be made
+     */
+    public boolean canRefresh(long now) {
+        Token t = token;
+        boolean notExpired = t.expires != null && t.expires > now;
+        boolean canRefresh = t.nextRefresh != null &&
+                (t.nextRefresh < now || t.nextRefresh > t.expires);
+        // token present and NOT expired
+        return t.value != null && notExpired && canRefresh;
+    }
+
+    /**
+     * Refreshes the token if it is refreshable. If a refresh is already in flight, no new
+     * request is made and the returned future completes with the result of the pending one.
+     * @return a future which completes with true if the token was refreshed
+     */
+    public CompletableFuture<Boolean> refresh() {
+        while (true) {
+            CompletableFuture<Boolean> pending = inFlight.get();
+            if (pending != null) {
+                coalesced.incrementAndGet();
+                return pending;
+            }
+            Refresher r = refresher;
+            if (r == null || !canRefresh(System.currentTimeMillis())) {
+                return CompletableFuture.completedFuture(false);
+            }
+            final CompletableFuture<Boolean> promise = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, promise)) {
+                refreshes.incrementAndGet();
+                try {
+                    r.refresh().whenComplete((refreshed, ex) -> {
+                        inFlight.compareAndSet(promise, null);
+                        if (ex != null) {
+                            promise.completeExceptionally(ex);
+                        } else {
+                            promise.complete(refreshed != null && refreshed);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.compareAndSet(promise, null);
+                    promise.completeExceptionally(e);
+                }
+                return promise;
+            }
+        }
+    }
+
+    private synchronized void scheduleRefresh(Token t) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+        if (!proactiveRefresh || t.value == null || t.expires == null || t.nextRefresh == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long refreshAt = t.nextRefresh + REFRESH_DELAY_MILLIS;
+        if (refreshAt >= t.expires) {
+            return;
+        }
+        scheduledRefresh = SCHEDULER.schedule(() -> {
+            refresh().whenComplete((refreshed, ex) -> {
+                if (ex != null) {
+                    logger.warn("Background token refresh failed: {}", ex.getMessage());
+                }
+            });
+        }, Math.max(0, refreshAt - now), TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Token {
+        private static final Token EMPTY = new Token(null, null, null);
+
+        private final String value;
+        private final Long expires;
+        private final Long nextRefresh;
+
+        private Token(String value, Long expires, Long nextRefresh) {
+            this.value = value;
+            this.expires = expires;
+            this.nextRefresh = nextRefresh;
+        }
+    }
+}
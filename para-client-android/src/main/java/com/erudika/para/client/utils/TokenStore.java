@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+/**
+ * Persists the JWT access token data between sessions.
+ * Reads should be served from memory, after the initial {@link #load()}.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public interface TokenStore {
+
+    /**
+     * Loads the token data from storage. This may block and is
+     * called once, off the main thread.
+     */
+    void load();
+
+    /**
+     * @return the JWT access token, or null
+     */
+    String getToken();
+
+    /**
+     * @return the expiration timestamp of the token, or null
+     */
+    Long getExpires();
+
+    /**
+     * @return the timestamp after which the token can be refreshed, or null
+     */
+    Long getNextRefresh();
+
+    /**
+     * Saves all token fields in one write.
+     * @param token the JWT access token
+     * @param expires expiration timestamp
+     * @param nextRefresh the timestamp after which the token can be refreshed
+     */
+    void save(String token, Long expires, Long nextRefresh);
+
+    /**
+     * Removes the token data from storage.
+     */
+    void clear();
+}
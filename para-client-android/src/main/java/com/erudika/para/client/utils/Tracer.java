@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates client spans and propagates them to the Para server with the W3C {@code traceparent}
+ * header. Every request gets its own span. If a parent span is in scope on the calling thread,
+ * e.g. while a chunked batch or a paginated iteration is running, the request span becomes its
+ * child and shares its trace id. Otherwise it starts a new trace. Ended spans are sent to a
+ * {@link SpanSink}.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public final class Tracer {
+
+    /**
+     * The name of the W3C trace context header.
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final Logger logger = LoggerFactory.getLogger(Tracer.class);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Records ended spans, e.g. to send them to a tracing backend.
+     */
+    public interface SpanSink {
+        /**
+         * @param span an ended span
+         */
+        void onSpan(Span span);
+    }
+
+    /**
+     * A sink which writes spans to the log.
+     */
+    public static final SpanSink LOG_SINK = span -> logger.info("{}", span);
+
+    private final ThreadLocal<Span> scope = new ThreadLocal<>();
+    private final SpanSink sink;
+
+    /**
+     * @param sink receives ended spans
+     */
+    public Tracer(SpanSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Starts a span. It is a child of the span in scope on the calling thread, if any,
+     * or the root of a new trace.
+     * @param name the logical operation, e.g. "read" or "findQuery"
+     * @return a new span
+     */
+    public Span startSpan(String name) {
+        Span parent = scope.get();
+        if (parent == null) {
+            return startSpan(name, null, null);
+        }
+        return startSpan(name, parent.getTraceId(), parent.getSpanId());
+    }
+
+    /**
+     * Starts a span in an existing trace, e.g. for a retry of a request.
+     * @param name the logical operation
+     * @param traceId a trace id, or null to start a new trace
+     * @param parentSpanId the id of the parent span, or null
+     * @return a new span
+     */
+    public Span startSpan(String name, String traceId, String parentSpanId) {
+        return new Span(this, name, (traceId == null) ? newId(16) : traceId, newId(8), parentSpanId);
+    }
+
+    /**
+     * @return the span in scope on the calling thread, or null
+     */
+    public Span getCurrentSpan() {
+        return scope.get();
+    }
+
+    /**
+     * Runs a task with a span in scope, so that requests made by the task are its children.
+     * @param parent a span
+     * @param task a task
+     */
+    public void runInScope(Span parent, Runnable task) {
+        callInScope(parent, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a task with a span in scope, so that requests made by the task are its children.
+     * @param <T> the result type
+     * @param parent a span
+     * @param task a task
+     * @return the result of the task
+     */
+    public <T> T callInScope(Span parent, Supplier<T> task) {
+        Span previous = scope.get();
+        scope.set(parent);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                scope.remove();
+            } else {
+                scope.set(previous);
+            }
+        }
+    }
+
+    void finish(Span span) {
+        if (sink == null) {
+            return;
+        }
+        try {
+            sink.onSpan(span);
+        } catch (Exception e) {
+            logger.warn("Span sink failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param bytes the length of the id in bytes
+     * @return a random, non-zero id in lowercase hex
+     */
+    static String newId(int bytes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[bytes * 2];
+        boolean zero = true;
+        while (zero) {
+            for (int i = 0; i < id.length; i++) {
+                int n = random.nextInt(16);
+                zero &= (n == 0);
+                id[i] = HEX[n];
+            }
+        }
+        return new String(id);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.RequestQueue;
+
+/**
+ * A transport backed by a Volley {@link RequestQueue}. Requests are executed on the
+ * network dispatcher threads of the queue. This is the default transport.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class VolleyTransport implements ParaTransport {
+
+    private final RequestQueue requestQueue;
+
+    /**
+     * Default constructor.
+     * @param requestQueue a Volley request queue
+     */
+    public VolleyTransport(RequestQueue requestQueue) {
+        this.requestQueue = requestQueue;
+    }
+
+    /**
+     * @return the Volley request queue
+     */
+    public RequestQueue getRequestQueue() {
+        return requestQueue;
+    }
+
+    @Override
+    public void execute(ParaRequest<?> request) {
+        requestQueue.add(request);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import static com.android.volley.Response.*;
+import com.android.volley.VolleyError;
+import com.erudika.para.client.utils.BatchChunker;
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * BulkWriter tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class BulkWriterTest {
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(8);
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Completes batch requests asynchronously, without a server.
+     */
+    private static class FakeSender implements BatchChunker.ChunkCall<ParaObject, ParaObject> {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+        private final String failOnId;
+
+        FakeSender(String failOnId) {
+            this.failOnId = failOnId;
+        }
+
+        @Override
+        public void execute(List<ParaObject> objects, Listener<List<ParaObject>> callback,
+                ErrorListener error) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            batchSizes.add(objects.size());
+            pool.execute(() -> {
+                sleep(5);
+                inFlight.decrementAndGet();
+                boolean fail = objects.stream().anyMatch(o -> o.getId().equals(failOnId));
+                if (fail) {
+                    error.onErrorResponse(new VolleyError("failed"));
+                } else {
+                    // like Para, invalid objects aren't written and are left out of the response
+                    callback.onResponse(objects.stream().filter(o -> !o.getId().startsWith("invalid")).
+                            collect(Collectors.toList()));
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testBatchesAreBoundedByCountAndInFlight() throws Exception {
+        FakeSender pc = new FakeSender(null);
+        final AtomicInteger progressCalls = new AtomicInteger();
+        BulkWriter writer = new BulkWriter(pc);
+        writer.setMaxBatchSize(100);
+        writer.setMaxInFlight(2);
+        writer.setProgressListener((written, failed, objectsPerSecond) -> progressCalls.incrementAndGet());
+        try (BulkWriter w = writer) {
+            for (int i = 0; i < 1000; i++) {
+                w.add(new Sysprop("id" + i));
+            }
+        }
+        assertEquals(1000, writer.getWrittenCount());
+        assertEquals(0, writer.getFailedCount());
+        assertEquals(10, writer.getBatchCount());
+        assertEquals(10, progressCalls.get());
+        assertTrue(pc.maxInFlight.get() <= 2);
+        assertTrue(writer.getBytesSent() > 0);
+        assertTrue(writer.getThroughput() > 0);
+    }
+
+    @Test
+    public void testBatchesAreBoundedByBytes() throws Exception {
+        FakeSender pc = new FakeSender(null);
+        BulkWriter writer = new BulkWriter(pc);
+        writer.setMaxBatchSize(1000);
+        writer.setMaxBatchBytes(2048);
+        for (int i = 0; i < 100; i++) {
+            Sysprop s = new Sysprop("id" + i);
+            s.setName(new String(new char[100]).replace('\0', 'x'));
+            writer.add(s);
+        }
+        writer.flush();
+        assertEquals(100, writer.getWrittenCount());
+        assertTrue(writer.getBatchCount() > 1);
+        for (Integer size : pc.batchSizes) {
+            assertTrue(size < 100);
+        }
+    }
+
+    @Test
+    public void testObjectsAreNotMeasuredWithoutByteLimit() throws Exception {
+        FakeSender pc = new FakeSender(null);
+        BulkWriter writer = new BulkWriter(pc);
+        writer.setMaxBatchSize(10);
+        writer.setMaxBatchBytes(0);
+        for (int i = 0; i < 30; i++) {
+            writer.add(new Sysprop("id" + i));
+        }
+        writer.flush();
+        assertEquals(30, writer.getWrittenCount());
+        assertEquals(3, writer.getBatchCount());
+        assertEquals(0, writer.getBytesSent());
+    }
+
+    @Test
+    public void testFailedBatchesAreReported() throws Exception {
+        FakeSender pc = new FakeSender("id15");
+        final AtomicInteger failedObjects = new AtomicInteger();
+        BulkWriter writer = new BulkWriter(pc);
+        writer.setMaxBatchSize(10);
+        writer.setProgressListener(new BulkWriter.ProgressListener() {
+            public void onProgress(long written, long failed, double objectsPerSecond) {
+            }
+
+            public void onError(List<ParaObject> batch, VolleyError error) {
+                failedObjects.addAndGet(batch.size());
+            }
+        });
+        for (int i = 0; i < 30; i++) {
+            writer.add(new Sysprop("id" + i));
+        }
+        writer.flush();
+        assertEquals(20, writer.getWrittenCount());
+        assertEquals(10, writer.getFailedCount());
+        assertEquals(10, failedObjects.get());
+    }
+
+    @Test
+    public void testSkippedObjectsAreCountedAsFailed() throws Exception {
+        FakeSender pc = new FakeSender(null);
+        BulkWriter writer = new BulkWriter(pc);
+        writer.setMaxBatchSize(10);
+        for (int i = 0; i < 20; i++) {
+            writer.add(new Sysprop((i % 4 == 0 ? "invalid" : "id") + i));
+        }
+        writer.flush();
+        assertEquals(15, writer.getWrittenCount());
+        assertEquals(5, writer.getFailedCount());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import com.erudika.para.client.utils.BatchChunker;
+import com.erudika.para.client.utils.ClientUtils;
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for batch operations which are sent in chunks - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ChunkedBatchTest {
+
+    private MockWebServer server;
+    private ParaClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            public MockResponse dispatch(RecordedRequest request) {
+                List<String> ids = request.getRequestUrl().queryParameterValues("ids");
+                if (ids.contains("id150")) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                if ("DELETE".equals(request.getMethod())) {
+                    return new MockResponse().setHeader("Content-Type", "application/json").setBody("{}");
+                }
+                List<Sysprop> objects = new ArrayList<>();
+                for (String id : ids) {
+                    objects.add(new Sysprop(id));
+                }
+                try {
+                    return new MockResponse().setHeader("Content-Type", "application/json").
+                            setBody(ClientUtils.getJsonWriterNoIdent().writeValueAsString(objects));
+                } catch (Exception e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+        server.start();
+        client = new ParaClient("app:test", "secret", null);
+        client.setEndpoint(server.url("/").toString().replaceAll("/$", ""));
+        client.setBatchChunkSize(100);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private static List<String> ids(int from, int to) {
+        List<String> ids = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ids.add("id" + i);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testChunkedReadReturnsAllResults() {
+        List<ParaObject> res = client.readAllSync(ids(0, 120));
+        assertEquals(120, res.size());
+        assertEquals("id0", res.get(0).getId());
+        assertEquals("id119", res.get(119).getId());
+    }
+
+    @Test
+    public void testFailedChunkIsNotSwallowed() {
+        try {
+            client.readAllSync(ids(0, 250));
+            fail("a failed chunk must not return partial results");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof BatchChunker.BatchError);
+            BatchChunker.BatchError err = (BatchChunker.BatchError) e.getCause();
+            assertEquals(3, err.getChunkCount());
+            assertEquals(100, err.getFailedItems().size());
+            assertEquals(150, err.getResults().size());
+        }
+        try {
+            client.deleteAllSync(ids(100, 250));
+            fail("a failed chunk must not be ignored");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof BatchChunker.BatchError);
+        }
+    }
+
+    @Test
+    public void testChunkedDeleteCompletesWithList() throws Exception {
+        final CompletableFuture<List<ParaObject>> done = new CompletableFuture<>();
+        client.deleteAll(ids(0, 120), done::complete, done::completeExceptionally);
+        assertTrue(done.get(10, TimeUnit.SECONDS).isEmpty());
+        client.deleteAllSync(ids(0, 120));
+    }
+}
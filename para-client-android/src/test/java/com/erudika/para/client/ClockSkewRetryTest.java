@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import com.erudika.para.core.ParaObject;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for retrying requests rejected because of clock skew - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ClockSkewRetryTest {
+
+    @Test
+    public void testRetryIsSignedWithCorrectedDate() throws Exception {
+        MockWebServer server = new MockWebServer();
+        String serverDate = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+        server.enqueue(new MockResponse().setResponseCode(403).setHeader("Date", serverDate));
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").
+                setBody("{\"id\":\"u1\",\"type\":\"user\"}"));
+        server.start();
+        try {
+            ParaClient pc = new ParaClient("app:test", "secret", null);
+            pc.setEndpoint(server.url("/").toString().replaceAll("/$", ""));
+            CompletableFuture<ParaObject> me = new CompletableFuture<>();
+            // a request with caller headers, which the first attempt writes its signature into
+            pc.me("token", me::complete, me::completeExceptionally);
+            assertEquals("u1", me.get(10, TimeUnit.SECONDS).getId());
+
+            RecordedRequest rejected = server.takeRequest();
+            RecordedRequest retried = server.takeRequest();
+            String date = rejected.getHeader("X-Amz-Date");
+            String retryDate = retried.getHeader("X-Amz-Date");
+            assertNotNull(retryDate);
+            assertTrue(retryDate.compareTo(date) > 0);
+            assertNotEquals(rejected.getHeader("Authorization"), retried.getHeader("Authorization"));
+            assertEquals(1, pc.getClockSkewRetryCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import com.erudika.para.client.utils.Pager;
+import com.erudika.para.core.Sysprop;
+import java.util.Iterator;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for failed page requests in iterate() - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class PagedIterationTest {
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+
+    private static ParaClient client(MockWebServer server) {
+        ParaClient pc = new ParaClient("app:test", "secret", null);
+        pc.setEndpoint(server.url("/").toString().replaceAll("/$", ""));
+        return pc;
+    }
+
+    @Test
+    public void testFailedPageIsNotTheEnd() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(json("{\"items\":[{\"id\":\"1\",\"type\":\"sysprop\"}],\"totalHits\":2}"));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.start();
+        try {
+            ParaClient pc = client(server);
+            Iterator<Sysprop> it = pc.<Sysprop>iterate(p -> pc.listSync("sysprop", p), new Pager(1)).iterator();
+            assertEquals("1", it.next().getId());
+            try {
+                it.hasNext();
+                fail("A failed page should be propagated to the consumer");
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains("iterate"));
+            }
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedLookupDoesNotFailPage() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(json("{\"items\":[],\"totalHits\":0}"));
+        server.start();
+        try {
+            ParaClient pc = client(server);
+            Iterator<Sysprop> it = pc.<Sysprop>iterate(p -> {
+                assertNull(pc.readSync("missing"));
+                return pc.listSync("sysprop", p);
+            }, new Pager(1)).iterator();
+            assertFalse(it.hasNext());
+            assertEquals(2, server.getRequestCount());
+        } finally {
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * ReadBatcher tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ReadBatcherTest {
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(16);
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static ReadBatcher newBatcher(final AtomicInteger requests) {
+        return new ReadBatcher((ids, success, error) -> {
+            requests.incrementAndGet();
+            pool.execute(() -> {
+                List<ParaObject> found = new ArrayList<>();
+                for (String id : ids) {
+                    if (!id.startsWith("missing")) {
+                        found.add(new Sysprop(id));
+                    }
+                }
+                success.onResponse(found);
+            });
+        });
+    }
+
+    @Test
+    public void testConcurrentReadsAreCoalesced() throws Exception {
+        for (int n : new int[] {50, 200, 1000}) {
+            AtomicInteger requests = new AtomicInteger();
+            ReadBatcher rb = newBatcher(requests);
+            rb.setWindowMillis(10);
+            List<CompletableFuture<CompletableFuture<ParaObject>>> reads = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                // half of the reads are for ids which are already requested
+                final String id = "id" + (i % (n / 2));
+                reads.add(CompletableFuture.supplyAsync(() -> rb.read(id), pool));
+            }
+            for (int i = 0; i < n; i++) {
+                ParaObject obj = reads.get(i).get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+                assertEquals("id" + (i % (n / 2)), obj.getId());
+            }
+            assertEquals(n, rb.getReadCount());
+            assertTrue(n + " reads took " + requests.get() + " requests", requests.get() <= Math.max(2, n / 20));
+        }
+    }
+
+    @Test
+    public void testMissesResolveAsNull() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        ReadBatcher rb = newBatcher(requests);
+        rb.setMaxBatchSize(2);
+        CompletableFuture<ParaObject> found = rb.read("id1");
+        CompletableFuture<ParaObject> missing = rb.read("missing1");
+        assertEquals("id1", found.get(10, TimeUnit.SECONDS).getId());
+        assertNull(missing.get(10, TimeUnit.SECONDS));
+        assertNull(rb.readSync(""));
+        assertEquals(1, requests.get());
+    }
+}
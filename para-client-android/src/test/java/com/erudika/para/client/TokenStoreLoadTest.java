@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import com.erudika.para.client.utils.TokenStore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for loading the access token from a token store - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class TokenStoreLoadTest {
+
+    private static class TestStore implements TokenStore {
+        private final String stored;
+        private final CountDownLatch release;
+        private final AtomicInteger loads = new AtomicInteger();
+        private volatile String token;
+
+        TestStore(String stored, CountDownLatch release) {
+            this.stored = stored;
+            this.release = release;
+        }
+
+        public void load() {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (stored == null) {
+                throw new IllegalStateException("storage is not available");
+            }
+            token = stored;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public Long getExpires() {
+            return System.currentTimeMillis() + 60000;
+        }
+
+        public Long getNextRefresh() {
+            return System.currentTimeMillis() + 30000;
+        }
+
+        public void save(String token, Long expires, Long nextRefresh) {
+            this.token = token;
+        }
+
+        public void clear() {
+            this.token = null;
+        }
+    }
+
+    @Test
+    public void testReplacedStoreDoesNotOverwriteToken() throws Exception {
+        ParaClient pc = new ParaClient("app:test", "secret", null);
+        CountDownLatch slow = new CountDownLatch(1);
+        TestStore oldStore = new TestStore("old", slow);
+        TestStore newStore = new TestStore("new", new CountDownLatch(0));
+        pc.setTokenStore(oldStore);
+        pc.setTokenStore(newStore);
+        slow.countDown();
+        assertEquals("new", pc.getAccessToken());
+        assertSame(newStore, pc.getTokenStore());
+        assertEquals(1, newStore.loads.get());
+    }
+
+    @Test
+    public void testFailedLoadIsNotRetried() throws Exception {
+        ParaClient pc = new ParaClient("app:test", "secret", null);
+        TestStore failing = new TestStore(null, new CountDownLatch(0));
+        pc.setTokenStore(failing);
+        assertNull(pc.getAccessToken());
+        assertNull(pc.getAccessToken());
+        assertEquals(1, failing.loads.get());
+    }
+
+    @Test
+    public void testRequestsDontBlockWhileTokenLoads() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").
+                setBody("{\"version\":\"1.0\"}"));
+        server.start();
+        try {
+            ParaClient pc = new ParaClient("app:test", "secret", null);
+            pc.setEndpoint(server.url("/").toString().replaceAll("/$", ""));
+            CountDownLatch slow = new CountDownLatch(1);
+            pc.setTokenStore(new TestStore("token1", slow));
+            CompletableFuture<String> version = new CompletableFuture<>();
+            long start = System.nanoTime();
+            pc.getServerVersion(version::complete, version::completeExceptionally);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            assertFalse(version.isDone());
+            assertEquals(0, server.getRequestCount());
+
+            slow.countDown();
+            assertEquals("1.0", version.get(10, TimeUnit.SECONDS));
+            String auth = server.takeRequest().getHeader("Authorization");
+            assertTrue(auth.startsWith("Bearer") && auth.contains("token1"));
+        } finally {
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client;
+
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * WriteBehindBuffer tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class WriteBehindBufferTest {
+
+    private final List<List<ParaObject>> created = new CopyOnWriteArrayList<>();
+    private final List<List<ParaObject>> updated = new CopyOnWriteArrayList<>();
+    private final List<List<String>> deleted = new CopyOnWriteArrayList<>();
+
+    private WriteBehindBuffer newBuffer() {
+        return new WriteBehindBuffer((objects, success, error) -> {
+            created.add(objects);
+            success.onResponse(new ArrayList<>(objects));
+        }, (objects, success, error) -> {
+            updated.add(objects);
+            success.onResponse(new ArrayList<>(objects));
+        }, (ids, success, error) -> {
+            deleted.add(ids);
+            success.onResponse(null);
+        });
+    }
+
+    private static Sysprop obj(String id, String name) {
+        Sysprop s = new Sysprop(id);
+        s.setName(name);
+        return s;
+    }
+
+    @Test
+    public void testWritesAreCoalescedAndCollapsed() {
+        WriteBehindBuffer wb = newBuffer();
+        wb.setWindowMillis(TimeUnit.MINUTES.toMillis(1));
+        final List<String> results = new CopyOnWriteArrayList<>();
+        final AtomicInteger nulls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            wb.update(obj("u1", "v" + i), (ParaObject res) -> results.add(res.getName()));
+        }
+        wb.update(obj("u2", "v0"), (ParaObject res) -> results.add(res.getName()));
+        wb.create(obj("c1", "v0"), (ParaObject res) -> results.add(res.getName()));
+        wb.update(obj("c1", "v1"), (ParaObject res) -> results.add(res.getName()));
+        wb.delete(obj("d1", null), (ParaObject res) -> nulls.incrementAndGet());
+        assertTrue(updated.isEmpty());
+        wb.flush();
+
+        assertEquals(1, updated.size());
+        assertEquals(2, updated.get(0).size());
+        assertEquals("v2", updated.get(0).get(0).getName());
+        assertEquals(1, created.size());
+        assertEquals("v1", created.get(0).get(0).getName());
+        assertEquals(1, deleted.size());
+        assertEquals("d1", deleted.get(0).get(0));
+        // every caller is completed with the last write
+        assertEquals(6, results.size());
+        assertEquals(3, results.stream().filter("v2"::equals).count());
+        assertEquals(1, nulls.get());
+        assertEquals(7, wb.getWriteCount());
+        assertEquals(3, wb.getCollapsedCount());
+        assertEquals(3, wb.getBatchCount());
+    }
+
+    @Test
+    public void testFlushAfterWindowOrWhenFull() throws Exception {
+        WriteBehindBuffer wb = newBuffer();
+        wb.setWindowMillis(20);
+        final CountDownLatch done = new CountDownLatch(1);
+        wb.update(obj("id1", "v0"), (ParaObject res) -> done.countDown());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, updated.size());
+
+        wb.setWindowMillis(TimeUnit.MINUTES.toMillis(1));
+        wb.setMaxSize(10);
+        for (int i = 0; i < 10; i++) {
+            wb.update(obj("id" + i, "v1"), null);
+        }
+        assertEquals(2, updated.size());
+        assertEquals(10, updated.get(1).size());
+    }
+
+    @Test
+    public void testDeleteWinsOverLaterUpdates() {
+        WriteBehindBuffer wb = newBuffer();
+        wb.setWindowMillis(TimeUnit.MINUTES.toMillis(1));
+        final AtomicInteger nulls = new AtomicInteger();
+        wb.delete(obj("d1", null), (ParaObject res) -> nulls.incrementAndGet());
+        wb.update(obj("d1", "v1"), (ParaObject res) -> nulls.addAndGet(res == null ? 1 : 100));
+        wb.update(obj("u1", "v0"), null);
+        wb.delete(obj("u1", null), (ParaObject res) -> nulls.incrementAndGet());
+        wb.flush();
+
+        assertTrue(updated.isEmpty());
+        assertEquals(1, deleted.size());
+        assertEquals(2, deleted.get(0).size());
+        assertTrue(deleted.get(0).contains("d1"));
+        assertTrue(deleted.get(0).contains("u1"));
+        assertEquals(3, nulls.get());
+    }
+
+    @Test
+    public void testCreateWithIdThenDeleteIsSentAsDelete() {
+        WriteBehindBuffer wb = newBuffer();
+        wb.setWindowMillis(TimeUnit.MINUTES.toMillis(1));
+        final AtomicInteger nulls = new AtomicInteger();
+        // a create with an id is an upsert, so the object may already exist on the server
+        wb.create(obj("c1", "v0"), (ParaObject res) -> nulls.incrementAndGet());
+        wb.update(obj("c1", "v1"), (ParaObject res) -> nulls.incrementAndGet());
+        wb.delete(obj("c1", null), (ParaObject res) -> nulls.incrementAndGet());
+        // an existing object which is deleted and created again is still created
+        wb.delete(obj("c2", null), null);
+        wb.create(obj("c2", "v1"), null);
+        wb.flush();
+
+        assertEquals(1, deleted.size());
+        assertEquals(1, deleted.get(0).size());
+        assertEquals("c1", deleted.get(0).get(0));
+        assertEquals(1, created.size());
+        assertEquals(1, created.get(0).size());
+        assertEquals("c2", created.get(0).get(0).getId());
+        assertEquals(3, nulls.get());
+        assertEquals(2, wb.getBatchCount());
+    }
+
+    @Test
+    public void testCreatesWithoutIdAreBatched() {
+        WriteBehindBuffer wb = new WriteBehindBuffer((objects, success, error) -> {
+            created.add(objects);
+            List<ParaObject> res = new ArrayList<>();
+            for (ParaObject o : objects) {
+                // the server assigns ids to new objects and returns them in the same order
+                Sysprop s = obj(o.getId() == null ? "gen-" + o.getName() : o.getId(), o.getName());
+                res.add(s);
+            }
+            success.onResponse(res);
+        }, null, null);
+        wb.setWindowMillis(TimeUnit.MINUTES.toMillis(1));
+        final List<ParaObject> results = new CopyOnWriteArrayList<>();
+        wb.create(obj(null, "new1"), (ParaObject res) -> results.add(res));
+        wb.create(obj("c1", "old"), (ParaObject res) -> results.add(res));
+        wb.create(obj(null, "new2"), (ParaObject res) -> results.add(res));
+        assertTrue(created.isEmpty());
+        wb.flush();
+
+        assertEquals(1, created.size());
+        assertEquals(3, created.get(0).size());
+        assertEquals(3, results.size());
+        assertEquals("gen-new1", results.get(0).getId());
+        assertEquals("c1", results.get(1).getId());
+        assertEquals("gen-new2", results.get(2).getId());
+        assertEquals(0, wb.getCollapsedCount());
+        assertEquals(1, wb.getBatchCount());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.benchmark;
+
+import com.erudika.para.core.Sysprop;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test data shared by the benchmarks.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+final class BenchmarkData {
+
+    static final String ACCESS_KEY = "app:benchmark";
+    static final String SECRET_KEY = "Xq0rMAyVt6ZYcl3yx8aTJiVGfQdwUQnM6ytHfklnWHfOXvvD7gPcVA==";
+    static final String ENDPOINT = "https://paraio.com";
+    static final String PATH = "/v1/search/default";
+
+    private BenchmarkData() { }
+
+    /**
+     * @param count number of objects
+     * @return objects with a few fields and properties each
+     */
+    static List<Sysprop> objects(int count) {
+        List<Sysprop> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Sysprop s = new Sysprop("id" + i);
+            s.setType("cat");
+            s.setName("Cat number " + i);
+            s.setAppid("benchmark");
+            s.setCreatorid("user" + (i % 10));
+            s.setTimestamp(1700000000000L + i);
+            s.setUpdated(1700000000000L + i * 1000);
+            s.setTags(Arrays.asList("pet", "tag" + (i % 5)));
+            s.addProperty("color", i % 2 == 0 ? "black" : "white");
+            s.addProperty("age", i % 20);
+            s.addProperty("description", "A cat with a fairly long description, number " + i);
+            list.add(s);
+        }
+        return list;
+    }
+
+    /**
+     * @param count number of objects
+     * @return a search response like the one returned by the Para API
+     */
+    static Map<String, Object> searchResponse(int count) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", objects(count));
+        response.put("totalHits", (long) count * 10);
+        response.put("lastKey", "id" + (count - 1));
+        return response;
+    }
+
+    /**
+     * @return typical query parameters of a search request
+     */
+    static Map<String, List<String>> searchParams() {
+        Map<String, List<String>> params = new HashMap<>();
+        params.put("q", Arrays.asList("name:cat* AND properties.color:black"));
+        params.put("type", Arrays.asList("cat"));
+        params.put("limit", Arrays.asList("30"));
+        params.put("page", Arrays.asList("2"));
+        params.put("sort", Arrays.asList("timestamp"));
+        params.put("desc", Arrays.asList("true"));
+        return params;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.benchmark;
+
+import com.erudika.para.client.utils.ClientUtils;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import static org.junit.Assert.*;
+import org.junit.Assume;
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks in this package. Benchmarks are skipped unless enabled with
+ * {@code -Dpara.benchmark=true}:
+ * <pre>
+ * ./gradlew :para-client-android:testDebugUnitTest --tests '*BenchmarkRunner' -Dpara.benchmark=true
+ * </pre>
+ * Set {@code -Dpara.benchmark.include=Signer} to run a subset. The results include ops/sec and
+ * the allocation rate per operation ({@code gc.alloc.rate.norm}) and are written to
+ * {@code build/reports/jmh/results.json}. When {@link SerializationBenchmark} is included, the heap
+ * retained by parsing a response and the JSON and CBOR sizes of the payloads are written to
+ * {@code footprint.json} in the same directory.
+ * Benchmarks run inside the test JVM by default, set
+ * {@code -Dpara.benchmark.forks=1} to fork when the classpath allows it.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class BenchmarkRunner {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        Assume.assumeTrue("Benchmarks are disabled, run with -Dpara.benchmark=true",
+                Boolean.getBoolean("para.benchmark"));
+        File result = new File(System.getProperty("para.benchmark.result", "build/reports/jmh/results.json"));
+        result.getAbsoluteFile().getParentFile().mkdirs();
+        String include = BenchmarkRunner.class.getPackage().getName() + ".*" +
+                System.getProperty("para.benchmark.include", "Benchmark");
+        Options opts = new OptionsBuilder().
+                include(include).
+                forks(Integer.getInteger("para.benchmark.forks", 0)).
+                addProfiler(GCProfiler.class).
+                resultFormat(ResultFormatType.JSON).
+                result(result.getAbsolutePath()).
+                build();
+        Collection<RunResult> results = new Runner(opts).run();
+        assertFalse(results.isEmpty());
+        if (Pattern.compile(include).matcher(SerializationBenchmark.class.getName()).find()) {
+            List<Map<String, Object>> footprint = new ArrayList<>();
+            for (int items : new int[] {10, 100, 1000, 10000}) {
+                Map<String, Object> entry = SerializationBenchmark.encodedSizes(items);
+                if (items >= 1000) {
+                    entry.putAll(SerializationBenchmark.footprint(items));
+                }
+                footprint.add(entry);
+            }
+            ClientUtils.getJsonWriter().writeValue(new File(result.getAbsoluteFile().getParentFile(),
+                    "footprint.json"), footprint);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.benchmark;
+
+import com.erudika.para.client.ParaClient;
+import com.erudika.para.client.utils.ClientUtils;
+import com.erudika.para.client.utils.Pager;
+import com.erudika.para.client.utils.RequestCoalescer;
+import com.erudika.para.core.ParaObject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the client-side work done around each request: query parameters,
+ * URL paths and the conversion of search results to objects.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ClientBenchmark {
+
+    private ParaClient client;
+    private Pager pager;
+    private List<Map<String, Object>> items;
+    private Map<String, List<String>> params;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        client = new ParaClient(BenchmarkData.ACCESS_KEY, BenchmarkData.SECRET_KEY, null);
+        pager = new Pager(3, "timestamp", true, 30);
+        pager.setLastKey("id29");
+        byte[] json = ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(BenchmarkData.searchResponse(100));
+        Map<String, Object> response = ClientUtils.getJsonReader(Map.class).readValue(json);
+        items = (List<Map<String, Object>>) response.get("items");
+        params = BenchmarkData.searchParams();
+    }
+
+    @Benchmark
+    public Map<String, List<String>> pagerToParams() {
+        return client.pagerToParams(pager);
+    }
+
+    @Benchmark
+    public List<ParaObject> getItemsFromList() {
+        return client.getItemsFromList(items);
+    }
+
+    @Benchmark
+    public String formatMessage() {
+        return ClientUtils.formatMessage("{0}/{1}/links/{2}", "cat", "id123", "dog");
+    }
+
+    @Benchmark
+    public String requestKey() {
+        return RequestCoalescer.getKey(BenchmarkData.PATH, params, Map.class);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.benchmark;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.erudika.para.client.utils.ClientUtils;
+import com.erudika.para.client.utils.ItemsResponse;
+import com.erudika.para.client.utils.ParaRequest;
+import com.erudika.para.client.utils.OkHttpClientProvider;
+import com.erudika.para.core.Sysprop;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for serialization and response parsing, in JSON and CBOR, for search responses
+ * of different sizes. The {@code firstObject*} benchmarks measure the time until the first
+ * object of a response, served over HTTP by a local {@link MockWebServer}, is available -
+ * after buffering the whole body (like Volley does), when streaming the body into the parser,
+ * and when reading only the first item incrementally. {@link #footprint(int)} measures the
+ * heap retained by each of these and is written to {@code footprint.json} by the runner, together
+ * with the encoded sizes of the payloads in JSON and CBOR, see {@link #encodedSizes(int)}.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    private static final Map<String, String> JSON_HEADERS =
+            Collections.singletonMap("Content-Type", "application/json");
+
+    @Param({"10", "100", "1000", "10000"})
+    public int items;
+
+    private List<Sysprop> objects;
+    private byte[] json;
+    private byte[] cbor;
+    private NetworkResponse jsonResponse;
+    private NetworkResponse cborResponse;
+    private ResponseParser<ItemsResponse> parser;
+    private ResponseServer server;
+
+    @Setup
+    public void setup() throws Exception {
+        objects = BenchmarkData.objects(items);
+        Map<String, Object> response = BenchmarkData.searchResponse(items);
+        json = ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(response);
+        cbor = ClientUtils.getCborWriter().writeValueAsBytes(response);
+        jsonResponse = new NetworkResponse(200, json, JSON_HEADERS, false);
+        cborResponse = new NetworkResponse(200, cbor,
+                Collections.singletonMap("Content-Type", ClientUtils.CBOR_MEDIA_TYPE), false);
+        parser = new ResponseParser<>(ItemsResponse.class);
+        server = new ResponseServer(json);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws Exception {
+        return ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(objects);
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws Exception {
+        return ClientUtils.getCborWriter().writeValueAsBytes(objects);
+    }
+
+    @Benchmark
+    public ItemsResponse readJson() throws Exception {
+        return ClientUtils.getJsonReader(ItemsResponse.class).readValue(json);
+    }
+
+    @Benchmark
+    public Map<?, ?> readJsonMap() throws Exception {
+        return ClientUtils.getJsonReader(Map.class).readValue(json);
+    }
+
+    @Benchmark
+    public ItemsResponse readCbor() throws Exception {
+        return ClientUtils.getCborReader(ItemsResponse.class).readValue(cbor);
+    }
+
+    @Benchmark
+    public ItemsResponse parseJsonResponse() {
+        return parser.parse(jsonResponse).result;
+    }
+
+    @Benchmark
+    public ItemsResponse parseCborResponse() {
+        return parser.parse(cborResponse).result;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Sysprop firstObjectBuffered() throws IOException {
+        try (okhttp3.Response res = server.fetch()) {
+            return firstItem(parseBuffered(parser, res.body().bytes()));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Sysprop firstObjectStreaming() throws IOException {
+        try (okhttp3.Response res = server.fetch()) {
+            return firstItem(parseStreaming(parser, res.body().byteStream()));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Sysprop firstObjectIncremental() throws IOException {
+        try (okhttp3.Response res = server.fetch()) {
+            return readFirstItem(res.body().byteStream());
+        }
+    }
+
+    /**
+     * Measures the heap which is live when the first object of a search response with the given
+     * number of items is available, i.e. the peak retained heap of each way of parsing the response.
+     * The body is read over HTTP and the heap is measured after a full GC, while the body buffer
+     * (if any) and the parsed response are still reachable. Each value is the median of 5 runs.
+     * @param items number of items in the response
+     * @return retained bytes by parsing mode
+     * @throws IOException on error
+     */
+    static Map<String, Object> footprint(int items) throws IOException {
+        byte[] body = ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(BenchmarkData.searchResponse(items));
+        ResponseParser<ItemsResponse> parser = new ResponseParser<>(ItemsResponse.class);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        result.put("responseBytes", body.length);
+        try (ResponseServer server = new ResponseServer(body)) {
+            for (String mode : new String[] {"buffered", "streaming", "incremental"}) {
+                long[] retained = new long[5];
+                for (int i = 0; i < retained.length; i++) {
+                    retained[i] = retainedBytes(server, parser, mode);
+                }
+                Arrays.sort(retained);
+                result.put(mode + "RetainedBytes", retained[retained.length / 2]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the encoded sizes of a batch of objects (a request payload) and of a search response
+     * with the same objects, in JSON and CBOR, with and without gzip.
+     * @param items number of objects
+     * @return sizes in bytes
+     * @throws IOException on error
+     */
+    static Map<String, Object> encodedSizes(int items) throws IOException {
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        sizes.put("items", items);
+        putSizes(sizes, "batch", BenchmarkData.objects(items));
+        putSizes(sizes, "response", BenchmarkData.searchResponse(items));
+        return sizes;
+    }
+
+    private static void putSizes(Map<String, Object> sizes, String prefix, Object value) throws IOException {
+        byte[] json = ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(value);
+        byte[] cbor = ClientUtils.getCborWriter().writeValueAsBytes(value);
+        sizes.put(prefix + "JsonBytes", json.length);
+        sizes.put(prefix + "CborBytes", cbor.length);
+        sizes.put(prefix + "JsonGzipBytes", gzippedSize(json));
+        sizes.put(prefix + "CborGzipBytes", gzippedSize(cbor));
+    }
+
+    private static int gzippedSize(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.size();
+    }
+
+    private static long retainedBytes(ResponseServer server, ResponseParser<ItemsResponse> parser,
+            String mode) throws IOException {
+        long baseline = usedHeapAfterGc();
+        try (okhttp3.Response res = server.fetch()) {
+            Object[] live = new Object[2];
+            if ("buffered".equals(mode)) {
+                live[0] = res.body().bytes();
+                live[1] = parseBuffered(parser, (byte[]) live[0]);
+            } else if ("streaming".equals(mode)) {
+                live[1] = parseStreaming(parser, res.body().byteStream());
+            } else {
+                live[1] = readFirstItem(res.body().byteStream());
+            }
+            long used = usedHeapAfterGc() - baseline;
+            if (live[1] == null) {
+                throw new IOException("Failed to parse response.");
+            }
+            return Math.max(0, used);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static ItemsResponse parseBuffered(ResponseParser<ItemsResponse> parser, byte[] body) {
+        return parser.parse(new NetworkResponse(200, body, JSON_HEADERS, false)).result;
+    }
+
+    private static ItemsResponse parseStreaming(ResponseParser<ItemsResponse> parser, InputStream body) {
+        return parser.parse(new NetworkResponse(200, null, JSON_HEADERS, false), body).result;
+    }
+
+    private static Sysprop firstItem(ItemsResponse response) {
+        return (response == null || response.getItems().isEmpty()) ? null : response.getItems().get(0);
+    }
+
+    /**
+     * Reads only the first object of the {@code items} array, without parsing the rest of the stream.
+     */
+    private static Sysprop readFirstItem(InputStream body) throws IOException {
+        try (JsonParser jp = ClientUtils.getJsonMapper().getFactory().createParser(body)) {
+            if (jp.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (jp.nextToken() == JsonToken.FIELD_NAME) {
+                String field = jp.getCurrentName();
+                JsonToken value = jp.nextToken();
+                if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    return (jp.nextToken() == JsonToken.START_OBJECT) ?
+                            ClientUtils.getJsonReader(Sysprop.class).readValue(jp) : null;
+                }
+                jp.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Exposes the response parsing methods of {@link ParaRequest}.
+     */
+    static final class ResponseParser<T> extends ParaRequest<T> {
+        ResponseParser(Class<T> type) {
+            super(Request.Method.GET, BenchmarkData.ENDPOINT + BenchmarkData.PATH, null, null, type, null, null);
+        }
+
+        Response<T> parse(NetworkResponse response) {
+            return parseNetworkResponse(response);
+        }
+
+        Response<T> parse(NetworkResponse response, InputStream content) {
+            return parseNetworkResponse(response, content);
+        }
+    }
+
+    /**
+     * Serves the same response body over HTTP, so that it can be read as a real network stream.
+     */
+    static final class ResponseServer implements AutoCloseable {
+        private final MockWebServer server = new MockWebServer();
+        private final OkHttpClient client = OkHttpClientProvider.getDefault().getClient(false);
+
+        ResponseServer(final byte[] body) throws IOException {
+            server.setDispatcher(new Dispatcher() {
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse().setHeader("Content-Type", "application/json").
+                            setBody(new Buffer().write(body));
+                }
+            });
+            server.start();
+        }
+
+        okhttp3.Response fetch() throws IOException {
+            return client.newCall(new okhttp3.Request.Builder().url(server.url(BenchmarkData.PATH)).build()).execute();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.benchmark;
+
+import com.android.volley.Request;
+import com.erudika.para.client.utils.ParaRequest;
+import com.erudika.para.client.utils.SignatureV4;
+import com.erudika.para.client.utils.Signer;
+import com.erudika.para.core.Sysprop;
+import com.github.davidmoten.aws.lw.client.internal.auth.AwsSignatureVersion4;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for request signing. {@code librarySignature} is the AWS lightweight client
+ * implementation which {@link SignatureV4} replaced, for comparison.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SignerBenchmark {
+
+    private final Signer signer = new Signer();
+    private final SignatureV4 signatureV4 = new SignatureV4();
+    private Map<String, List<String>> params;
+    private Map<String, String> sigParams;
+    private Sysprop object;
+    private byte[] body;
+    private String bodyHash;
+
+    @Setup
+    public void setup() throws Exception {
+        params = BenchmarkData.searchParams();
+        sigParams = new HashMap<>();
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            sigParams.put(param.getKey(), param.getValue().get(0));
+        }
+        object = BenchmarkData.objects(1).get(0);
+        body = "{\"id\":\"id0\",\"type\":\"cat\",\"name\":\"Cat number 0\"}".getBytes("UTF-8");
+        bodyHash = SignatureV4.sha256Hex(body);
+    }
+
+    @Benchmark
+    public String signatureV4() {
+        return signatureV4.sign("GET", BenchmarkData.ENDPOINT + BenchmarkData.PATH, new HashMap<>(), sigParams,
+                bodyHash, System.currentTimeMillis(), BenchmarkData.ACCESS_KEY, BenchmarkData.SECRET_KEY,
+                "para", "us-east-1");
+    }
+
+    @Benchmark
+    public String librarySignature() throws Exception {
+        return AwsSignatureVersion4.computeSignatureForAuthorizationHeader(
+                new URL(BenchmarkData.ENDPOINT + BenchmarkData.PATH), "GET", "para", "us-east-1",
+                () -> System.currentTimeMillis(), new HashMap<>(), sigParams, bodyHash,
+                BenchmarkData.ACCESS_KEY, BenchmarkData.SECRET_KEY);
+    }
+
+    @Benchmark
+    public Map<String, String> signRequest() {
+        return signer.signRequest(BenchmarkData.ACCESS_KEY, BenchmarkData.SECRET_KEY, "POST",
+                BenchmarkData.ENDPOINT, BenchmarkData.PATH, null, params, body);
+    }
+
+    @Benchmark
+    public ParaRequest<?> invokeSignedRequestGet() {
+        return signer.invokeSignedRequest(BenchmarkData.ACCESS_KEY, BenchmarkData.SECRET_KEY, Request.Method.GET,
+                BenchmarkData.ENDPOINT, BenchmarkData.PATH, null, params, null, Map.class, null, null);
+    }
+
+    @Benchmark
+    public ParaRequest<?> invokeSignedRequestPost() {
+        return signer.invokeSignedRequest(BenchmarkData.ACCESS_KEY, BenchmarkData.SECRET_KEY, Request.Method.POST,
+                BenchmarkData.ENDPOINT, "/v1/cat", null, null, object, Sysprop.class, null, null);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.loadtest;
+
+import com.erudika.para.client.ParaAsyncClient;
+import com.erudika.para.client.ParaClient;
+import com.erudika.para.client.ReadBatcher;
+import com.erudika.para.client.utils.OkHttpTransport;
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Load test for the whole client stack (request queue, HTTP stack, signer and response parsing)
+ * against a local {@link ParaStandIn}. The client is created without an Android context, so
+ * requests go through the {@code NoCache} and {@code BasicNetwork} request queue. Skipped unless
+ * enabled with {@code -Dpara.loadtest=true}:
+ * <pre>
+ * ./gradlew :para-client-android:testDebugUnitTest --tests '*LoadHarness' -Dpara.loadtest=true \
+ *     -Dpara.loadtest.concurrency=32 -Dpara.loadtest.requests=5000 -Dpara.loadtest.transport=okhttp
+ * </pre>
+ * Prints requests/sec, p50/p95/p99 latency and the number of HTTP requests received by the server
+ * for each operation. {@link #runReadSweep()} compares {@code readSync} with {@link ReadBatcher}
+ * at 50, 200 and 1000 concurrent reads (set {@code -Dpara.loadtest.sweep=50,200,1000}).
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class LoadHarness {
+
+    /**
+     * A blocking operation. Returns null on error, as the *Sync methods do.
+     */
+    private interface Operation {
+        Object run(int i) throws Exception;
+    }
+
+    /**
+     * A non-blocking operation.
+     */
+    private interface AsyncOperation {
+        CompletableFuture<?> run(int i);
+    }
+
+    @Test
+    public void runLoadTest() throws Exception {
+        Assume.assumeTrue("Load test is disabled, run with -Dpara.loadtest=true",
+                Boolean.getBoolean("para.loadtest"));
+        final int concurrency = Integer.getInteger("para.loadtest.concurrency", 16);
+        final int requests = Integer.getInteger("para.loadtest.requests", 2000);
+        final String transport = System.getProperty("para.loadtest.transport", "volley");
+
+        try (ParaStandIn server = new ParaStandIn(30)) {
+            server.start();
+            final ParaClient client = newClient(server.getEndpoint(), transport);
+            final ParaClient jwtClient = newClient(server.getEndpoint(), transport);
+            final ParaAsyncClient asyncClient = new ParaAsyncClient(client);
+            final ReadBatcher batcher = new ReadBatcher(client);
+            final Sysprop obj = new Sysprop("id1");
+            obj.setType("cat");
+            final List<String> ids = new ArrayList<>();
+            final List<ParaObject> objects = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                ids.add("id" + i);
+                Sysprop s = new Sysprop();
+                s.setType("cat");
+                objects.add(s);
+            }
+
+            List<Result> results = new ArrayList<>();
+            results.add(run(server, "create", requests, concurrency, i -> {
+                Sysprop s = new Sysprop();
+                s.setType("cat");
+                return client.createSync(s);
+            }));
+            results.add(run(server, "read", requests, concurrency, i -> client.readSync("id" + (i % 100))));
+            results.add(run(server, "update", requests, concurrency, i -> client.updateSync(obj)));
+            results.add(run(server, "delete", requests, concurrency, i -> {
+                client.deleteSync(obj);
+                return true;
+            }));
+            results.add(run(server, "readAll (_batch)", requests, concurrency, i -> client.readAllSync(ids)));
+            results.add(run(server, "createAll (_batch)", requests, concurrency, i -> client.createAllSync(objects)));
+            results.add(run(server, "findQuery", requests, concurrency, i -> client.findQuerySync("cat", "*")));
+            results.add(run(server, "getLinkedObjects", requests, concurrency,
+                    i -> client.getLinkedObjectsSync(obj, "dog")));
+            results.add(run(server, "countLinks", requests, concurrency, i -> client.countLinksSync(obj, "dog")));
+            results.add(run(server, "signIn (/jwt_auth)", requests, concurrency,
+                    i -> jwtClient.signInSync("password", "user:pass", false)));
+            results.add(run(server, "read (ReadBatcher)", requests, concurrency,
+                    i -> batcher.readSync("id" + (i % 100))));
+            results.add(runAsync(server, "read (async, 1 thread)", requests, concurrency,
+                    i -> asyncClient.read("id" + (i % 100))));
+
+            System.out.println(String.format(Locale.ROOT, "%nTransport: %s, concurrency: %d, requests: %d",
+                    transport, concurrency, requests));
+            print(results);
+            System.out.println("Requests received: " + server.getRequestCounts());
+            for (Result result : results) {
+                assertEquals(result.name, 0, result.errors);
+            }
+        }
+    }
+
+    @Test
+    public void runReadSweep() throws Exception {
+        Assume.assumeTrue("Load test is disabled, run with -Dpara.loadtest=true",
+                Boolean.getBoolean("para.loadtest"));
+        final int requests = Integer.getInteger("para.loadtest.requests", 2000);
+        final String transport = System.getProperty("para.loadtest.transport", "volley");
+        String[] levels = System.getProperty("para.loadtest.sweep", "50,200,1000").split(",");
+
+        try (ParaStandIn server = new ParaStandIn(30)) {
+            server.start();
+            final ParaClient client = newClient(server.getEndpoint(), transport);
+            final ReadBatcher batcher = new ReadBatcher(client);
+            List<Result> results = new ArrayList<>();
+            for (String level : levels) {
+                int concurrency = Integer.parseInt(level.trim());
+                // every caller reads at least once
+                int reads = Math.max(requests, concurrency);
+                results.add(run(server, "read @" + concurrency, reads, concurrency,
+                        i -> client.readSync("id" + (i % 100))));
+                results.add(run(server, "read (ReadBatcher) @" + concurrency, reads, concurrency,
+                        i -> batcher.readSync("id" + (i % 100))));
+            }
+            System.out.println(String.format(Locale.ROOT, "%nTransport: %s, requests: %d, concurrency: %s",
+                    transport, requests, String.join(",", levels)));
+            print(results);
+            for (Result result : results) {
+                assertEquals(result.name, 0, result.errors);
+            }
+        }
+    }
+
+    private static void print(List<Result> results) {
+        System.out.println(String.format(Locale.ROOT, "%-28s %8s %7s %9s %8s %8s %8s %8s",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "http"));
+        for (Result result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static ParaClient newClient(String endpoint, String transport) {
+        ParaClient client = new ParaClient("app:loadtest", "secret", null);
+        client.setEndpoint(endpoint);
+        if ("okhttp".equalsIgnoreCase(transport)) {
+            client.setTransport(new OkHttpTransport());
+        }
+        return client;
+    }
+
+    /**
+     * Runs a blocking operation from a pool of threads, after a short warmup.
+     */
+    private static Result run(ParaStandIn server, String name, int requests, int concurrency,
+            final Operation op) throws Exception {
+        execute(Math.max(1, requests / 10), concurrency, op);
+        long received = server.getRequestCount();
+        return execute(requests, concurrency, op).named(name, server.getRequestCount() - received);
+    }
+
+    private static Result execute(final int requests, int concurrency, final Operation op) throws Exception {
+        final Result result = new Result(requests);
+        final AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int t = 0; t < concurrency; t++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long time = System.nanoTime();
+                        Object res;
+                        try {
+                            res = op.run(i);
+                        } catch (Exception e) {
+                            res = null;
+                        }
+                        result.record(i, System.nanoTime() - time, res != null);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES));
+        return result.finish(System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a non-blocking operation from a single thread, with a limited number of requests in flight.
+     */
+    private static Result runAsync(ParaStandIn server, String name, int requests, int concurrency,
+            AsyncOperation op) throws Exception {
+        executeAsync(Math.max(1, requests / 10), concurrency, op);
+        long received = server.getRequestCount();
+        return executeAsync(requests, concurrency, op).named(name, server.getRequestCount() - received);
+    }
+
+    private static Result executeAsync(int requests, int concurrency, AsyncOperation op) throws Exception {
+        final Result result = new Result(requests);
+        final Semaphore inFlight = new Semaphore(concurrency);
+        final CountDownLatch done = new CountDownLatch(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            final int index = i;
+            final long time = System.nanoTime();
+            op.run(i).whenComplete((res, err) -> {
+                result.record(index, System.nanoTime() - time, err == null && res != null);
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.MINUTES));
+        return result.finish(System.nanoTime() - start);
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private final AtomicInteger failures = new AtomicInteger();
+        private String name;
+        private int errors;
+        private double throughput;
+        private long httpRequests;
+
+        Result(int requests) {
+            this.latencies = new long[requests];
+        }
+
+        void record(int i, long latency, boolean success) {
+            latencies[i] = latency;
+            if (!success) {
+                failures.incrementAndGet();
+            }
+        }
+
+        Result finish(long elapsed) {
+            Arrays.sort(latencies);
+            errors = failures.get();
+            throughput = latencies.length / (elapsed / 1e9);
+            return this;
+        }
+
+        Result named(String name, long httpRequests) {
+            this.name = name;
+            this.httpRequests = httpRequests;
+            return this;
+        }
+
+        double percentile(double p) {
+            int rank = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(rank, latencies.length - 1))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-28s %8d %7d %9.0f %8.2f %8.2f %8.2f %8d", name, latencies.length,
+                    errors, throughput, percentile(50), percentile(95), percentile(99), httpRequests);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.loadtest;
+
+import com.erudika.para.client.utils.ClientUtils;
+import com.erudika.para.client.utils.ResponseStore;
+import com.erudika.para.core.Sysprop;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * A local stand-in for the Para API, backed by {@link MockWebServer}. It answers CRUD,
+ * {@code _batch}, search, links and {@code /jwt_auth} requests with canned responses,
+ * without checking signatures.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ParaStandIn implements AutoCloseable {
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final byte[] object;
+    private final byte[] objects;
+    private final byte[] items;
+    private final byte[] count;
+    private final byte[] jwt;
+
+    /**
+     * @param pageSize the number of objects returned by searches and batch reads
+     * @throws IOException if the canned responses can't be serialized
+     */
+    public ParaStandIn(int pageSize) throws IOException {
+        List<Sysprop> list = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Sysprop s = new Sysprop("id" + i);
+            s.setType("cat");
+            s.setName("Cat " + i);
+            s.setTimestamp(System.currentTimeMillis());
+            s.addProperty("color", i % 2 == 0 ? "black" : "white");
+            list.add(s);
+        }
+        Map<String, Object> page = new HashMap<>();
+        page.put("items", list);
+        page.put("totalHits", (long) pageSize);
+        Map<String, Object> total = new HashMap<>();
+        total.put("items", new ArrayList<>());
+        total.put("totalHits", (long) pageSize);
+        Map<String, Object> token = new HashMap<>();
+        token.put("access_token", "eyJhbGciOiJIUzI1NiJ9.e30.standin");
+        token.put("expires", System.currentTimeMillis() + 3600000);
+        token.put("refresh", System.currentTimeMillis() + 1800000);
+        Map<String, Object> auth = new HashMap<>();
+        auth.put("jwt", token);
+        auth.put("user", new Sysprop("user1"));
+
+        this.object = json(list.get(0));
+        this.objects = json(list);
+        this.items = json(page);
+        this.count = json(total);
+        this.jwt = json(auth);
+        server.setDispatcher(new Dispatcher() {
+            public MockResponse dispatch(RecordedRequest request) {
+                return respond(request);
+            }
+        });
+    }
+
+    /**
+     * Starts the server on a free local port.
+     * @throws IOException on error
+     */
+    public void start() throws IOException {
+        server.start();
+    }
+
+    /**
+     * @return the endpoint URL, e.g. "http://localhost:12345"
+     */
+    public String getEndpoint() {
+        return server.url("/").toString().replaceAll("/$", "");
+    }
+
+    /**
+     * @return the number of requests received for each route, e.g. "GET _batch"
+     */
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : requestCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    /**
+     * @return the total number of requests received
+     */
+    public long getRequestCount() {
+        return server.getRequestCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        String method = request.getMethod();
+        String path = request.getPath() == null ? "" : request.getPath();
+        boolean isCount = path.contains("count=true");
+        path = path.replaceAll("\\?.*$", "");
+        if (path.startsWith("/jwt_auth")) {
+            return ok(method + " jwt_auth", "DELETE".equals(method) ? object : jwt);
+        }
+        if (!path.startsWith("/v1/")) {
+            return new MockResponse().setResponseCode(404);
+        }
+        String resource = path.substring(4);
+        String[] segments = resource.split("/");
+        if (resource.equals("_batch")) {
+            byte[] body = "GET".equals(method) ? objects : request.getBody().readByteArray();
+            return ok(method + " _batch", "DELETE".equals(method) ? new byte[0] : body);
+        } else if (resource.startsWith("_id/")) {
+            return ok(method + " _id", object);
+        } else if (resource.startsWith("search/") || resource.contains("/search/")) {
+            return ok(method + " search", isCount ? count : items);
+        } else if (resource.contains("/links/")) {
+            return ok(method + " links", isCount ? count : items);
+        } else if (segments.length == 1 && "POST".equals(method)) {
+            return ok(method + " object", object);
+        } else if (segments.length == 2) {
+            return ok(method + " object", "DELETE".equals(method) ? new byte[0] : object);
+        }
+        return new MockResponse().setResponseCode(404);
+    }
+
+    private MockResponse ok(String route, byte[] body) {
+        requestCounts.computeIfAbsent(route, k -> new AtomicLong()).incrementAndGet();
+        return new MockResponse().setResponseCode(200).
+                setHeader("Content-Type", "application/json").
+                setHeader("Date", ResponseStore.formatHttpDate(System.currentTimeMillis())).
+                setBody(new Buffer().write(body));
+    }
+
+    private static byte[] json(Object o) throws IOException {
+        return ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(o);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.VolleyError;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * BatchChunker tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class BatchChunkerTest {
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(8);
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add("id" + i);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testSplit() {
+        assertTrue(BatchChunker.split(null, 10).isEmpty());
+        assertEquals(1, BatchChunker.split(ids(10), 10).size());
+        List<List<String>> chunks = BatchChunker.split(ids(25), 10);
+        assertEquals(3, chunks.size());
+        assertEquals(5, chunks.get(2).size());
+        assertEquals("id20", chunks.get(2).get(0));
+    }
+
+    @Test
+    public void testResultsInInputOrderWithParallelismCap() throws Exception {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final CompletableFuture<List<String>> result = new CompletableFuture<>();
+        List<String> ids = ids(1000);
+
+        BatchChunker.<String, String>execute(ids, 100, 3, (chunk, success, error) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            pool.execute(() -> {
+                sleep(ThreadLocalRandom.current().nextInt(20));
+                inFlight.decrementAndGet();
+                success.onResponse(new ArrayList<>(chunk));
+            });
+        }, result::complete, result::completeExceptionally);
+
+        assertEquals(ids, result.get(10, TimeUnit.SECONDS));
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    public void testFailuresAreReportedPerChunk() throws Exception {
+        final CompletableFuture<List<String>> result = new CompletableFuture<>();
+        BatchChunker.<String, String>execute(ids(50), 10, 2, (chunk, success, error) -> {
+            pool.execute(() -> {
+                if (chunk.contains("id25")) {
+                    error.onErrorResponse(new VolleyError("chunk failed"));
+                } else {
+                    success.onResponse(new ArrayList<>(chunk));
+                }
+            });
+        }, result::complete, result::completeExceptionally);
+
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            fail("BatchError expected");
+        } catch (Exception e) {
+            assertTrue(e.getCause() instanceof BatchChunker.BatchError);
+            BatchChunker.BatchError err = (BatchChunker.BatchError) e.getCause();
+            assertEquals(5, err.getChunkCount());
+            assertEquals(1, err.getErrors().size());
+            assertTrue(err.getErrors().containsKey(2));
+            assertEquals(ids(50).subList(20, 30), err.getFailedItems());
+            List<String> expected = new ArrayList<>(ids(50).subList(0, 20));
+            expected.addAll(ids(50).subList(30, 50));
+            assertEquals(expected, err.getResults());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
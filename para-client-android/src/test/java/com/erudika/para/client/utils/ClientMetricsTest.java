@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.TimeoutError;
+import com.android.volley.VolleyError;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * ClientMetrics tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ClientMetricsTest {
+
+    private static VolleyError error(int status) {
+        return new VolleyError(new NetworkResponse(status, new byte[0], null, false));
+    }
+
+    @Test
+    public void testGetOperation() {
+        assertEquals("read", ClientMetrics.getOperation(Request.Method.GET, "user/123"));
+        assertEquals("list", ClientMetrics.getOperation(Request.Method.GET, "user"));
+        assertEquals("create", ClientMetrics.getOperation(Request.Method.POST, "user"));
+        assertEquals("create", ClientMetrics.getOperation(Request.Method.PUT, "user/123"));
+        assertEquals("update", ClientMetrics.getOperation(Request.Method.PATCH, "user/123"));
+        assertEquals("delete", ClientMetrics.getOperation(Request.Method.DELETE, "user/123"));
+        assertEquals("read", ClientMetrics.getOperation(Request.Method.GET, "_id/123"));
+        assertEquals("findQuery", ClientMetrics.getOperation(Request.Method.GET, "search/default"));
+        assertEquals("findQuery", ClientMetrics.getOperation(Request.Method.GET, "user/search/default"));
+        assertEquals("getCount", ClientMetrics.getOperation(Request.Method.GET, "search/count"));
+        assertEquals("links", ClientMetrics.getOperation(Request.Method.GET, "user/123/links/tag"));
+        assertEquals("_batch", ClientMetrics.getOperation(Request.Method.POST, "_batch"));
+        assertEquals("jwt_auth", ClientMetrics.getOperation(Request.Method.GET, "/jwt_auth"));
+        assertEquals("utils/timestamp", ClientMetrics.getOperation(Request.Method.GET, "utils/timestamp"));
+    }
+
+    @Test
+    public void testStatusClass() {
+        assertEquals("2xx", ClientMetrics.getStatusClass(null));
+        assertEquals("4xx", ClientMetrics.getStatusClass(error(404)));
+        assertEquals("5xx", ClientMetrics.getStatusClass(error(503)));
+        assertEquals("timeout", ClientMetrics.getStatusClass(new TimeoutError()));
+        assertEquals("error", ClientMetrics.getStatusClass(new VolleyError("no connection")));
+    }
+
+    @Test
+    public void testRecording() {
+        ClientMetrics metrics = new ClientMetrics();
+        long start1 = metrics.requestStarted("read");
+        long start2 = metrics.requestStarted("read");
+        long start3 = metrics.requestStarted("_batch");
+        assertEquals(3, metrics.getInFlight());
+
+        metrics.requestFinished("read", start1, null, 0, 512);
+        metrics.requestFinished("read", start2, new TimeoutError(), 0, 0);
+        metrics.requestRetried("_batch");
+        metrics.requestFinished("_batch", start3, error(500), 2048, 100);
+        assertEquals(0, metrics.getInFlight());
+
+        ClientMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getOperations().size());
+        ClientMetrics.OperationSnapshot read = snapshot.getOperations().get("read");
+        assertEquals(2, read.getRequests());
+        assertEquals(1, read.getTimeouts());
+        assertEquals(512, read.getBytesReceived());
+        assertEquals(1, read.getLatencies().get("2xx").getCount());
+        assertEquals(1, read.getLatencies().get("timeout").getCount());
+        ClientMetrics.OperationSnapshot batch = snapshot.getOperations().get("_batch");
+        assertEquals(1, batch.getRetries());
+        assertEquals(2048, batch.getBytesSent());
+        assertEquals(1, batch.getLatencies().get("5xx").getCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().getOperations().get("read").getRequests());
+    }
+
+    @Test
+    public void testExport() {
+        ClientMetrics metrics = new ClientMetrics();
+        final List<ClientMetrics.Snapshot> exported = new ArrayList<>();
+        metrics.export();
+        metrics.addExporter(exported::add);
+        metrics.addExporter(snapshot -> {
+            throw new IllegalStateException("broken exporter");
+        });
+        metrics.requestFinished("read", metrics.requestStarted("read"), null, 0, 0);
+        metrics.export();
+        assertEquals(1, exported.size());
+        assertEquals(1, exported.get(0).getOperations().get("read").getRequests());
+    }
+}
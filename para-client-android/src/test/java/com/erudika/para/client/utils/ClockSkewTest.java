@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.VolleyError;
+import java.util.Collections;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * ClockSkew tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ClockSkewTest {
+
+    private static Map<String, String> dateHeader(long offset) {
+        return Collections.singletonMap("Date", ResponseStore.formatHttpDate(System.currentTimeMillis() + offset));
+    }
+
+    private static VolleyError error(int status, long offset) {
+        return new VolleyError(new NetworkResponse(status, new byte[0], dateHeader(offset), false));
+    }
+
+    @Test
+    public void testUpdateFromDateHeader() {
+        ClockSkew skew = new ClockSkew();
+        assertFalse(skew.update(dateHeader(0)));
+        assertFalse(skew.update(Collections.<String, String>emptyMap()));
+        assertFalse(skew.update(Collections.singletonMap("Date", "yesterday")));
+        assertEquals(0, skew.getOffset());
+
+        assertTrue(skew.update(dateHeader(-3600000)));
+        assertEquals(-3600000, skew.getOffset(), 2000);
+        assertEquals(System.currentTimeMillis() - 3600000, skew.now(), 2000);
+        assertFalse(skew.update(dateHeader(-3600000)));
+        assertEquals(1, skew.getUpdateCount());
+    }
+
+    @Test
+    public void testPreciseUpdate() {
+        ClockSkew skew = new ClockSkew();
+        assertTrue(skew.update(1000250, 1000000, 100));
+        assertEquals(250, skew.getOffset());
+        assertFalse(skew.update(1000300, 1000000, 100));
+        assertEquals(250, skew.getOffset());
+    }
+
+    @Test
+    public void testSkewErrors() {
+        ClockSkew skew = new ClockSkew();
+        assertFalse(skew.isSkewError(new VolleyError(), 0));
+        assertFalse(skew.isSkewError(error(500, 1800000), 0));
+        assertFalse(skew.isSkewError(error(403, 5000), 0));
+        assertTrue(skew.isSkewError(error(403, 1800000), 0));
+        assertEquals(1800000, skew.getOffset(), 2000);
+        // a concurrent request signed with the old offset is retried too, after the offset was updated
+        assertTrue(skew.isSkewError(error(400, 1800000), 0));
+        // but not once it was signed with the corrected offset
+        assertFalse(skew.isSkewError(error(401, 1800000), skew.getOffset()));
+        assertEquals(2, skew.getRetryCount());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * LatencyHistogram tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123456789L, 1L << 40}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.lowerBound(index) <= value);
+            assertTrue(LatencyHistogram.upperBound(index) >= value);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, LatencyHistogram.index(LatencyHistogram.lowerBound(i)));
+        }
+        // relative error of a bucket is bounded by 1/16
+        int index = LatencyHistogram.index(1000000);
+        long width = LatencyHistogram.upperBound(index) - LatencyHistogram.lowerBound(index) + 1;
+        assertTrue(width <= 1000000 / 16);
+        assertEquals(LatencyHistogram.index(Long.MAX_VALUE), LatencyHistogram.index(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getPercentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i * 1000L);
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(1000000, h.getMax());
+        assertEquals(500500, h.getMean(), 0.001);
+        assertEquals(500000, h.getPercentile(50), 500000 / 16);
+        assertEquals(950000, h.getPercentile(95), 950000 / 16);
+        assertEquals(990000, h.getPercentile(99), 990000 / 16);
+        assertEquals(1000000, h.getPercentile(100));
+
+        LatencyHistogram.Snapshot snapshot = h.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000.0, snapshot.getMax(), 0.001);
+        assertTrue(snapshot.getP50() <= snapshot.getP95() && snapshot.getP95() <= snapshot.getP99());
+
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+        assertEquals(0, h.getPercentile(50));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        final LatencyHistogram h = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    h.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000, h.getCount());
+        assertEquals(9999, h.getMax());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.erudika.para.core.ParaObject;
+import com.erudika.para.core.Sysprop;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * ObjectCache tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ObjectCacheTest {
+
+    private static final String APP = "app:test";
+
+    private static Sysprop obj(String id, String type) {
+        Sysprop s = new Sysprop(id);
+        s.setType(type);
+        return s;
+    }
+
+    @Test
+    public void testGetPutRemove() {
+        ObjectCache cache = new ObjectCache();
+        assertNull(cache.get(APP, "id1"));
+        cache.put(APP, obj("id1", "cat"));
+        ParaObject cached = cache.get(APP, "cat", "id1");
+        assertNotNull(cached);
+        assertSame(cached, cache.get(APP, "id1"));
+        assertNull(cache.get("app:other", "id1"));
+        assertEquals(1, cache.size());
+        assertTrue(cache.getEstimatedBytes() > 0);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        cache.putAll(APP, Arrays.asList(obj("id2", "dog"), obj("id3", "dog")));
+        cache.removeAll(APP, Arrays.asList("id1", "id2"));
+        assertNull(cache.get(APP, "id1"));
+        assertNull(cache.get(APP, "dog", "id2"));
+        assertNotNull(cache.get(APP, "id3"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testPerTypeTtl() throws Exception {
+        ObjectCache cache = new ObjectCache(100, 1024 * 1024, 60000);
+        cache.setTtl("cat", 10);
+        cache.setTtl("dog", 0);
+        cache.put(APP, obj("id1", "cat"));
+        cache.put(APP, obj("id2", "dog"));
+        cache.put(APP, obj("id3", "bird"));
+        assertEquals(2, cache.size());
+        Thread.sleep(50);
+        assertNull(cache.get(APP, "id1"));
+        assertNotNull(cache.get(APP, "id3"));
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    @Test
+    public void testUncachedTypeRemovesOlderCopy() {
+        ObjectCache cache = new ObjectCache(100, 1024 * 1024, 60000);
+        cache.put(APP, obj("id1", "cat"));
+        cache.setTtl("cat", 0);
+        cache.put(APP, obj("id1", "cat"));
+        assertNull(cache.get(APP, "id1"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.indexSize());
+        assertEquals(0, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testSizeEstimateGrowsWithProperties() {
+        Sysprop small = obj("id1", "cat");
+        Sysprop large = obj("id1", "cat");
+        large.addProperty("text", "0123456789012345678901234567890123456789");
+        large.addProperty("list", Arrays.asList("a", "b", 1));
+        assertTrue(ObjectCache.estimateSize(large) > ObjectCache.estimateSize(small) + 40);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedAreEvicted() {
+        ObjectCache cache = new ObjectCache(10, 1024 * 1024, 60000);
+        for (int i = 0; i < 10; i++) {
+            cache.put(APP, obj("id" + i, "cat"));
+        }
+        // id0 is recently used
+        assertNotNull(cache.get(APP, "id0"));
+        cache.put(APP, obj("id10", "cat"));
+        assertTrue(cache.size() <= 9);
+        assertTrue(cache.getEvictionCount() >= 2);
+        assertNotNull(cache.get(APP, "id0"));
+        assertNotNull(cache.get(APP, "id10"));
+        assertNull(cache.get(APP, "id1"));
+    }
+
+    @Test
+    public void testEvictionBySize() {
+        long size = ObjectCache.estimateSize(obj("id0", "cat"));
+        ObjectCache cache = new ObjectCache(1000, size * 5, 60000);
+        for (int i = 0; i < 20; i++) {
+            cache.put(APP, obj("id" + i, "cat"));
+        }
+        assertTrue(cache.getEstimatedBytes() <= size * 5);
+        assertTrue(cache.getEvictionCount() > 0);
+        assertNotNull(cache.get(APP, "id19"));
+    }
+
+    @Test
+    public void testExpiredEntriesAreUnindexed() throws Exception {
+        ObjectCache cache = new ObjectCache(10, 1024 * 1024, 1);
+        cache.put(APP, obj("id1", "cat"));
+        Thread.sleep(10);
+        assertNull(cache.get(APP, "id1"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.indexSize());
+        assertEquals(0, cache.getEstimatedBytes());
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    @Test
+    public void testTypeChangeReplacesEntry() {
+        ObjectCache cache = new ObjectCache();
+        cache.put(APP, obj("id1", "cat"));
+        long size = cache.getEstimatedBytes();
+        cache.put(APP, obj("id1", "dog"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.indexSize());
+        assertNull(cache.get(APP, "cat", "id1"));
+        assertEquals("dog", cache.get(APP, "id1").getType());
+        assertEquals(size, cache.getEstimatedBytes());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.erudika.para.core.Sysprop;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * PagedIterator tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class PagedIteratorTest {
+
+    private static final int TOTAL = 1050;
+
+    private static List<Sysprop> fetch(Pager pager, AtomicInteger requests) {
+        requests.incrementAndGet();
+        int from = pager.getLastKey() == null ? 0 : Integer.parseInt(pager.getLastKey()) + 1;
+        int to = Math.min(TOTAL, from + pager.getLimit());
+        List<Sysprop> page = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            page.add(new Sysprop(Integer.toString(i)));
+        }
+        pager.setCount(TOTAL);
+        pager.setLastKey(page.isEmpty() ? null : page.get(page.size() - 1).getId());
+        return page;
+    }
+
+    @Test
+    public void testIteratesAllPagesInOrder() {
+        AtomicInteger requests = new AtomicInteger();
+        int i = 0;
+        try (PagedIterator<Sysprop> it = new PagedIterator<>(p -> fetch(p, requests), new Pager(100), 2)) {
+            while (it.hasNext()) {
+                assertEquals(Integer.toString(i++), it.next().getId());
+            }
+        }
+        assertEquals(TOTAL, i);
+        // no extra request for an empty page, the total is known
+        assertEquals(11, requests.get());
+    }
+
+    @Test
+    public void testLookaheadIsBounded() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        int lookahead = 2;
+        try (PagedIterator<Sysprop> it = new PagedIterator<>(p -> fetch(p, requests), new Pager(10), lookahead)) {
+            assertTrue(it.hasNext());
+            it.next();
+            Thread.sleep(500);
+            // the page being consumed, the queued pages and one page waiting to be queued
+            assertTrue(requests.get() <= lookahead + 2);
+        }
+    }
+
+    @Test
+    public void testEmptyResultsAndErrors() {
+        PagedIterator<Sysprop> empty = new PagedIterator<>(p -> Collections.emptyList(), null, 1);
+        assertFalse(empty.hasNext());
+
+        PagedIterator<Sysprop> failing = new PagedIterator<>(p -> {
+            throw new IllegalStateException("fail");
+        }, null, 1);
+        try {
+            failing.hasNext();
+            fail("Error should be propagated to the consumer");
+        } catch (IllegalStateException e) {
+            assertEquals("fail", e.getMessage());
+        }
+        assertFalse(failing.hasNext());
+    }
+
+    private static PagedIterator.PageFetcher<Sysprop> fetcher(AtomicInteger requests, CountDownLatch done) {
+        return new PagedIterator.PageFetcher<Sysprop>() {
+            public List<Sysprop> fetch(Pager pager) {
+                return PagedIteratorTest.fetch(pager, requests);
+            }
+
+            public void done() {
+                done.countDown();
+            }
+        };
+    }
+
+    @Test
+    public void testCloseStopsProducer() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        PagedIterator<Sysprop> it = new PagedIterator<>(fetcher(new AtomicInteger(), done), new Pager(10), 1);
+        assertTrue(it.hasNext());
+        it.close();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testAbandonedIteratorStopsProducer() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger requests = new AtomicInteger();
+        for (Sysprop obj : new Iterable<Sysprop>() {
+            public Iterator<Sysprop> iterator() {
+                return new PagedIterator<>(fetcher(requests, done), new Pager(10), 1);
+            }
+        }) {
+            assertEquals("0", obj.getId());
+            break;
+        }
+        // the producer is blocked on a full queue until it notices that the iterator is gone
+        for (int i = 0; i < 50 && done.getCount() > 0; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertEquals(0, done.getCount());
+        assertTrue(requests.get() < TOTAL / 10);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.Header;
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for conditional GET handling in ParaRequest - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ParaRequestTest {
+
+    private static final String ENDPOINT = "http://localhost:8080";
+    private static final String PATH = "/v1/cat/1";
+    private static final String URL = ENDPOINT + PATH;
+    private static final String BODY = "{\"id\":\"1\",\"name\":\"Tom\"}";
+
+    private static NetworkResponse response(int status, String body, String etag) {
+        List<Header> headers = new ArrayList<>();
+        headers.add(new Header("Content-Type", "application/json"));
+        if (etag != null) {
+            headers.add(new Header("ETag", etag));
+        }
+        return new NetworkResponse(status, body.getBytes(StandardCharsets.UTF_8), status == 304, 0, headers);
+    }
+
+    private static ParaRequest<Map> request(ResponseStore store) {
+        ParaRequest<Map> request = new ParaRequest<>(Request.Method.GET, URL, null, null, Map.class, null, null);
+        request.setResponseStore(store);
+        return request;
+    }
+
+    @Test
+    public void testOkResponseIsStored() {
+        ResponseStore store = new ResponseStore();
+        Response<Map> res = request(store).parseNetworkResponse(response(200, BODY, "\"v1\""));
+        assertTrue(res.isSuccess());
+        assertEquals("Tom", res.result.get("name"));
+        ResponseStore.StoredResponse stored = store.get(URL);
+        assertNotNull(stored);
+        assertEquals("\"v1\"", stored.getEtag());
+        assertEquals(BODY, new String(stored.getData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNotModifiedIsAnsweredFromStoredResponse() throws Exception {
+        ResponseStore store = new ResponseStore();
+        store.put(URL, new ResponseStore.StoredResponse(BODY.getBytes(StandardCharsets.UTF_8), null, "\"v1\"", null));
+        Signer signer = new Signer();
+        signer.setResponseStore(store);
+        ParaRequest<Map> request = signer.invokeSignedRequest("app:test", "secret", Request.Method.GET,
+                ENDPOINT, PATH, null, null, null, Map.class, null, null);
+        assertEquals("\"v1\"", request.getHeaders().get("If-None-Match"));
+        assertFalse(request.shouldCache());
+
+        // the entry is evicted while the request is in flight
+        store.remove(URL);
+        Response<Map> res = request.parseNetworkResponse(response(304, "", "\"v1\""));
+        assertTrue(res.isSuccess());
+        assertEquals("Tom", res.result.get("name"));
+        assertEquals(1, store.getNotModifiedCount());
+
+        // without validators, a 304 can't be answered
+        assertFalse(request(store).parseNetworkResponse(response(304, "", null)).isSuccess());
+    }
+
+    @Test
+    public void testNotModifiedWithCachedBodyIsParsed() {
+        // Volley's cache revalidated a URL which the store doesn't hold and returned its cached body
+        ResponseStore store = new ResponseStore();
+        Response<Map> res = request(store).parseNetworkResponse(response(304, BODY, "\"v1\""));
+        assertTrue(res.isSuccess());
+        assertEquals("Tom", res.result.get("name"));
+        assertNull(store.get(URL));
+    }
+
+    @Test
+    public void testStreamedResponseIsBufferedAndStored() {
+        ResponseStore store = new ResponseStore();
+        ParaRequest<Map> request = request(store);
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        Response<Map> res = request.parseNetworkResponse(response(200, "", "\"v2\""),
+                new ByteArrayInputStream(body));
+        assertTrue(res.isSuccess());
+        assertEquals("Tom", res.result.get("name"));
+        assertEquals(body.length, request.getResponseSize());
+        ResponseStore.StoredResponse stored = store.get(URL);
+        assertEquals("\"v2\"", stored.getEtag());
+        assertArrayEquals(body, stored.getData());
+    }
+}
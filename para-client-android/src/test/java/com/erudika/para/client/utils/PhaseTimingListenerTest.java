@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.Request;
+import java.util.Collections;
+import java.util.Map;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * PhaseTimingListener tests - these run on the JVM against a local server.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class PhaseTimingListenerTest {
+
+    private MockWebServer server;
+    private OkHttpClientProvider provider;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        provider = new OkHttpClientProvider();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private void execute(OkHttpClient client, ClientMetrics metrics) throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":\"123\"}"));
+        ParaRequest<Map> request = new ParaRequest<>(Request.Method.GET, server.url("/v1/user/123").toString(),
+                null, null, Map.class, null, null);
+        request.setMetrics(metrics, "read");
+        try (Response response = client.newCall(OkHttp3Stack.buildRequest(request,
+                Collections.<String, String>emptyMap())).execute()) {
+            assertEquals("{\"id\":\"123\"}", response.body().string());
+        }
+    }
+
+    @Test
+    public void testPhaseTimings() throws Exception {
+        ClientMetrics metrics = new ClientMetrics();
+        final PhaseTimings[] last = new PhaseTimings[1];
+        metrics.addPhaseListener((operation, timings) -> last[0] = timings);
+        OkHttpClient client = provider.getClient(false);
+        execute(client, metrics);
+        assertNotNull(last[0]);
+        assertFalse(last[0].isConnectionReused());
+        assertFalse(last[0].isFailed());
+        assertTrue(last[0].getConnect() >= 0);
+        assertTrue(last[0].getTimeToFirstByte() >= 0);
+        assertTrue(last[0].getTotal() >= last[0].getTimeToFirstByte());
+        assertEquals(-1, last[0].getTls());
+
+        execute(client, metrics);
+        assertTrue(last[0].isConnectionReused());
+        assertEquals(-1, last[0].getConnect());
+
+        ClientMetrics.OperationSnapshot read = metrics.snapshot().getOperations().get("read");
+        assertEquals(2, read.getPhaseSamples());
+        assertEquals(1, read.getConnectionsReused());
+        assertEquals(1, read.getPhases().get("connect").getCount());
+        assertEquals(2, read.getPhases().get("ttfb").getCount());
+        // pool statistics are still counted for timed calls
+        assertEquals(2, provider.getStats().getConnectionsAcquired());
+        assertEquals(1, provider.getStats().getConnectionsCreated());
+    }
+
+    @Test
+    public void testSampling() throws Exception {
+        ClientMetrics metrics = new ClientMetrics();
+        metrics.setPhaseTimingSampleRate(0);
+        execute(provider.getClient(false), metrics);
+        assertNull(metrics.snapshot().getOperations().get("read").getPhases().get("ttfb"));
+        assertEquals(0, metrics.snapshot().getOperations().get("read").getPhaseSamples());
+        assertEquals(1, provider.getStats().getConnectionsAcquired());
+
+        metrics.setPhaseTimingSampleRate(5);
+        assertEquals(1.0, metrics.getPhaseTimingSampleRate(), 0);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import static com.android.volley.Response.*;
+import com.android.volley.VolleyError;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * RequestCoalescer tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class RequestCoalescerTest {
+
+    @Test
+    public void testIdenticalRequestsShareOneCall() throws Exception {
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicReference<Listener<Object>> pending = new AtomicReference<>();
+        final RequestCoalescer.Sender sender = new RequestCoalescer.Sender() {
+            public void send(Listener<Object> success, ErrorListener error) {
+                sent.incrementAndGet();
+                pending.set(success);
+            }
+        };
+        final int callers = 100;
+        final Object response = new Object();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch joined = new CountDownLatch(callers);
+        final CountDownLatch received = new CountDownLatch(callers);
+        final List<Object> results = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < callers; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    coalescer.execute("/v1/search/default?q=*", new Listener<Object>() {
+                        public void onResponse(Object r) {
+                            results.add(r);
+                            received.countDown();
+                        }
+                    }, null, sender);
+                    joined.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        assertEquals(1, sent.get());
+        assertEquals(1, coalescer.getInFlightCount());
+        pending.get().onResponse(response);
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(callers, results.size());
+        for (Object result : results) {
+            assertSame(response, result);
+        }
+        assertEquals(callers - 1, coalescer.getSavedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+
+        // a new request is sent after the previous one has completed
+        coalescer.execute("/v1/search/default?q=*", null, null, sender);
+        assertEquals(2, sent.get());
+    }
+
+    @Test
+    public void testErrorsAreShared() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        final AtomicReference<ErrorListener> pending = new AtomicReference<>();
+        RequestCoalescer.Sender sender = new RequestCoalescer.Sender() {
+            public void send(Listener<Object> success, ErrorListener error) {
+                pending.set(error);
+            }
+        };
+        final AtomicInteger errors = new AtomicInteger();
+        ErrorListener error = new ErrorListener() {
+            public void onErrorResponse(VolleyError err) {
+                errors.incrementAndGet();
+            }
+        };
+        coalescer.execute("a", null, error, sender);
+        coalescer.execute("a", null, error, sender);
+        coalescer.execute("b", null, error, sender);
+        pending.get().onErrorResponse(new VolleyError("fail"));
+        assertEquals(1, errors.get());
+        assertEquals(1, coalescer.getSavedCount());
+        assertEquals(1, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void testKeysAndCallTypes() {
+        Map<String, List<String>> p1 = new LinkedHashMap<>();
+        p1.put("type", Arrays.asList("cat"));
+        p1.put("q", Arrays.asList("*"));
+        Map<String, List<String>> p2 = new HashMap<>();
+        p2.put("q", Arrays.asList("*"));
+        p2.put("type", Arrays.asList("cat"));
+        assertEquals(RequestCoalescer.getKey("/v1/search", p1, Map.class),
+                RequestCoalescer.getKey("/v1/search", p2, Map.class));
+        assertNotEquals(RequestCoalescer.getKey("/v1/search", p1, Map.class),
+                RequestCoalescer.getKey("/v1/search", p1, String.class));
+
+        assertEquals("search/default", RequestCoalescer.getCallType("search/default"));
+        assertEquals("search/count", RequestCoalescer.getCallType("cat/search/count"));
+        assertEquals("_types", RequestCoalescer.getCallType("_types"));
+        assertEquals("_constraints", RequestCoalescer.getCallType("_constraints/cat"));
+        assertEquals("utils/timestamp", RequestCoalescer.getCallType("utils/timestamp"));
+        assertEquals("links", RequestCoalescer.getCallType("cat/1/links/dog"));
+        assertEquals("objects", RequestCoalescer.getCallType("cat/1"));
+
+        RequestCoalescer coalescer = new RequestCoalescer();
+        assertFalse(coalescer.isEnabled("_types"));
+        coalescer.setEnabled(true, "_types", "search/default");
+        assertTrue(coalescer.isEnabled("_types"));
+        assertFalse(coalescer.isEnabled("objects"));
+        coalescer.setEnabled(false, "_types");
+        assertFalse(coalescer.isEnabled("_types"));
+        coalescer.setEnabled(true, RequestCoalescer.ALL);
+        assertTrue(coalescer.isEnabled("objects"));
+    }
+}
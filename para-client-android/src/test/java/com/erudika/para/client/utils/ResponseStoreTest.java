@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.util.Collections;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * ResponseStore tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class ResponseStoreTest {
+
+    private static ResponseStore.StoredResponse response(int size, String etag, String lastModified) {
+        return new ResponseStore.StoredResponse(new byte[size],
+                Collections.singletonMap("Content-Type", "application/json"), etag, lastModified);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        ResponseStore store = new ResponseStore();
+        assertNull(store.get("http://localhost/v1/cat/1"));
+        store.put("http://localhost/v1/cat/1", response(10, "\"abc\"", null));
+        store.put("http://localhost/v1/cat/2", response(10, null, null));
+        assertEquals(1, store.size());
+        ResponseStore.StoredResponse stored = store.get("http://localhost/v1/cat/1");
+        assertEquals("\"abc\"", stored.getEtag());
+        assertEquals("application/json", stored.getHeaders().get("Content-Type"));
+
+        store.notModified(stored);
+        assertEquals(1, store.getNotModifiedCount());
+        assertEquals(10, store.getBytesSaved());
+
+        store.remove("http://localhost/v1/cat/1");
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testBoundedBySizeAndEntries() {
+        ResponseStore store = new ResponseStore(3, 100);
+        store.put("a", response(40, "1", null));
+        store.put("b", response(40, "2", null));
+        store.get("a");
+        store.put("c", response(40, "3", null));
+        // "b" is the least recently used
+        assertNull(store.get("b"));
+        assertNotNull(store.get("a"));
+        assertNotNull(store.get("c"));
+
+        store.put("d", response(10, null, "Thu, 01 Jan 1970 00:00:00 GMT"));
+        store.put("e", response(10, "5", null));
+        assertEquals(3, store.size());
+        store.put("f", response(101, "6", null));
+        assertNull(store.get("f"));
+        store.clear();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testFormatHttpDate() {
+        assertEquals("Thu, 1 Jan 1970 00:00:00 GMT", ResponseStore.formatHttpDate(0));
+        assertEquals("Sun, 9 Sep 2001 01:46:40 GMT", ResponseStore.formatHttpDate(1000000000000L));
+    }
+}
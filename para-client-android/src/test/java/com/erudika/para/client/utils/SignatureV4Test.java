@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.github.davidmoten.aws.lw.client.internal.auth.AwsSignatureVersion4;
+import java.net.URL;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * SignatureV4 tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class SignatureV4Test {
+
+    private static final String SECRET = "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY";
+
+    @Test
+    public void testReferenceSignature() {
+        // example from the AWS Signature Version 4 documentation
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/x-www-form-urlencoded; charset=utf-8");
+        Map<String, String> params = new HashMap<>();
+        params.put("Action", "ListUsers");
+        params.put("Version", "2010-05-08");
+        long time = Instant.parse("2015-08-30T12:36:00Z").toEpochMilli();
+        SignatureV4 signer = new SignatureV4();
+        String expected = "AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20150830/us-east-1/iam/aws4_request, " +
+                "SignedHeaders=content-type;host;x-amz-date, " +
+                "Signature=5d672d79c15b13162d9279b0855cfba6789a8edb4c82c400e06b5924a6f2b5d7";
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, signer.sign("GET", "https://iam.amazonaws.com/", headers, params,
+                    SignatureV4.EMPTY_BODY_SHA256, time, "AKIDEXAMPLE", SECRET, "iam", "us-east-1"));
+        }
+        assertEquals("20150830T123600Z", headers.get("x-amz-date"));
+        assertEquals("iam.amazonaws.com", headers.get("Host"));
+    }
+
+    @Test
+    public void testSameAsLibrarySignature() throws Exception {
+        String[] urls = {"http://localhost:8080/v1/_types", "https://paraio.com/v1/cat/some%2520id",
+            "https://paraio.com", "http://127.0.0.1:8080/v1/search/default"};
+        String body = SignatureV4.sha256Hex("{\"name\":\"test\"}".getBytes("UTF-8"));
+        SignatureV4 signer = new SignatureV4();
+        long time = System.currentTimeMillis();
+        for (String url : urls) {
+            for (String method : new String[]{"GET", "POST"}) {
+                Map<String, String> params = new HashMap<>();
+                params.put("q", "name:\"some  thing\" AND *");
+                params.put("type", "cat");
+                params.put("limit", "10");
+                Map<String, String> headers1 = new HashMap<>();
+                headers1.put("Content-Type", "application/json;  charset=utf-8");
+                Map<String, String> headers2 = new HashMap<>(headers1);
+
+                String expected = AwsSignatureVersion4.computeSignatureForAuthorizationHeader(new URL(url),
+                        method, "para", "us-east-1", () -> time, headers1, params, body, "app:test", "secret");
+                String actual = signer.sign(method, url, headers2, params, body, time, "app:test", "secret",
+                        "para", "us-east-1");
+                assertEquals(url, expected, actual);
+                assertEquals(headers1, headers2);
+            }
+        }
+    }
+
+    @Test
+    public void testSha256Hex() throws Exception {
+        assertEquals(SignatureV4.EMPTY_BODY_SHA256, SignatureV4.sha256Hex(null));
+        assertEquals(SignatureV4.EMPTY_BODY_SHA256, SignatureV4.sha256Hex(new byte[0]));
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824",
+                SignatureV4.sha256Hex("hello".getBytes("UTF-8")));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.Request;
+import com.erudika.para.core.Sysprop;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for hashing request bodies while they are serialized - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class SignerTest {
+
+    private static byte[] bytes(Signer.HashingOutputStream out) {
+        return Arrays.copyOf(out.getBuffer(), out.size());
+    }
+
+    private static Sysprop largeObject() {
+        Sysprop obj = new Sysprop("123");
+        obj.setType("cat");
+        for (int i = 0; i < 200; i++) {
+            obj.addProperty("prop" + i, "some value which compresses well " + i);
+        }
+        return obj;
+    }
+
+    @Test
+    public void testHashAcrossBufferGrowth() {
+        byte[] data = new byte[10000];
+        new Random(42).nextBytes(data);
+        Signer.HashingOutputStream out = new Signer.HashingOutputStream();
+        int offset = 0;
+        int len = 1;
+        while (offset < data.length) {
+            int n = Math.min(len, data.length - offset);
+            if (n == 1) {
+                out.write(data[offset]);
+            } else {
+                out.write(data, offset, n);
+            }
+            offset += n;
+            len = len * 3 + 1;
+        }
+        assertEquals(data.length, out.size());
+        assertArrayEquals(data, bytes(out));
+        assertEquals(SignatureV4.sha256Hex(data), out.getHash());
+        assertEquals(SignatureV4.EMPTY_BODY_SHA256, new Signer.HashingOutputStream().getHash());
+    }
+
+    @Test
+    public void testHashOfSerializedAndCompressedBody() throws Exception {
+        Signer signer = new Signer();
+        signer.setCompressionThreshold(100);
+        Sysprop obj = largeObject();
+        byte[] json = ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(obj);
+
+        Signer.HashingOutputStream entity = signer.serialize(obj, false);
+        assertArrayEquals(json, bytes(entity));
+        assertEquals(SignatureV4.sha256Hex(json), entity.getHash());
+
+        Signer.HashingOutputStream gzipped = signer.gzip(entity);
+        assertNotNull(gzipped);
+        byte[] compressed = bytes(gzipped);
+        assertTrue(compressed.length < json.length);
+        assertEquals(SignatureV4.sha256Hex(compressed), gzipped.getHash());
+        ByteArrayOutputStream unzipped = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buf = new byte[4096];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                unzipped.write(buf, 0, read);
+            }
+        }
+        assertArrayEquals(json, unzipped.toByteArray());
+    }
+
+    @Test
+    public void testRequestBodyIsNotCopied() throws Exception {
+        Signer signer = new Signer();
+        Sysprop obj = largeObject();
+        byte[] json = ClientUtils.getJsonWriterNoIdent().writeValueAsBytes(obj);
+        ParaRequest<Sysprop> request = signer.invokeSignedRequest("app:test", "secret", Request.Method.POST,
+                "http://localhost:8080", "/v1/cat", null, null, obj, Sysprop.class, null, null);
+        assertEquals(json.length, request.getBodyLength());
+        assertTrue(request.getBodyBuffer().length >= json.length);
+        assertArrayEquals(json, Arrays.copyOf(request.getBodyBuffer(), request.getBodyLength()));
+        assertArrayEquals(json, request.getBody());
+    }
+}
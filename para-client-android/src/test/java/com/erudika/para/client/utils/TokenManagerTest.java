@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * TokenManager tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class TokenManagerTest {
+
+    private static final int CALLERS = 500;
+
+    @Test
+    public void testConcurrentRefreshesAreCoalesced() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final CompletableFuture<Boolean> response = new CompletableFuture<>();
+        final TokenManager tm = new TokenManager();
+        tm.setProactiveRefresh(false);
+        tm.setRefresher(() -> {
+            requests.incrementAndGet();
+            return response;
+        });
+        long now = System.currentTimeMillis();
+        tm.setToken("token1", now + 60000, now - 1000);
+
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<Boolean>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return tm.refresh();
+            }));
+        }
+        start.countDown();
+        List<CompletableFuture<Boolean>> refreshes = new ArrayList<>();
+        for (Future<CompletableFuture<Boolean>> result : results) {
+            refreshes.add(result.get(10, TimeUnit.SECONDS));
+        }
+        // simulate the response of the single /jwt_auth request
+        tm.setToken("token2", now + 120000, now + 60000);
+        response.complete(true);
+        pool.shutdown();
+
+        for (CompletableFuture<Boolean> refresh : refreshes) {
+            assertTrue(refresh.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, requests.get());
+        assertEquals(1, tm.getRefreshCount());
+        assertEquals(CALLERS - 1, tm.getCoalescedCount());
+        assertEquals("token2", tm.getToken());
+        // the new token is not refreshable yet
+        assertFalse(tm.refresh().get());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testRefreshFailureIsShared() throws Exception {
+        final CompletableFuture<Boolean> response = new CompletableFuture<>();
+        TokenManager tm = new TokenManager(() -> response);
+        tm.setProactiveRefresh(false);
+        long now = System.currentTimeMillis();
+        tm.setToken("token1", now + 60000, now - 1000);
+
+        CompletableFuture<Boolean> r1 = tm.refresh();
+        CompletableFuture<Boolean> r2 = tm.refresh();
+        assertSame(r1, r2);
+        response.completeExceptionally(new IllegalStateException("offline"));
+        assertTrue(r1.isCompletedExceptionally());
+        assertTrue(r2.isCompletedExceptionally());
+        // a new attempt can be made after a failure
+        assertNotSame(r1, tm.refresh());
+    }
+
+    @Test
+    public void testNoRefreshWithoutValidToken() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        TokenManager tm = new TokenManager(() -> {
+            requests.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        });
+        tm.setProactiveRefresh(false);
+        assertFalse(tm.refresh().get());
+        long now = System.currentTimeMillis();
+        tm.setToken("expired", now - 1000, now - 2000);
+        assertFalse(tm.refresh().get());
+        tm.clear();
+        assertNull(tm.getToken());
+        assertFalse(tm.refresh().get());
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void testProactiveRefresh() throws Exception {
+        final CountDownLatch refreshed = new CountDownLatch(1);
+        TokenManager tm = new TokenManager(() -> {
+            refreshed.countDown();
+            return CompletableFuture.completedFuture(true);
+        });
+        long now = System.currentTimeMillis();
+        tm.setToken("token1", now + 60000, now - 1000);
+        assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+    }
+}
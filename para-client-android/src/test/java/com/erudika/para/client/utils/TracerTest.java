@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2026 Erudika. https://erudika.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For issues and patches go to: https://github.com/erudika
+ */
+package com.erudika.para.client.utils;
+
+import com.android.volley.Request;
+import com.android.volley.TimeoutError;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tracer tests - these run on the JVM.
+ * @author Alex Bogdanovski [alex@erudika.com]
+ */
+public class TracerTest {
+
+    @Test
+    public void testTraceparent() {
+        Tracer tracer = new Tracer(null);
+        Span span = tracer.startSpan("read");
+        assertTrue(span.getTraceparent().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+        assertTrue(span.getTraceparent().contains(span.getTraceId()));
+        assertTrue(span.getTraceparent().contains(span.getSpanId()));
+        assertNull(span.getParentSpanId());
+        assertNotEquals(span.getTraceId(), tracer.startSpan("read").getTraceId());
+        assertNotEquals("0000000000000000", Tracer.newId(8));
+    }
+
+    @Test
+    public void testScope() {
+        final Tracer tracer = new Tracer(null);
+        final Span parent = tracer.startSpan("readAll");
+        assertNull(tracer.getCurrentSpan());
+        Span child = tracer.callInScope(parent, () -> {
+            assertSame(parent, tracer.getCurrentSpan());
+            Span other = tracer.startSpan("iterate");
+            return tracer.callInScope(other, () -> tracer.startSpan("_batch"));
+        });
+        assertNull(tracer.getCurrentSpan());
+        assertEquals(parent.getTraceId(), child.getTraceId());
+        assertNotEquals(parent.getSpanId(), child.getParentSpanId());
+
+        Span retry = tracer.startSpan("read", child.getTraceId(), child.getParentSpanId());
+        assertEquals(child.getTraceId(), retry.getTraceId());
+        assertEquals(child.getParentSpanId(), retry.getParentSpanId());
+        assertNotEquals(child.getSpanId(), retry.getSpanId());
+    }
+
+    @Test
+    public void testSpanSink() {
+        final List<Span> spans = new ArrayList<>();
+        Tracer tracer = new Tracer(spans::add);
+        Span span = tracer.startSpan("read");
+        assertEquals(-1, span.getDuration());
+        span.end(new TimeoutError());
+        span.end(null);
+        assertEquals(1, spans.size());
+        assertEquals("timeout", spans.get(0).getStatus());
+        assertTrue(span.getDuration() >= 0);
+    }
+
+    @Test
+    public void testHeaderIsNotSigned() throws Exception {
+        Tracer tracer = new Tracer(null);
+        Span span = tracer.startSpan("read");
+        Map<String, String> headers = new HashMap<>();
+        headers.put(Tracer.TRACEPARENT, "00-stale");
+        ParaRequest<?> request = new Signer().invokeSignedRequest("app:test", "secret", Request.Method.GET,
+                "http://localhost:8080", "/v1/_types", headers, null, null, Map.class, span, null, null);
+        assertEquals(span.getTraceparent(), request.getHeaders().get(Tracer.TRACEPARENT));
+        assertSame(span, request.getSpan());
+        String auth = request.getHeaders().get("Authorization");
+        assertTrue(auth.contains("SignedHeaders="));
+        assertFalse(auth.contains(Tracer.TRACEPARENT));
+    }
+}